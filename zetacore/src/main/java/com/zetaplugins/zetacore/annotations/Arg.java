@@ -0,0 +1,23 @@
+package com.zetaplugins.zetacore.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Configures a parameter of a {@link Subcommand} method.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Arg {
+    /**
+     * The name of the argument shown in the usage. Defaults to the parameter name if the plugin is compiled with -parameters.
+     */
+    String value() default "";
+
+    /**
+     * Whether a String argument consumes all remaining arguments. Only allowed for the last parameter.
+     */
+    boolean greedy() default false;
+}
@@ -10,6 +10,7 @@ import java.lang.annotation.Target;
 /**
  * Annotation to mark a class for automatic command registration.
  * Use the {@link AutoCommandRegistrar} to register commands annotated with this.
+ * The class must either be a CommandExecutor or declare {@link Subcommand} methods.
  */
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
@@ -49,4 +50,33 @@ public @interface AutoRegisterCommand {
      * Permission required to execute the command.
      */
     String permission() default "__UNSET__";
+
+    /**
+     * Whether tab completion should run off the main thread using Paper's AsyncTabCompleteEvent.
+     * The tab completer must be thread-safe. Falls back to the normal completion if Paper is not available.
+     * {@link com.zetaplugins.zetacore.commands.PluginCommand}s can override {@code tabCompleteAsync} for this.
+     */
+    boolean asyncTabComplete() default false;
+
+    /**
+     * Whether the command should be executed off the main thread.
+     * Only supported for {@link com.zetaplugins.zetacore.commands.PluginCommand}s, see its {@code setAsyncExecution} method.
+     */
+    boolean async() default false;
+
+    /**
+     * The cooldown of the command per player in milliseconds, 0 for no cooldown.
+     * Only supported for {@link com.zetaplugins.zetacore.commands.PluginCommand}s, see its {@code setRateLimiter} method.
+     */
+    long cooldown() default 0;
+
+    /**
+     * The number of uses allowed within the {@link #cooldown()} before a player has to wait.
+     */
+    int cooldownUses() default 1;
+
+    /**
+     * The permission that exempts players from the {@link #cooldown()}.
+     */
+    String cooldownBypassPermission() default "__UNSET__";
 }
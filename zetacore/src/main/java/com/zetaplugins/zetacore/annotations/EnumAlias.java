@@ -0,0 +1,24 @@
+package com.zetaplugins.zetacore.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Adds alternative names to an enum constant, accepted by command arguments and config values.
+ * <pre>{@code
+ * public enum Mode {
+ *     @EnumAlias({"s", "survival_mode"}) SURVIVAL,
+ *     CREATIVE
+ * }
+ * }</pre>
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EnumAlias {
+    /**
+     * The aliases of the constant (case-insensitive)
+     */
+    String[] value();
+}
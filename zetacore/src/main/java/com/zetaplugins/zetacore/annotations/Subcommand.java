@@ -0,0 +1,31 @@
+package com.zetaplugins.zetacore.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method as a subcommand handler of a {@link com.zetaplugins.zetacore.commands.tree.MethodCommand}
+ * or of a class annotated with {@link AutoRegisterCommand}.
+ * The parameters of the method are bound from the arguments of the command, see {@link Arg}.
+ * The first parameter may be the {@link org.bukkit.command.CommandSender} or {@link org.bukkit.entity.Player} executing the command.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Subcommand {
+    /**
+     * The path of the subcommand, e.g. "give" or "points reset". An empty path handles the command without a subcommand.
+     */
+    String value() default "";
+
+    /**
+     * Aliases for the last part of the path.
+     */
+    String[] aliases() default {};
+
+    /**
+     * Permission required to execute the subcommand.
+     */
+    String permission() default "";
+}
@@ -1,5 +1,9 @@
 package com.zetaplugins.zetacore.commands;
 
+import com.zetaplugins.zetacore.services.players.PlayerResolver;
+import com.zetaplugins.zetacore.util.AsyncExecutor;
+import com.zetaplugins.zetacore.util.EnumLookup;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
@@ -8,12 +12,23 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * Represents a list of command arguments
+ * Represents a list of command arguments.
+ * Numbers are parsed without exceptions and memoized per index, so repeated getters don't parse the same argument again.
+ * An ArgumentList is not thread-safe.
  */
 public class ArgumentList implements Iterable<String> {
+    private static final byte UNPARSED = 0;
+    private static final byte INVALID = 1;
+    private static final byte VALID = 2;
+
     private final String[] args;
+    private long[] longValues;
+    private byte[] longStates;
+    private double[] doubleValues;
+    private byte[] doubleStates;
 
     /**
      * Constructor for the ArgumentList class
@@ -81,14 +96,15 @@ public class ArgumentList implements Iterable<String> {
     }
 
     /**
-     * Get the player at the specified index
+     * Get the online player at the specified index.
+     * The exact name is looked up with the {@link PlayerResolver} first, names are only matched by prefix if no player has the exact name.
      * @param index The index of the argument
      * @param plugin The instance of the plugin
      * @return The player at the specified index
      */
     public Player getPlayer(int index, JavaPlugin plugin) {
         if (!hasArg(index)) return null;
-        return plugin.getServer().getPlayer(args[index]);
+        return resolvePlayer(args[index], plugin);
     }
 
     /**
@@ -100,7 +116,48 @@ public class ArgumentList implements Iterable<String> {
      */
     public Player getPlayer(int index, Player defaultPlayer, JavaPlugin plugin) {
         if (!hasArg(index)) return defaultPlayer;
-        return plugin.getServer().getPlayer(args[index]);
+        return resolvePlayer(args[index], plugin);
+    }
+
+    private static Player resolvePlayer(String name, JavaPlugin plugin) {
+        PlayerResolver resolver = PlayerResolver.getInstance();
+        Player player = resolver == null ? null : resolver.getOnlinePlayer(name);
+        return player != null ? player : plugin.getServer().getPlayer(name);
+    }
+
+    /**
+     * Get a player that is online or joined the server before at the specified index, without blocking.
+     * Requires the {@link PlayerResolver} to be installed (done by the AutoCommandRegistrar), otherwise only online players are found.
+     * @param index The index of the argument
+     * @param plugin The instance of the plugin
+     * @return The player at the specified index, or null if the player is unknown
+     */
+    public OfflinePlayer getOfflinePlayer(int index, JavaPlugin plugin) {
+        if (!hasArg(index)) return null;
+        PlayerResolver resolver = PlayerResolver.getInstance();
+        if (resolver != null) return resolver.getCachedOfflinePlayer(args[index]);
+        return plugin.getServer().getPlayerExact(args[index]);
+    }
+
+    /**
+     * Resolve a player that is online or joined the server before at the specified index.
+     * Players that are not cached are looked up off the main thread, see {@link PlayerResolver#resolveAsync(String)}.
+     * The future may complete on another thread.
+     * @param index The index of the argument
+     * @param plugin The instance of the plugin
+     * @return A future completed with the player, or null if the argument does not exist or the player never joined
+     */
+    public CompletableFuture<OfflinePlayer> getOfflinePlayerAsync(int index, JavaPlugin plugin) {
+        if (!hasArg(index)) return CompletableFuture.completedFuture(null);
+        PlayerResolver resolver = PlayerResolver.getInstance();
+        if (resolver != null) return resolver.resolveAsync(args[index]);
+
+        String name = args[index];
+        return CompletableFuture.supplyAsync(() -> {
+            @SuppressWarnings("deprecation")
+            OfflinePlayer player = plugin.getServer().getOfflinePlayer(name);
+            return player.isOnline() || player.hasPlayedBefore() ? player : null;
+        }, AsyncExecutor.get());
     }
 
     /**
@@ -111,6 +168,7 @@ public class ArgumentList implements Iterable<String> {
      */
     public int getInt(int index) throws NumberFormatException {
         if (!hasArg(index)) throw new NumberFormatException();
+        if (parseInt(index).isValid()) return (int) longValues[index];
         return Integer.parseInt(args[index]);
     }
 
@@ -122,6 +180,7 @@ public class ArgumentList implements Iterable<String> {
      */
     public double getDouble(int index) throws NumberFormatException {
         if (!hasArg(index)) throw new NumberFormatException();
+        if (parseDouble(index).isValid()) return doubleValues[index];
         return Double.parseDouble(args[index]);
     }
 
@@ -133,6 +192,7 @@ public class ArgumentList implements Iterable<String> {
      */
     public long getLong(int index) throws NumberFormatException {
         if (!hasArg(index)) throw new NumberFormatException();
+        if (parseLong(index).isValid()) return longValues[index];
         return Long.parseLong(args[index]);
     }
 
@@ -143,12 +203,7 @@ public class ArgumentList implements Iterable<String> {
      * @return The integer at the specified index, or the default value
      */
     public int getInt(int index, int defaultValue) {
-        if (!hasArg(index)) return defaultValue;
-        try {
-            return Integer.parseInt(args[index]);
-        } catch (NumberFormatException e) {
-            return defaultValue;
-        }
+        return parseInt(index).isValid() ? (int) longValues[index] : defaultValue;
     }
 
     /**
@@ -171,12 +226,7 @@ public class ArgumentList implements Iterable<String> {
      * @return The double at the specified index, or the default value
      */
     public double getDouble(int index, double defaultValue) {
-        if (!hasArg(index)) return defaultValue;
-        try {
-            return Double.parseDouble(args[index]);
-        } catch (NumberFormatException e) {
-            return defaultValue;
-        }
+        return parseDouble(index).isValid() ? doubleValues[index] : defaultValue;
     }
 
     /**
@@ -186,12 +236,69 @@ public class ArgumentList implements Iterable<String> {
      * @return The long at the specified index, or the default value
      */
     public long getLong(int index, long defaultValue) {
-        if (!hasArg(index)) return defaultValue;
-        try {
-            return Long.parseLong(args[index]);
-        } catch (NumberFormatException e) {
-            return defaultValue;
+        return parseLong(index).isValid() ? longValues[index] : defaultValue;
+    }
+
+    /**
+     * Parse the argument at the specified index as an integer.
+     * If the result is valid, {@link #getInt(int)} returns the value without parsing again.
+     * @param index The index of the argument
+     * @return Whether the argument is missing, not an integer or a valid integer
+     */
+    public ArgumentParseResult parseInt(int index) {
+        ArgumentParseResult result = parseLong(index);
+        if (result.isValid() && (int) longValues[index] != longValues[index]) return ArgumentParseResult.INVALID;
+        return result;
+    }
+
+    /**
+     * Parse the argument at the specified index as a long.
+     * If the result is valid, {@link #getLong(int)} returns the value without parsing again.
+     * @param index The index of the argument
+     * @return Whether the argument is missing, not a long or a valid long
+     */
+    public ArgumentParseResult parseLong(int index) {
+        if (!hasArg(index)) return ArgumentParseResult.MISSING;
+        if (longStates == null) {
+            longStates = new byte[args.length];
+            longValues = new long[args.length];
+        }
+
+        if (longStates[index] == UNPARSED) {
+            String arg = args[index];
+            if (NumberFormats.isLong(arg)) {
+                longValues[index] = Long.parseLong(arg);
+                longStates[index] = VALID;
+            } else {
+                longStates[index] = INVALID;
+            }
+        }
+        return longStates[index] == VALID ? ArgumentParseResult.VALID : ArgumentParseResult.INVALID;
+    }
+
+    /**
+     * Parse the argument at the specified index as a double.
+     * If the result is valid, {@link #getDouble(int)} returns the value without parsing again.
+     * @param index The index of the argument
+     * @return Whether the argument is missing, not a double or a valid double
+     */
+    public ArgumentParseResult parseDouble(int index) {
+        if (!hasArg(index)) return ArgumentParseResult.MISSING;
+        if (doubleStates == null) {
+            doubleStates = new byte[args.length];
+            doubleValues = new double[args.length];
+        }
+
+        if (doubleStates[index] == UNPARSED) {
+            String arg = args[index];
+            if (NumberFormats.isDouble(arg)) {
+                doubleValues[index] = Double.parseDouble(arg);
+                doubleStates[index] = VALID;
+            } else {
+                doubleStates[index] = INVALID;
+            }
         }
+        return doubleStates[index] == VALID ? ArgumentParseResult.VALID : ArgumentParseResult.INVALID;
     }
 
     /**
@@ -217,16 +324,12 @@ public class ArgumentList implements Iterable<String> {
      * @return The enum at the specified index
      */
     public <E extends Enum<E>> E getEnum(int index, Class<E> enumClass) {
-        if (!hasArg(index)) return null;
-        try {
-            return Enum.valueOf(enumClass, args[index].toUpperCase());
-        } catch (IllegalArgumentException e) {
-            return null;
-        }
+        return getEnum(index, enumClass, null);
     }
 
     /**
-     * Get an enum at the specified index, with a default value
+     * Get an enum at the specified index, with a default value.
+     * Names are matched case-insensitively and may be an {@link com.zetaplugins.zetacore.annotations.EnumAlias alias}, see {@link EnumLookup}.
      * @param index The index of the argument
      * @param enumClass The class of the enum
      * @param defaultValue The default value to return if the argument is not a valid enum or does not exist
@@ -235,11 +338,7 @@ public class ArgumentList implements Iterable<String> {
      */
     public <E extends Enum<E>> E getEnum(int index, Class<E> enumClass, E defaultValue) {
         if (!hasArg(index)) return defaultValue;
-        try {
-            return Enum.valueOf(enumClass, args[index].toUpperCase());
-        } catch (IllegalArgumentException e) {
-            return defaultValue;
-        }
+        return EnumLookup.of(enumClass).get(args[index], defaultValue);
     }
 
     /**
@@ -251,11 +350,7 @@ public class ArgumentList implements Iterable<String> {
      */
     public <E extends Enum<E>> E getEnumIgnoreCase(int index, Class<E> enumClass, E defaultValue) {
         if (!hasArg(index)) return defaultValue;
-        String input = args[index];
-        for (E constant : enumClass.getEnumConstants()) {
-            if (constant.name().equalsIgnoreCase(input)) return constant;
-        }
-        return defaultValue;
+        return EnumLookup.of(enumClass).get(args[index], defaultValue);
     }
 
     /**
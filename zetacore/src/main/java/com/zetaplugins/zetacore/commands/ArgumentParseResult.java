@@ -0,0 +1,28 @@
+package com.zetaplugins.zetacore.commands;
+
+/**
+ * The result of parsing an argument of an {@link ArgumentList}.
+ * If the result is {@link #VALID}, the parsed value can be read with the matching getter without parsing again.
+ */
+public enum ArgumentParseResult {
+    /**
+     * The argument does not exist
+     */
+    MISSING,
+    /**
+     * The argument exists but has the wrong format or is out of range
+     */
+    INVALID,
+    /**
+     * The argument was parsed successfully
+     */
+    VALID;
+
+    public boolean isValid() {
+        return this == VALID;
+    }
+
+    public boolean isPresent() {
+        return this != MISSING;
+    }
+}
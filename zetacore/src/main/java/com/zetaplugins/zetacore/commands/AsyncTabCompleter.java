@@ -0,0 +1,27 @@
+package com.zetaplugins.zetacore.commands;
+
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A tab completer that can be called off the main thread.
+ * Used for commands registered with {@link com.zetaplugins.zetacore.annotations.AutoRegisterCommand#asyncTabComplete()} on Paper servers.
+ */
+@FunctionalInterface
+public interface AsyncTabCompleter {
+    /**
+     * Requests a list of possible completions for a command argument.
+     * This is called from an asynchronous thread, so it must not access the Bukkit API in a non thread-safe way.
+     *
+     * @param sender The sender of the command
+     * @param command The command that is being tab completed
+     * @param label The alias of the command that is being used
+     * @param args The current arguments of the command, including the one being completed
+     * @return A list of possible completions, or null to fall back to the default completion
+     */
+    @Nullable List<String> onTabCompleteAsync(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args);
+}
@@ -0,0 +1,220 @@
+package com.zetaplugins.zetacore.commands;
+
+import com.zetaplugins.zetacore.debug.DebugMetricsProvider;
+import com.zetaplugins.zetacore.util.LatencyHistogram;
+import com.zetaplugins.zetacore.util.ThrottledLogger;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Collects invocation counts, failures by exception type and latencies per command and subcommand.
+ * Commands are recorded automatically by {@link PluginCommand} and by commands registered through the AutoCommandRegistrar.
+ * Pass {@link #getInstance()} to the debug command to include the metrics in debug reports.
+ */
+public final class CommandMetrics implements DebugMetricsProvider {
+    private static final CommandMetrics INSTANCE = new CommandMetrics();
+
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private volatile boolean enabled = true;
+    private volatile long slowCommandThresholdMillis = 50;
+
+    private CommandMetrics() {}
+
+    /**
+     * @return The shared command metrics
+     */
+    public static CommandMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the collection of command metrics.
+     * @param enabled Whether metrics should be collected (default: true)
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getSlowCommandThreshold() {
+        return slowCommandThresholdMillis;
+    }
+
+    /**
+     * Sets the duration after which a command execution is logged as slow.
+     * @param slowCommandThresholdMillis The threshold in milliseconds (default: 50, 0 to disable)
+     */
+    public void setSlowCommandThreshold(long slowCommandThresholdMillis) {
+        this.slowCommandThresholdMillis = Math.max(0, slowCommandThresholdMillis);
+    }
+
+    /**
+     * Records a command execution and logs it if it exceeds the slow command threshold.
+     * Slow executions are logged through a {@link ThrottledLogger} per command, so a command that is always slow doesn't flood the console.
+     * @param key The command, optionally followed by the subcommand (e.g. "home set")
+     * @param nanos The duration of the execution in nanoseconds
+     * @param logger The logger to log slow executions to, or null
+     */
+    public void recordExecution(String key, long nanos, Logger logger) {
+        if (!enabled || key == null) return;
+        getStats(key).executions.record(nanos);
+
+        long threshold = slowCommandThresholdMillis;
+        if (threshold > 0 && nanos > threshold * 1_000_000L && logger != null) {
+            ThrottledLogger.of(logger).log(
+                    Level.WARNING,
+                    "command-slow:" + key,
+                    "Command '/" + key + "' took " + (nanos / 1_000_000) + "ms (threshold: " + threshold + "ms)",
+                    null
+            );
+        }
+    }
+
+    /**
+     * Records a tab completion.
+     * @param key The command, optionally followed by the subcommand
+     * @param nanos The duration of the completion in nanoseconds
+     */
+    public void recordTabComplete(String key, long nanos) {
+        if (!enabled || key == null) return;
+        getStats(key).tabCompletions.record(nanos);
+    }
+
+    /**
+     * Records a failed command execution.
+     * @param key The command, optionally followed by the subcommand
+     * @param error The exception the command failed with
+     */
+    public void recordFailure(String key, Throwable error) {
+        if (!enabled || key == null) return;
+        getStats(key).failures.computeIfAbsent(error.getClass().getSimpleName(), k -> new LongAdder()).increment();
+    }
+
+    private Stats getStats(String key) {
+        Stats s = stats.get(key);
+        return s != null ? s : stats.computeIfAbsent(key, k -> new Stats());
+    }
+
+    /**
+     * Gets a snapshot of the metrics of all commands that have been used so far.
+     * @return A map from command (and subcommand) to its metrics
+     */
+    public Map<String, Snapshot> getSnapshot() {
+        Map<String, Snapshot> result = new TreeMap<>();
+        stats.forEach((key, s) -> result.put(key, s.snapshot()));
+        return result;
+    }
+
+    /**
+     * Gets a snapshot of the metrics of a single command.
+     * @param key The command, optionally followed by the subcommand
+     * @return The metrics, or null if the command has not been used yet
+     */
+    public Snapshot getSnapshot(String key) {
+        Stats s = stats.get(key);
+        return s == null ? null : s.snapshot();
+    }
+
+    /**
+     * Clears all collected metrics.
+     */
+    public void reset() {
+        stats.clear();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "Commands";
+    }
+
+    @Override
+    public String toReadableText() {
+        List<Map.Entry<String, Snapshot>> entries = new ArrayList<>(getSnapshot().entrySet());
+        if (entries.isEmpty()) return "No commands executed yet.";
+
+        entries.sort(Comparator.comparingLong((Map.Entry<String, Snapshot> e) -> e.getValue().totalNanos()).reversed());
+
+        StringBuilder res = new StringBuilder();
+        for (Map.Entry<String, Snapshot> entry : entries) {
+            res.append("/").append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
+        }
+        return res.toString().trim();
+    }
+
+    /**
+     * An immutable view of the metrics of a single command.
+     * @param executions the number of executions
+     * @param failures the number of failed executions by exception type
+     * @param totalNanos the total time spent executing the command in nanoseconds
+     * @param maxNanos the slowest execution in nanoseconds
+     * @param p50Micros the approximated median execution latency in microseconds
+     * @param p95Micros the approximated 95th percentile execution latency in microseconds
+     * @param p99Micros the approximated 99th percentile execution latency in microseconds
+     * @param tabCompletions the number of tab completions
+     * @param tabCompleteP95Micros the approximated 95th percentile tab completion latency in microseconds
+     */
+    public record Snapshot(
+            long executions,
+            Map<String, Long> failures,
+            long totalNanos,
+            long maxNanos,
+            long p50Micros,
+            long p95Micros,
+            long p99Micros,
+            long tabCompletions,
+            long tabCompleteP95Micros
+    ) {
+        public long meanMicros() {
+            return executions == 0 ? 0 : totalNanos / executions / 1_000;
+        }
+
+        public long failureCount() {
+            long count = 0;
+            for (long c : failures.values()) count += c;
+            return count;
+        }
+
+        @Override
+        public String toString() {
+            return "calls=" + executions
+                    + ", failures=" + (failures.isEmpty() ? "0" : failures.toString())
+                    + ", avg=" + LatencyHistogram.formatMicros(meanMicros())
+                    + ", p50<=" + LatencyHistogram.formatMicros(p50Micros)
+                    + ", p95<=" + LatencyHistogram.formatMicros(p95Micros)
+                    + ", p99<=" + LatencyHistogram.formatMicros(p99Micros)
+                    + ", max=" + LatencyHistogram.formatMicros(maxNanos / 1_000)
+                    + ", tabCompletions=" + tabCompletions
+                    + ", tabCompleteP95<=" + LatencyHistogram.formatMicros(tabCompleteP95Micros);
+        }
+    }
+
+    private static final class Stats {
+        private final LatencyHistogram executions = new LatencyHistogram();
+        private final LatencyHistogram tabCompletions = new LatencyHistogram();
+        private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+
+        private Snapshot snapshot() {
+            Map<String, Long> failureCounts = new TreeMap<>();
+            failures.forEach((type, count) -> failureCounts.put(type, count.sum()));
+
+            return new Snapshot(
+                    executions.getCount(),
+                    Collections.unmodifiableMap(failureCounts),
+                    executions.getTotalNanos(),
+                    executions.getMaxNanos(),
+                    executions.getPercentileMicros(0.50),
+                    executions.getPercentileMicros(0.95),
+                    executions.getPercentileMicros(0.99),
+                    tabCompletions.getCount(),
+                    tabCompletions.getPercentileMicros(0.95)
+            );
+        }
+    }
+}
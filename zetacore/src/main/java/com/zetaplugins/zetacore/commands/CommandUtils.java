@@ -1,16 +1,22 @@
 package com.zetaplugins.zetacore.commands;
 
+import com.zetaplugins.zetacore.services.players.PlayerNameIndex;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Utility class for command-related operations.
  */
 public final class CommandUtils {
+    /**
+     * The maximum number of player names returned by {@link #getPlayerOptions(JavaPlugin, String)}
+     */
+    public static final int DEFAULT_PLAYER_OPTIONS_LIMIT = 100;
+
     private CommandUtils() {}
 
     /**
@@ -20,9 +26,24 @@ public final class CommandUtils {
      * @return A list of options that start with the input
      */
     public static List<String> getDisplayOptions(Collection<String> options, String input) {
-        return options.stream()
-                .filter(option -> startsWithIgnoreCase(option, input))
-                .collect(Collectors.toList());
+        return getDisplayOptions(options, input, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets a list of options that start with the input.
+     * For options that don't change on every call, use a {@link CompletionIndex} instead.
+     * @param options The available options
+     * @param input The input
+     * @param limit The maximum number of options to return
+     * @return A list of options that start with the input
+     */
+    public static List<String> getDisplayOptions(Collection<String> options, String input, int limit) {
+        List<String> result = new ArrayList<>();
+        for (String option : options) {
+            if (result.size() >= limit) break;
+            if (startsWithIgnoreCase(option, input)) result.add(option);
+        }
+        return result;
     }
 
     /**
@@ -32,13 +53,29 @@ public final class CommandUtils {
      * @return A list of player options
      */
     public static List<String> getPlayerOptions(JavaPlugin plugin, String input) {
-        return getDisplayOptions(
-                plugin.getServer().getOnlinePlayers()
-                        .parallelStream()
-                        .map(Player::getName)
-                        .collect(Collectors.toList()),
-                input
-        );
+        return getPlayerOptions(plugin, input, DEFAULT_PLAYER_OPTIONS_LIMIT);
+    }
+
+    /**
+     * Get a list of player options that start with the input.
+     * Uses the {@link PlayerNameIndex} if it is installed, otherwise the online players are scanned once.
+     *
+     * @param plugin The instance of the plugin
+     * @param input The input
+     * @param limit The maximum number of options to return
+     * @return A list of player options
+     */
+    public static List<String> getPlayerOptions(JavaPlugin plugin, String input, int limit) {
+        PlayerNameIndex index = PlayerNameIndex.getInstance();
+        if (index != null) return index.getNamesStartingWith(input, limit);
+
+        List<String> options = new ArrayList<>();
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            if (options.size() >= limit) break;
+            String name = player.getName();
+            if (startsWithIgnoreCase(name, input)) options.add(name);
+        }
+        return options;
     }
 
     /**
@@ -0,0 +1,111 @@
+package com.zetaplugins.zetacore.commands;
+
+import java.util.*;
+
+/**
+ * An immutable, sorted index of tab completion options for options that rarely change, like config values.
+ * Build it once (e.g. when the config is loaded) and complete prefixes by binary searching the range of matching options,
+ * instead of filtering all options on every keystroke.
+ * <pre>{@code
+ * private CompletionIndex kits = CompletionIndex.of(config.getKitNames());
+ *
+ * public List<String> tabComplete(CommandSender sender, Command command, ArgumentList args) {
+ *     return getDisplayOptions(kits, args.getCurrentArg());
+ * }
+ * }</pre>
+ */
+public final class CompletionIndex {
+    private static final CompletionIndex EMPTY = new CompletionIndex(new String[0], new String[0]);
+
+    private final String[] lowercase;
+    private final String[] options;
+
+    private CompletionIndex(String[] lowercase, String[] options) {
+        this.lowercase = lowercase;
+        this.options = options;
+    }
+
+    /**
+     * Creates an index of the given options
+     * @param options The options, in any order
+     * @return The index
+     */
+    public static CompletionIndex of(Collection<String> options) {
+        if (options.isEmpty()) return EMPTY;
+
+        String[][] entries = new String[options.size()][];
+        int i = 0;
+        for (String option : options) entries[i++] = new String[]{option.toLowerCase(Locale.ROOT), option};
+        Arrays.sort(entries, Comparator.<String[], String>comparing(entry -> entry[0]).thenComparing(entry -> entry[1]));
+
+        String[] lowercase = new String[entries.length];
+        String[] sorted = new String[entries.length];
+        for (i = 0; i < entries.length; i++) {
+            lowercase[i] = entries[i][0];
+            sorted[i] = entries[i][1];
+        }
+        return new CompletionIndex(lowercase, sorted);
+    }
+
+    /**
+     * Creates an index of the given options
+     * @param options The options, in any order
+     * @return The index
+     */
+    public static CompletionIndex of(String... options) {
+        return of(Arrays.asList(options));
+    }
+
+    /**
+     * @return The number of options
+     */
+    public int size() {
+        return options.length;
+    }
+
+    /**
+     * @return All options, sorted alphabetically (case-insensitive)
+     */
+    public List<String> getOptions() {
+        return Collections.unmodifiableList(Arrays.asList(options));
+    }
+
+    /**
+     * Gets the options that start with the input (case-insensitive)
+     * @param input The input
+     * @return The matching options, sorted alphabetically
+     */
+    public List<String> complete(String input) {
+        return complete(input, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets the options that start with the input (case-insensitive).
+     * Only the returned options are copied.
+     * @param input The input
+     * @param limit The maximum number of options to return
+     * @return The matching options, sorted alphabetically
+     */
+    public List<String> complete(String input, int limit) {
+        String prefix = input == null ? "" : input.toLowerCase(Locale.ROOT);
+        int start = lowerBound(prefix);
+        int end = prefix.isEmpty() ? options.length : lowerBound(prefix + Character.MAX_VALUE);
+        if (end - start > limit) end = start + Math.max(0, limit);
+
+        return new ArrayList<>(Arrays.asList(options).subList(start, end));
+    }
+
+    /**
+     * @return The index of the first option that is not less than the key
+     */
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = lowercase.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (lowercase[mid].compareTo(key) < 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+}
@@ -0,0 +1,327 @@
+package com.zetaplugins.zetacore.commands;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A set of tab completion options with fuzzy matching, for large option sets like item IDs, warps or kits.
+ * Options starting with the input are returned first, followed by options that are similar to the input
+ * (e.g. "diamnod" finds "diamond_sword"), ranked by the number of shared trigrams.
+ * <br/>The trigram index is built once and updated incrementally when options are added or removed.
+ * Each completion request has a time budget and a result limit, so a huge option set can't stall the server.
+ * The set is thread-safe and can be used for async tab completion.
+ * <pre>{@code
+ * FuzzyOptionSet warps = new FuzzyOptionSet(warpManager.getWarpNames());
+ * return warps.complete(args.getCurrentArg());
+ * }</pre>
+ */
+public final class FuzzyOptionSet {
+    private static final int MIN_FUZZY_INPUT_LENGTH = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Integer> idsByLowercase = new TreeMap<>();
+    private final Map<Long, Posting> postings = new HashMap<>();
+    private final ArrayDeque<Integer> freeIds = new ArrayDeque<>();
+    private String[] options = new String[16];
+    private int[] trigramCounts = new int[16];
+    private int nextId = 0;
+
+    private volatile int maxResults = 50;
+    private volatile long timeBudgetNanos = Duration.ofMillis(2).toNanos();
+    private volatile double minSimilarity = 0.3;
+
+    /**
+     * Creates an empty option set
+     */
+    public FuzzyOptionSet() {}
+
+    /**
+     * Creates an option set with the given options
+     * @param options The options
+     */
+    public FuzzyOptionSet(Collection<String> options) {
+        addAll(options);
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    /**
+     * Sets the maximum number of options returned by {@link #complete(String)}.
+     * @param maxResults The maximum number of options (default: 50)
+     * @return This option set
+     */
+    public FuzzyOptionSet setMaxResults(int maxResults) {
+        this.maxResults = Math.max(1, maxResults);
+        return this;
+    }
+
+    public Duration getTimeBudget() {
+        return Duration.ofNanos(timeBudgetNanos);
+    }
+
+    /**
+     * Sets the time after which fuzzy matching stops and the best matches found so far are returned.
+     * @param timeBudget The time budget per completion request (default: 2ms)
+     * @return This option set
+     */
+    public FuzzyOptionSet setTimeBudget(Duration timeBudget) {
+        this.timeBudgetNanos = timeBudget.toNanos();
+        return this;
+    }
+
+    public double getMinSimilarity() {
+        return minSimilarity;
+    }
+
+    /**
+     * Sets the minimum similarity of fuzzy matches.
+     * @param minSimilarity The minimum similarity between 0 and 1, based on the shared trigrams (default: 0.3)
+     * @return This option set
+     */
+    public FuzzyOptionSet setMinSimilarity(double minSimilarity) {
+        this.minSimilarity = minSimilarity;
+        return this;
+    }
+
+    /**
+     * Adds an option. Options are unique ignoring case, adding an option with a different case replaces it.
+     * @param option The option
+     */
+    public void add(String option) {
+        lock.writeLock().lock();
+        try {
+            addUnlocked(option);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds multiple options.
+     * @param options The options
+     */
+    public void addAll(Collection<String> options) {
+        lock.writeLock().lock();
+        try {
+            for (String option : options) addUnlocked(option);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an option (case-insensitive).
+     * @param option The option
+     * @return True if the option was removed
+     */
+    public boolean remove(String option) {
+        lock.writeLock().lock();
+        try {
+            return removeUnlocked(option.toLowerCase(Locale.ROOT));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the options of this set. Only the options that changed are re-indexed.
+     * @param newOptions The new options
+     */
+    public void setOptions(Collection<String> newOptions) {
+        lock.writeLock().lock();
+        try {
+            Map<String, String> wanted = new HashMap<>();
+            for (String option : newOptions) wanted.put(option.toLowerCase(Locale.ROOT), option);
+
+            for (String lower : new ArrayList<>(idsByLowercase.keySet())) {
+                String option = wanted.get(lower);
+                if (option == null || !option.equals(options[idsByLowercase.get(lower)])) removeUnlocked(lower);
+            }
+            for (String option : wanted.values()) {
+                if (!idsByLowercase.containsKey(option.toLowerCase(Locale.ROOT))) addUnlocked(option);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all options.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            idsByLowercase.clear();
+            postings.clear();
+            freeIds.clear();
+            Arrays.fill(options, null);
+            nextId = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of options
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return idsByLowercase.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the options matching the input, limited to {@link #getMaxResults()}.
+     * @param input The input
+     * @return The options starting with the input (alphabetically), followed by similar options (most similar first)
+     */
+    public List<String> complete(String input) {
+        return complete(input, maxResults);
+    }
+
+    /**
+     * Gets the options matching the input.
+     * @param input The input
+     * @param limit The maximum number of options to return
+     * @return The options starting with the input (alphabetically), followed by similar options (most similar first)
+     */
+    public List<String> complete(String input, int limit) {
+        String lower = input == null ? "" : input.toLowerCase(Locale.ROOT);
+        long deadline = System.nanoTime() + timeBudgetNanos;
+
+        lock.readLock().lock();
+        try {
+            List<String> result = new ArrayList<>(Math.min(limit, 16));
+            SortedMap<String, Integer> prefixRange = lower.isEmpty()
+                    ? idsByLowercase
+                    : idsByLowercase.subMap(lower, lower + Character.MAX_VALUE);
+            for (int id : prefixRange.values()) {
+                if (result.size() >= limit) return result;
+                result.add(options[id]);
+            }
+
+            if (lower.length() < MIN_FUZZY_INPUT_LENGTH) return result;
+            addFuzzyMatches(lower, limit - result.size(), deadline, result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the options sharing the most trigrams with the input that don't start with the input.
+     * Stops counting when the deadline is reached and ranks the counts collected so far.
+     */
+    private void addFuzzyMatches(String lower, int limit, long deadline, List<String> result) {
+        if (limit <= 0) return;
+
+        long[] inputTrigrams = trigrams(lower);
+        int[] shared = new int[nextId];
+        for (long trigram : inputTrigrams) {
+            Posting posting = postings.get(trigram);
+            if (posting != null) {
+                for (int i = 0; i < posting.size; i++) shared[posting.ids[i]]++;
+            }
+            if (System.nanoTime() > deadline) break;
+        }
+
+        // Keep the best matches in a min-heap ordered by similarity
+        double min = minSimilarity;
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(Match::similarity));
+        for (int id = 0; id < shared.length; id++) {
+            if (shared[id] == 0) continue;
+            String option = options[id];
+            if (option.regionMatches(true, 0, lower, 0, lower.length())) continue;
+
+            double similarity = 2.0 * shared[id] / (inputTrigrams.length + trigramCounts[id]);
+            if (similarity < min) continue;
+
+            best.add(new Match(option, similarity));
+            if (best.size() > limit) best.poll();
+        }
+
+        int start = result.size();
+        while (!best.isEmpty()) result.add(best.poll().option());
+        Collections.reverse(result.subList(start, result.size()));
+    }
+
+    private record Match(String option, double similarity) {}
+
+    private void addUnlocked(String option) {
+        String lower = option.toLowerCase(Locale.ROOT);
+        Integer existing = idsByLowercase.get(lower);
+        if (existing != null) {
+            options[existing] = option;
+            return;
+        }
+
+        int id = freeIds.isEmpty() ? nextId++ : freeIds.poll();
+        if (id >= options.length) {
+            options = Arrays.copyOf(options, options.length * 2);
+            trigramCounts = Arrays.copyOf(trigramCounts, trigramCounts.length * 2);
+        }
+
+        long[] trigrams = trigrams(lower);
+        options[id] = option;
+        trigramCounts[id] = trigrams.length;
+        idsByLowercase.put(lower, id);
+        for (long trigram : trigrams) postings.computeIfAbsent(trigram, k -> new Posting()).add(id);
+    }
+
+    private boolean removeUnlocked(String lower) {
+        Integer id = idsByLowercase.remove(lower);
+        if (id == null) return false;
+
+        for (long trigram : trigrams(lower)) {
+            Posting posting = postings.get(trigram);
+            if (posting != null && posting.remove(id) && posting.size == 0) postings.remove(trigram);
+        }
+        options[id] = null;
+        freeIds.add(id);
+        return true;
+    }
+
+    /**
+     * Gets the distinct trigrams of a lowercase string, padded with spaces so short strings and word starts are matched too.
+     * @param lower The lowercase string
+     * @return The distinct trigrams, each packed into a long
+     */
+    static long[] trigrams(String lower) {
+        String padded = "  " + lower + " ";
+        long[] result = new long[padded.length() - 2];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+        }
+        return Arrays.stream(result).distinct().toArray();
+    }
+
+    /**
+     * The ids of the options containing a trigram
+     */
+    private static final class Posting {
+        private int[] ids = new int[4];
+        private int size;
+
+        private void add(int id) {
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            ids[size++] = id;
+        }
+
+        private boolean remove(int id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
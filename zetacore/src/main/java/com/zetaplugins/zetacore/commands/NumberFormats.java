@@ -0,0 +1,96 @@
+package com.zetaplugins.zetacore.commands;
+
+/**
+ * Validates number formats without throwing exceptions.
+ * A string accepted by these methods can be passed to {@link Long#parseLong(String)} or {@link Double#parseDouble(String)}
+ * without a {@link NumberFormatException}, so invalid input (the common case while tab completing) doesn't cost an exception.
+ */
+public final class NumberFormats {
+    private NumberFormats() {}
+
+    /**
+     * Checks if a string is accepted by {@link Long#parseLong(String)}.
+     * @param input The string
+     * @return True if the string is a valid long
+     */
+    public static boolean isLong(String input) {
+        int length = input.length();
+        if (length == 0) return false;
+
+        int i = 0;
+        boolean negative = false;
+        char first = input.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (length == 1) return false;
+            i = 1;
+        }
+
+        // Accumulate negatively like Long.parseLong, so Long.MIN_VALUE doesn't overflow
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyMin = limit / 10;
+        long result = 0;
+        for (; i < length; i++) {
+            int digit = Character.digit(input.charAt(i), 10);
+            if (digit < 0 || result < multiplyMin) return false;
+            result *= 10;
+            if (result < limit + digit) return false;
+            result -= digit;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a string is accepted by {@link Double#parseDouble(String)}.
+     * @param input The string
+     * @return True if the string is a valid double
+     */
+    public static boolean isDouble(String input) {
+        int end = input.length();
+        int i = 0;
+        while (i < end && input.charAt(i) <= ' ') i++;
+        while (end > i && input.charAt(end - 1) <= ' ') end--;
+        if (i == end) return false;
+
+        char first = input.charAt(i);
+        if (first == '-' || first == '+') i++;
+        if (input.startsWith("NaN", i)) return i + 3 == end;
+        if (input.startsWith("Infinity", i)) return i + 8 == end;
+
+        if (end - i > 1 && input.charAt(i) == '0' && (input.charAt(i + 1) == 'x' || input.charAt(i + 1) == 'X')) {
+            // Hexadecimal floating point literals are rare enough to leave them to the JDK
+            try {
+                Double.parseDouble(input);
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        int digits = 0;
+        while (i < end && isAsciiDigit(input.charAt(i))) { i++; digits++; }
+        if (i < end && input.charAt(i) == '.') {
+            i++;
+            while (i < end && isAsciiDigit(input.charAt(i))) { i++; digits++; }
+        }
+        if (digits == 0) return false;
+
+        if (i < end && (input.charAt(i) == 'e' || input.charAt(i) == 'E')) {
+            i++;
+            if (i < end && (input.charAt(i) == '-' || input.charAt(i) == '+')) i++;
+            int exponentDigits = 0;
+            while (i < end && isAsciiDigit(input.charAt(i))) { i++; exponentDigits++; }
+            if (exponentDigits == 0) return false;
+        }
+
+        if (i < end) {
+            char suffix = input.charAt(i);
+            if (suffix == 'f' || suffix == 'F' || suffix == 'd' || suffix == 'D') i++;
+        }
+        return i == end;
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
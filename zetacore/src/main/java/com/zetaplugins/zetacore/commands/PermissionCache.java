@@ -0,0 +1,201 @@
+package com.zetaplugins.zetacore.commands;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Caches the permission checks of players for command dispatch and tab completion,
+ * so filtering subcommands on every keystroke doesn't query the permission provider for every candidate.
+ * <br/>Cached results expire after a short time (5 seconds by default) and are dropped when a player quits or changes worlds.
+ * Players that are not online are not cached, and expired entries are removed lazily while the cache is used.
+ * Bukkit has no event for permission changes, so plugins that change permissions should call {@link #invalidate(UUID)}.
+ * Other senders (e.g. the console) are never cached.
+ * <br/>The cache is used by TreeCommands and commands registered through the AutoCommandRegistrar.
+ */
+public final class PermissionCache {
+    private static final PermissionCache INSTANCE = new PermissionCache(System::nanoTime);
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static volatile Invalidator invalidator;
+
+    private final LongSupplier clock;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep;
+    private volatile long ttlNanos = Duration.ofSeconds(5).toNanos();
+    private volatile boolean enabled = true;
+
+    private record Entry(long expiresAt, Map<String, Boolean> permissions) {}
+
+    PermissionCache(LongSupplier clock) {
+        this.clock = clock;
+        this.lastSweep = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * @return The shared permission cache
+     */
+    public static PermissionCache getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables caching. If disabled, every check is delegated to the sender.
+     * @param enabled Whether permission checks should be cached (default: true)
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) entries.clear();
+    }
+
+    public Duration getTtl() {
+        return Duration.ofNanos(ttlNanos);
+    }
+
+    /**
+     * Sets how long the permissions of a player are cached.
+     * @param ttl The time to live (default: 5 seconds)
+     */
+    public void setTtl(Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Checks if a sender has a permission, using the cached result for players if available.
+     * @param sender The sender
+     * @param permission The permission
+     * @return True if the sender has the permission
+     */
+    public boolean hasPermission(CommandSender sender, String permission) {
+        if (!enabled || !(sender instanceof Player player)) return sender.hasPermission(permission);
+
+        long now = clock.getAsLong();
+        UUID uuid = player.getUniqueId();
+        Entry entry = entries.get(uuid);
+        if (entry == null || now - entry.expiresAt() >= 0) {
+            // The entry of a player that already quit (e.g. checked by an async tab completion) would never be invalidated
+            if (!player.isOnline()) return player.hasPermission(permission);
+            sweepIfDue(now);
+            entry = new Entry(now + ttlNanos, new ConcurrentHashMap<>());
+            entries.put(uuid, entry);
+        }
+
+        Boolean cached = entry.permissions().get(permission);
+        if (cached != null) return cached;
+
+        boolean result = player.hasPermission(permission);
+        entry.permissions().put(permission, result);
+        return result;
+    }
+
+    /**
+     * Removes expired entries, which are left behind by players that quit while their permissions were being checked
+     */
+    private void sweepIfDue(long now) {
+        long last = lastSweep.get();
+        if (now - last < SWEEP_INTERVAL_NANOS || !lastSweep.compareAndSet(last, now)) return;
+        entries.values().removeIf(entry -> now - entry.expiresAt() >= 0);
+    }
+
+    /**
+     * Checks if a sender has one of the permissions of a command (separated by semicolons, like Bukkit does).
+     * @param sender The sender
+     * @param permissions The permissions, or null or empty if no permission is required
+     * @return True if no permission is required or the sender has one of the permissions
+     */
+    public boolean hasAnyPermission(CommandSender sender, String permissions) {
+        if (permissions == null || permissions.isEmpty()) return true;
+        if (permissions.indexOf(';') == -1) return hasPermission(sender, permissions);
+
+        for (String permission : permissions.split(";")) {
+            if (hasPermission(sender, permission)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Drops the cached permissions of a player, e.g. after changing their permissions.
+     * @param uuid The UUID of the player
+     */
+    public void invalidate(UUID uuid) {
+        entries.remove(uuid);
+    }
+
+    /**
+     * Drops the cached permissions of all players.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * @return The number of players with cached permissions
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Registers the listener invalidating the cache when players quit or change worlds, if it is not registered yet.
+     * Called automatically by the AutoCommandRegistrar.
+     * @param plugin The plugin to register the listener for
+     */
+    public static void install(JavaPlugin plugin) {
+        if (invalidator != null) return;
+
+        synchronized (PermissionCache.class) {
+            if (invalidator != null) return;
+            Invalidator listener = new Invalidator(plugin);
+            plugin.getServer().getPluginManager().registerEvents(listener, plugin);
+            invalidator = listener;
+        }
+    }
+
+    private static final class Invalidator implements Listener {
+        private final JavaPlugin plugin;
+
+        private Invalidator(JavaPlugin plugin) {
+            this.plugin = plugin;
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onQuit(PlayerQuitEvent event) {
+            INSTANCE.invalidate(event.getPlayer().getUniqueId());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onWorldChange(PlayerChangedWorldEvent event) {
+            // Permission providers can assign permissions per world
+            INSTANCE.invalidate(event.getPlayer().getUniqueId());
+        }
+
+        @EventHandler
+        public void onPluginDisable(PluginDisableEvent event) {
+            if (event.getPlugin() != plugin) return;
+
+            synchronized (PermissionCache.class) {
+                HandlerList.unregisterAll(this);
+                if (invalidator == this) invalidator = null;
+                INSTANCE.invalidateAll();
+            }
+        }
+    }
+}
@@ -2,8 +2,11 @@ package com.zetaplugins.zetacore.commands;
 
 import com.zetaplugins.zetacore.commands.exceptions.CommandException;
 import com.zetaplugins.zetacore.commands.exceptions.CommandPermissionException;
+import com.zetaplugins.zetacore.commands.exceptions.CommandRateLimitException;
 import com.zetaplugins.zetacore.commands.exceptions.CommandUsageException;
 import com.zetaplugins.zetacore.commands.exceptions.GenericCommandException;
+import com.zetaplugins.zetacore.util.AsyncExecutor;
+import com.zetaplugins.zetacore.util.ThrottledLogger;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -15,14 +18,21 @@ import org.jetbrains.annotations.Nullable;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
 
 /**
  * Represents a custom command for a plugin
  * @param <T> The type of the plugin
  */
-public abstract class PluginCommand<T extends JavaPlugin> implements CommandExecutor, TabCompleter {
+public abstract class PluginCommand<T extends JavaPlugin> implements CommandExecutor, TabCompleter, AsyncTabCompleter {
     private final T plugin;
     private final Map<Class<? extends CommandException>, CommandExceptionHandler<? extends CommandException>> exceptionHandlers = new HashMap<>();
+    private volatile boolean asyncExecution = false;
+    private volatile RateLimiter rateLimiter;
+    private volatile String rateLimitMessage;
+    private volatile String internalErrorMessage;
 
     /**
      * Constructor for the PluginCommand class
@@ -36,12 +46,95 @@ public abstract class PluginCommand<T extends JavaPlugin> implements CommandExec
                 GenericCommandException.class,
                 (ctx, e) -> e.getHandler().handle(ctx, e)
         );
+        registerExceptionHandler(
+                CommandRateLimitException.class,
+                (ctx, e) -> {
+                    String message = rateLimitMessage;
+                    if (message != null) ctx.getSender().sendMessage(message.replace("%seconds%", String.valueOf(e.getRemainingSeconds())));
+                    return true;
+                }
+        );
     }
 
     protected T getPlugin() {
         return plugin;
     }
 
+    public boolean isAsyncExecution() {
+        return asyncExecution;
+    }
+
+    /**
+     * Set whether the command is executed off the main thread.
+     * In async mode {@link #executeAsync(SenderSnapshot, Command, String, ArgumentList)} runs on the {@link AsyncExecutor}
+     * with a snapshot of the sender and a copy of the arguments, so it must use
+     * {@link #runSync(Runnable)} or {@link #callSync(Callable)} for Bukkit calls that are not thread-safe.
+     * Exception handlers and usage messages still run on the main thread.
+     * @param asyncExecution Whether the command should be executed asynchronously (default: false)
+     */
+    public void setAsyncExecution(boolean asyncExecution) {
+        this.asyncExecution = asyncExecution;
+    }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Set the cooldown or rate limit of the command. It is checked on the main thread before the command is executed.
+     * A {@link CommandRateLimitException} is thrown if a player is rate limited. By default the
+     * {@link #setRateLimitMessage(String) rate limit message} is sent to the player, which can be customized with
+     * {@link #registerExceptionHandler(Class, CommandExceptionHandler)}.
+     * @param rateLimiter The rate limiter, or null to remove the limit
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    public @Nullable String getRateLimitMessage() {
+        return rateLimitMessage;
+    }
+
+    /**
+     * Set the message sent to a player that is rate limited by the default {@link CommandRateLimitException} handler.
+     * The placeholder %seconds% is replaced by the number of seconds until the command can be used again.
+     * @param rateLimitMessage The message, or null to reject the command without a message (default: null)
+     */
+    public void setRateLimitMessage(@Nullable String rateLimitMessage) {
+        this.rateLimitMessage = rateLimitMessage;
+    }
+
+    public @Nullable String getInternalErrorMessage() {
+        return internalErrorMessage;
+    }
+
+    /**
+     * Set the message sent to the sender if the command fails with an unexpected exception,
+     * see {@link #handleUnexpectedException(CommandContext, RuntimeException)}.
+     * @param internalErrorMessage The message, or null to only log the error (default: null)
+     */
+    public void setInternalErrorMessage(@Nullable String internalErrorMessage) {
+        this.internalErrorMessage = internalErrorMessage;
+    }
+
+    /**
+     * Run a task on the main thread. Runs immediately if called from the main thread.
+     * @param task The task to run
+     */
+    protected final void runSync(Runnable task) {
+        AsyncExecutor.runSync(plugin, task);
+    }
+
+    /**
+     * Call a task on the main thread. Runs immediately if called from the main thread.
+     * @param task The task to call
+     * @return A future completed with the result of the task
+     * @param <R> The type of the result
+     */
+    protected final <R> CompletableFuture<R> callSync(Callable<R> task) {
+        return AsyncExecutor.callSync(plugin, task);
+    }
+
     /**
      * Execute the command
      *
@@ -55,6 +148,24 @@ public abstract class PluginCommand<T extends JavaPlugin> implements CommandExec
      */
     public abstract boolean execute(CommandSender sender, Command command, String label, ArgumentList args) throws CommandException ;
 
+    /**
+     * Execute the command off the main thread. Only used if {@link #isAsyncExecution()} is enabled.
+     * The snapshot of the sender is taken on the main thread, so its context can be read without touching the live sender.
+     * By default this calls {@link #execute} with the live sender, override it if the command uses the sender
+     * for more than thread-safe calls like sending messages.
+     *
+     * @param sender The snapshot of the sender of the command
+     * @param command The command that was executed
+     * @param label The label of the command (The alias used)
+     * @param args A copy of the arguments of the command
+     * @return Whether the command was executed successfully
+     * @throws CommandPermissionException If the sender does not have permission to execute the command
+     * @throws CommandUsageException If the command was used incorrectly
+     */
+    public boolean executeAsync(SenderSnapshot sender, Command command, String label, ArgumentList args) throws CommandException {
+        return execute(sender.getSender(), command, label, args);
+    }
+
     /**
      * The Tabcompletion method for the command
      *
@@ -65,20 +176,152 @@ public abstract class PluginCommand<T extends JavaPlugin> implements CommandExec
      */
     public abstract List<String> tabComplete(CommandSender sender, Command command, ArgumentList args);
 
+    /**
+     * The asynchronous Tabcompletion method for the command.
+     * Only used if the command is registered with {@link com.zetaplugins.zetacore.annotations.AutoRegisterCommand#asyncTabComplete()}
+     * on a Paper server. Called off the main thread, so override it if {@link #tabComplete} is not thread-safe.
+     *
+     * @param sender The sender of the command
+     * @param command The command that is being tab completed
+     * @param args The current arguments of the command
+     * @return A list of possible completions
+     */
+    public List<String> tabCompleteAsync(CommandSender sender, Command command, ArgumentList args) {
+        return tabComplete(sender, command, args);
+    }
+
     @Override
     public boolean onCommand(@NotNull CommandSender commandSender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        if (asyncExecution) {
+            var argumentList = new ArgumentList(args.clone());
+            try {
+                checkRateLimit(commandSender);
+            } catch (CommandRateLimitException e) {
+                CommandMetrics.getInstance().recordFailure(getMetricsKey(command, argumentList), e);
+                return handleCommandException(commandSender, command, label, argumentList, e);
+            }
+            dispatchAsync(commandSender, command, label, argumentList);
+            return true;
+        }
+
         var argumentList = new ArgumentList(args);
+        String metricsKey = getMetricsKey(command, argumentList);
+        long start = System.nanoTime();
 
         try {
+            checkRateLimit(commandSender);
             return execute(commandSender, command, label, argumentList);
         } catch (CommandException e) {
+            CommandMetrics.getInstance().recordFailure(metricsKey, e);
             return handleCommandException(commandSender, command, label, argumentList, e);
+        } catch (RuntimeException e) {
+            CommandMetrics.getInstance().recordFailure(metricsKey, e);
+            return handleUnexpectedException(new CommandContext(commandSender, command, label, argumentList), e);
+        } finally {
+            CommandMetrics.getInstance().recordExecution(metricsKey, System.nanoTime() - start, plugin.getLogger());
         }
     }
 
+    /**
+     * Get the key under which executions and tab completions of this command are recorded in the {@link CommandMetrics}.
+     * Must not depend on free-form arguments like player names, so the number of keys stays bounded.
+     * @param command The command that was executed
+     * @param args The arguments of the command
+     * @return The metrics key, by default the name of the command
+     */
+    protected String getMetricsKey(Command command, ArgumentList args) {
+        return command.getName();
+    }
+
+    private void checkRateLimit(CommandSender sender) throws CommandRateLimitException {
+        RateLimiter limiter = rateLimiter;
+        if (limiter != null) limiter.acquire(sender);
+    }
+
+    /**
+     * Snapshot the sender, execute the command on the {@link AsyncExecutor} and handle its result on the main thread
+     * @param sender The sender of the command
+     * @param command The command that was executed
+     * @param label The label of the command (The alias used)
+     * @param args A copy of the arguments of the command
+     */
+    private void dispatchAsync(CommandSender sender, Command command, String label, ArgumentList args) {
+        String metricsKey = getMetricsKey(command, args);
+        SenderSnapshot snapshot = SenderSnapshot.of(sender);
+        AsyncExecutor.get().execute(() -> {
+            long start = System.nanoTime();
+            try {
+                if (!executeAsync(snapshot, command, label, args)) runSync(() -> sendUsage(sender, command, label));
+            } catch (CommandException e) {
+                CommandMetrics.getInstance().recordFailure(metricsKey, e);
+                runSync(() -> {
+                    if (!handleCommandException(sender, command, label, args, e)) sendUsage(sender, command, label);
+                });
+            } catch (RuntimeException e) {
+                CommandMetrics.getInstance().recordFailure(metricsKey, e);
+                runSync(() -> {
+                    if (!handleUnexpectedException(new CommandContext(sender, command, label, args), e)) sendUsage(sender, command, label);
+                });
+            } finally {
+                CommandMetrics.getInstance().recordExecution(metricsKey, System.nanoTime() - start, plugin.getLogger());
+            }
+        });
+    }
+
+    /**
+     * Send the usage message of the command, like Bukkit does when a synchronous command returns false
+     * @param sender The sender of the command
+     * @param command The command that was executed
+     * @param label The label of the command (The alias used)
+     */
+    private static void sendUsage(CommandSender sender, Command command, String label) {
+        String usage = command.getUsage();
+        if (usage == null || usage.isEmpty()) return;
+        for (String line : usage.replace("<command>", label).split("\n")) sender.sendMessage(line);
+    }
+
+    /**
+     * Handle an exception that is not a CommandException (e.g. a bug in the command).
+     * By default the error is logged through a {@link ThrottledLogger}, so a command that fails repeatedly doesn't flood the console,
+     * and the {@link #setInternalErrorMessage(String) internal error message} is sent to the sender.
+     * <br/>This is also called for synchronous commands, so their RuntimeExceptions no longer reach Bukkit,
+     * which would log every stack trace and send its own error message. Override it to restore that behaviour, e.g. by rethrowing.
+     * @param context The context of the command
+     * @param e The exception that was thrown
+     * @return Whether the exception was handled
+     */
+    protected boolean handleUnexpectedException(CommandContext context, RuntimeException e) {
+        ThrottledLogger.of(plugin.getLogger()).log(
+                Level.SEVERE,
+                "command:" + context.getCommand().getName(),
+                "Unhandled exception executing command '" + context.getLabel() + "' in plugin " + plugin.getName(),
+                e
+        );
+        String message = internalErrorMessage;
+        if (message != null) context.getSender().sendMessage(message);
+        return true;
+    }
+
     @Override
     public @Nullable List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
-        return tabComplete(sender, command, new ArgumentList(args));
+        var argumentList = new ArgumentList(args);
+        long start = System.nanoTime();
+        try {
+            return tabComplete(sender, command, argumentList);
+        } finally {
+            CommandMetrics.getInstance().recordTabComplete(getMetricsKey(command, argumentList), System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public @Nullable List<String> onTabCompleteAsync(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        var argumentList = new ArgumentList(args);
+        long start = System.nanoTime();
+        try {
+            return tabCompleteAsync(sender, command, argumentList);
+        } finally {
+            CommandMetrics.getInstance().recordTabComplete(getMetricsKey(command, argumentList), System.nanoTime() - start);
+        }
     }
 
     /**
@@ -132,6 +375,29 @@ public abstract class PluginCommand<T extends JavaPlugin> implements CommandExec
         return CommandUtils.getDisplayOptions(options, input);
     }
 
+    /**
+     * Get a list of options that start with the input
+     *
+     * @param options The index of the options
+     * @param input The input to check against
+     * @return A list of options that start with the input, sorted alphabetically
+     */
+    protected final List<String> getDisplayOptions(CompletionIndex options, String input) {
+        return options.complete(input);
+    }
+
+    /**
+     * Get a list of options that start with the input
+     *
+     * @param options The index of the options
+     * @param input The input to check against
+     * @param limit The maximum number of options to return
+     * @return A list of options that start with the input, sorted alphabetically
+     */
+    protected final List<String> getDisplayOptions(CompletionIndex options, String input, int limit) {
+        return options.complete(input, limit);
+    }
+
     /**
      * Get a list of player options
      *
@@ -0,0 +1,226 @@
+package com.zetaplugins.zetacore.commands;
+
+import com.zetaplugins.zetacore.commands.exceptions.CommandRateLimitException;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * A thread-safe per-player cooldown and rate limit for commands.
+ * Allows a number of uses per period and refills them continuously (a token bucket implemented as a generic cell rate algorithm),
+ * so every player only needs a single {@link AtomicLong} that is updated with compare-and-set.
+ * <br/>Expired entries are removed lazily while the limiter is used and when a player quits.
+ * Entries of players that quit during an active cooldown are kept until the cooldown expires, so rejoining doesn't reset it.
+ * <pre>{@code
+ * // 3 uses every 10 seconds
+ * setRateLimiter(new RateLimiter(3, Duration.ofSeconds(10)));
+ * }</pre>
+ */
+public final class RateLimiter {
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final Set<RateLimiter> LIMITERS = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private static volatile QuitListener quitListener;
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier clock;
+    private final Map<UUID, AtomicLong> entries = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep;
+    private volatile String bypassPermission;
+
+    /**
+     * Creates a rate limiter allowing the given number of uses per period.
+     * @param uses The number of uses allowed within the period (1 for a simple cooldown)
+     * @param period The period
+     */
+    public RateLimiter(int uses, Duration period) {
+        this(uses, period.toNanos(), System::nanoTime);
+    }
+
+    /**
+     * Creates a simple cooldown allowing one use per period.
+     * @param period The period
+     * @return The rate limiter
+     */
+    public static RateLimiter cooldown(Duration period) {
+        return new RateLimiter(1, period);
+    }
+
+    RateLimiter(int uses, long periodNanos, LongSupplier clock) {
+        if (uses < 1) throw new IllegalArgumentException("Uses must be at least 1");
+        if (periodNanos <= 0) throw new IllegalArgumentException("Period must be positive");
+
+        this.emissionIntervalNanos = periodNanos / uses;
+        this.burstToleranceNanos = periodNanos - emissionIntervalNanos;
+        this.clock = clock;
+        this.lastSweep = new AtomicLong(clock.getAsLong());
+        LIMITERS.add(this);
+    }
+
+    public String getBypassPermission() {
+        return bypassPermission;
+    }
+
+    /**
+     * Sets a permission that exempts players from this limit.
+     * @param bypassPermission The permission, or null if nobody bypasses the limit
+     * @return This rate limiter
+     */
+    public RateLimiter setBypassPermission(String bypassPermission) {
+        this.bypassPermission = bypassPermission;
+        return this;
+    }
+
+    /**
+     * Uses the command as the given sender. Only players are limited.
+     * @param sender The sender of the command
+     * @throws CommandRateLimitException If the sender is currently rate limited
+     */
+    public void acquire(CommandSender sender) throws CommandRateLimitException {
+        if (!(sender instanceof Player player)) return;
+
+        String bypass = bypassPermission;
+        if (bypass != null && player.hasPermission(bypass)) return;
+        acquire(player.getUniqueId());
+    }
+
+    /**
+     * Uses the command as the given player.
+     * @param uuid The UUID of the player
+     * @throws CommandRateLimitException If the player is currently rate limited
+     */
+    public void acquire(UUID uuid) throws CommandRateLimitException {
+        long waitNanos = tryAcquireOrWait(uuid);
+        if (waitNanos > 0) throw new CommandRateLimitException(toMillisRoundedUp(waitNanos));
+    }
+
+    /**
+     * Uses the command as the given player if they are not rate limited.
+     * @param uuid The UUID of the player
+     * @return True if the use was allowed, false if the player is rate limited
+     */
+    public boolean tryAcquire(UUID uuid) {
+        return tryAcquireOrWait(uuid) == 0;
+    }
+
+    /**
+     * Gets the time until the player can use the command again, without using it.
+     * @param uuid The UUID of the player
+     * @return The remaining time in milliseconds, or 0 if the player is not rate limited
+     */
+    public long getRemainingMillis(UUID uuid) {
+        AtomicLong state = entries.get(uuid);
+        if (state == null) return 0;
+
+        long wait = state.get() - burstToleranceNanos - clock.getAsLong();
+        return wait <= 0 ? 0 : toMillisRoundedUp(wait);
+    }
+
+    /**
+     * Resets the limit of a player.
+     * @param uuid The UUID of the player
+     */
+    public void reset(UUID uuid) {
+        entries.remove(uuid);
+    }
+
+    /**
+     * @return The number of players currently tracked by this limiter
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Tries to use the command and returns how long the player has to wait otherwise.
+     * The state of a player is the theoretical arrival time (TAT) of their next use. A use is allowed
+     * if it doesn't push the TAT further than the burst tolerance into the future.
+     * @param uuid The UUID of the player
+     * @return 0 if the use was allowed, otherwise the time to wait in nanoseconds
+     */
+    private long tryAcquireOrWait(UUID uuid) {
+        long now = clock.getAsLong();
+        sweepIfDue(now);
+
+        while (true) {
+            AtomicLong state = entries.computeIfAbsent(uuid, k -> new AtomicLong(now));
+            long current = state.get();
+            long tat = Math.max(current, now);
+            long wait = tat - burstToleranceNanos - now;
+            if (wait > 0) return wait;
+
+            // Retry if the entry was swept concurrently, so the use isn't recorded in a dropped entry
+            if (state.compareAndSet(current, tat + emissionIntervalNanos) && entries.get(uuid) == state) return 0;
+        }
+    }
+
+    private static long toMillisRoundedUp(long nanos) {
+        return (nanos + 999_999) / 1_000_000;
+    }
+
+    private void sweepIfDue(long now) {
+        long last = lastSweep.get();
+        if (now - last < SWEEP_INTERVAL_NANOS || !lastSweep.compareAndSet(last, now)) return;
+        entries.values().removeIf(state -> state.get() <= now);
+    }
+
+    private void evictIfExpired(UUID uuid) {
+        AtomicLong state = entries.get(uuid);
+        if (state != null && state.get() <= clock.getAsLong()) entries.remove(uuid, state);
+    }
+
+    /**
+     * Registers the listener evicting expired entries of players when they quit, if it is not registered yet.
+     * Called automatically by the AutoCommandRegistrar.
+     * @param plugin The plugin to register the listener for
+     */
+    public static void install(JavaPlugin plugin) {
+        if (quitListener != null) return;
+
+        synchronized (RateLimiter.class) {
+            if (quitListener != null) return;
+            QuitListener listener = new QuitListener(plugin);
+            plugin.getServer().getPluginManager().registerEvents(listener, plugin);
+            quitListener = listener;
+        }
+    }
+
+    private static final class QuitListener implements Listener {
+        private final JavaPlugin plugin;
+
+        private QuitListener(JavaPlugin plugin) {
+            this.plugin = plugin;
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onQuit(PlayerQuitEvent event) {
+            UUID uuid = event.getPlayer().getUniqueId();
+            synchronized (LIMITERS) {
+                for (RateLimiter limiter : LIMITERS) limiter.evictIfExpired(uuid);
+            }
+        }
+
+        @EventHandler
+        public void onPluginDisable(PluginDisableEvent event) {
+            if (event.getPlugin() != plugin) return;
+
+            synchronized (RateLimiter.class) {
+                HandlerList.unregisterAll(this);
+                if (quitListener == this) quitListener = null;
+            }
+        }
+    }
+}
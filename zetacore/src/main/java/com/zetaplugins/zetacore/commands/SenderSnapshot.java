@@ -0,0 +1,81 @@
+package com.zetaplugins.zetacore.commands;
+
+import org.bukkit.Location;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * An immutable snapshot of the sender of a command, taken on the main thread before the command is executed asynchronously.
+ * Async command handlers can read the sender context from it without touching the live {@link CommandSender}.
+ */
+public final class SenderSnapshot {
+    private final CommandSender sender;
+    private final String name;
+    private final UUID uniqueId;
+    private final boolean player;
+    private final boolean console;
+    private final Location location;
+
+    private SenderSnapshot(CommandSender sender) {
+        this.sender = sender;
+        this.name = sender.getName();
+        this.player = sender instanceof Player;
+        this.console = sender instanceof ConsoleCommandSender;
+        if (sender instanceof Entity entity) {
+            this.uniqueId = entity.getUniqueId();
+            this.location = entity.getLocation();
+        } else {
+            this.uniqueId = null;
+            this.location = null;
+        }
+    }
+
+    /**
+     * Takes a snapshot of the given sender. Must be called on the main thread.
+     * @param sender The sender of the command
+     * @return The snapshot
+     */
+    public static SenderSnapshot of(CommandSender sender) {
+        return new SenderSnapshot(sender);
+    }
+
+    /**
+     * Get the live sender. It is not thread-safe, so it must only be used on the main thread
+     * (e.g. inside of {@link PluginCommand#runSync(Runnable)}).
+     * @return The CommandSender
+     */
+    public CommandSender getSender() {
+        return sender;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The UUID of the sender, or null if the sender is not an entity (e.g. the console)
+     */
+    public @Nullable UUID getUniqueId() {
+        return uniqueId;
+    }
+
+    public boolean isPlayer() {
+        return player;
+    }
+
+    public boolean isConsole() {
+        return console;
+    }
+
+    /**
+     * @return The location of the sender when the command was executed, or null if the sender is not an entity
+     */
+    public @Nullable Location getLocation() {
+        return location;
+    }
+}
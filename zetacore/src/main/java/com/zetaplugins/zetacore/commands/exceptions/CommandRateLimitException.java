@@ -0,0 +1,27 @@
+package com.zetaplugins.zetacore.commands.exceptions;
+
+public class CommandRateLimitException extends CommandException {
+    private final long remainingMillis;
+
+    /**
+     * @param remainingMillis The time in milliseconds until the command can be used again
+     */
+    public CommandRateLimitException(long remainingMillis) {
+        super("Command is on cooldown for " + remainingMillis + "ms");
+        this.remainingMillis = remainingMillis;
+    }
+
+    /**
+     * @return The time in milliseconds until the command can be used again
+     */
+    public long getRemainingMillis() {
+        return remainingMillis;
+    }
+
+    /**
+     * @return The time in seconds until the command can be used again, rounded up
+     */
+    public long getRemainingSeconds() {
+        return (remainingMillis + 999) / 1000;
+    }
+}
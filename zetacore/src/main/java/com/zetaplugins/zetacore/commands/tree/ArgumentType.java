@@ -0,0 +1,40 @@
+package com.zetaplugins.zetacore.commands.tree;
+
+import com.zetaplugins.zetacore.commands.exceptions.CommandException;
+import org.bukkit.command.CommandSender;
+
+import java.util.List;
+
+/**
+ * Parses and completes a typed argument slot of a {@link CommandNode}.
+ * Common types are available in {@link ArgumentTypes}.
+ * @param <T> The type of the parsed value
+ */
+public interface ArgumentType<T> {
+    /**
+     * Parses the input of the argument.
+     * @param sender The sender of the command
+     * @param input The raw input
+     * @return The parsed value
+     * @throws CommandException If the input is not valid for this type
+     */
+    T parse(CommandSender sender, String input) throws CommandException;
+
+    /**
+     * Gets the tab completions for the given input.
+     * @param sender The sender of the command
+     * @param input The current input
+     * @return The possible completions
+     */
+    default List<String> suggest(CommandSender sender, String input) {
+        return List.of();
+    }
+
+    /**
+     * Whether this argument consumes all remaining arguments (joined by spaces).
+     * @return True if the argument is greedy, false otherwise
+     */
+    default boolean isGreedy() {
+        return false;
+    }
+}
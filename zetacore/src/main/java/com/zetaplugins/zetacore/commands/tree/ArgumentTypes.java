@@ -0,0 +1,234 @@
+package com.zetaplugins.zetacore.commands.tree;
+
+import com.zetaplugins.zetacore.commands.CommandUtils;
+import com.zetaplugins.zetacore.commands.CompletionIndex;
+import com.zetaplugins.zetacore.commands.NumberFormats;
+import com.zetaplugins.zetacore.commands.exceptions.CommandException;
+import com.zetaplugins.zetacore.commands.exceptions.CommandUsageException;
+import com.zetaplugins.zetacore.services.players.PlayerNameIndex;
+import com.zetaplugins.zetacore.services.players.PlayerResolver;
+import com.zetaplugins.zetacore.util.EnumLookup;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.*;
+
+/**
+ * Common {@link ArgumentType}s for command trees.
+ */
+public final class ArgumentTypes {
+    private ArgumentTypes() {}
+
+    /**
+     * A single word.
+     * @return The argument type
+     */
+    public static ArgumentType<String> word() {
+        return (sender, input) -> input;
+    }
+
+    /**
+     * All remaining arguments joined by spaces (e.g. a reason or a message).
+     * @return The argument type
+     */
+    public static ArgumentType<String> greedyString() {
+        return new ArgumentType<>() {
+            @Override
+            public String parse(CommandSender sender, String input) {
+                return input;
+            }
+
+            @Override
+            public boolean isGreedy() {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * One of a fixed set of words (case-insensitive), suggested alphabetically.
+     * @param choices The allowed words
+     * @return The argument type, parsing to the matching choice
+     */
+    public static ArgumentType<String> choice(String... choices) {
+        Map<String, String> lookup = new HashMap<>();
+        for (String choice : choices) lookup.put(choice.toLowerCase(Locale.ROOT), choice);
+        List<String> options = List.of(choices);
+        CompletionIndex index = CompletionIndex.of(options);
+
+        return new ArgumentType<>() {
+            @Override
+            public String parse(CommandSender sender, String input) throws CommandException {
+                String choice = lookup.get(input.toLowerCase(Locale.ROOT));
+                if (choice == null) throw new CommandUsageException("Expected one of " + String.join(", ", options) + " but got '" + input + "'");
+                return choice;
+            }
+
+            @Override
+            public List<String> suggest(CommandSender sender, String input) {
+                return index.complete(input);
+            }
+        };
+    }
+
+    /**
+     * An integer.
+     * @return The argument type
+     */
+    public static ArgumentType<Integer> integer() {
+        return integer(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * An integer within the given bounds.
+     * @param min The minimum value (inclusive)
+     * @param max The maximum value (inclusive)
+     * @return The argument type
+     */
+    public static ArgumentType<Integer> integer(int min, int max) {
+        return (sender, input) -> {
+            if (!NumberFormats.isLong(input)) throw new CommandUsageException("Expected a whole number but got '" + input + "'");
+            long value = Long.parseLong(input);
+            if (value < min || value > max) throw new CommandUsageException("Expected a number between " + min + " and " + max + " but got " + value);
+            return (int) value;
+        };
+    }
+
+    /**
+     * A long integer.
+     * @return The argument type
+     */
+    public static ArgumentType<Long> longInteger() {
+        return (sender, input) -> {
+            if (!NumberFormats.isLong(input)) throw new CommandUsageException("Expected a whole number but got '" + input + "'");
+            return Long.parseLong(input);
+        };
+    }
+
+    /**
+     * A decimal number.
+     * @return The argument type
+     */
+    public static ArgumentType<Double> decimal() {
+        return (sender, input) -> {
+            if (!NumberFormats.isDouble(input)) throw new CommandUsageException("Expected a number but got '" + input + "'");
+            return Double.parseDouble(input);
+        };
+    }
+
+    /**
+     * A boolean (true/false, yes/no, y/n, 1/0).
+     * @return The argument type
+     */
+    public static ArgumentType<Boolean> bool() {
+        return new ArgumentType<>() {
+            @Override
+            public Boolean parse(CommandSender sender, String input) throws CommandException {
+                return switch (input.toLowerCase(Locale.ROOT)) {
+                    case "true", "yes", "y", "1" -> true;
+                    case "false", "no", "n", "0" -> false;
+                    default -> throw new CommandUsageException("Expected true or false but got '" + input + "'");
+                };
+            }
+
+            @Override
+            public List<String> suggest(CommandSender sender, String input) {
+                return CommandUtils.getDisplayOptions(List.of("true", "false"), input);
+            }
+        };
+    }
+
+    /**
+     * An online player, by their exact name (case-insensitive).
+     * @return The argument type
+     */
+    public static ArgumentType<Player> player() {
+        return new ArgumentType<>() {
+            @Override
+            public Player parse(CommandSender sender, String input) throws CommandException {
+                PlayerResolver resolver = PlayerResolver.getInstance();
+                Player player = resolver != null ? resolver.getOnlinePlayer(input) : Bukkit.getPlayerExact(input);
+                if (player == null) throw new CommandUsageException("Player '" + input + "' is not online");
+                return player;
+            }
+
+            @Override
+            public List<String> suggest(CommandSender sender, String input) {
+                PlayerNameIndex index = PlayerNameIndex.getInstance();
+                if (index != null) return index.getNamesStartingWith(input, CommandUtils.DEFAULT_PLAYER_OPTIONS_LIMIT);
+
+                List<String> names = new ArrayList<>();
+                for (Player player : Bukkit.getOnlinePlayers()) names.add(player.getName());
+                return CommandUtils.getDisplayOptions(names, input);
+            }
+        };
+    }
+
+    /**
+     * A player that is online or joined the server before, by their exact name (case-insensitive).
+     * Only players known to the {@link PlayerResolver} are accepted, so parsing never blocks on a lookup.
+     * @return The argument type
+     */
+    public static ArgumentType<OfflinePlayer> offlinePlayer() {
+        ArgumentType<Player> online = player();
+        return new ArgumentType<>() {
+            @Override
+            public OfflinePlayer parse(CommandSender sender, String input) throws CommandException {
+                PlayerResolver resolver = PlayerResolver.getInstance();
+                OfflinePlayer player = resolver != null ? resolver.getCachedOfflinePlayer(input) : Bukkit.getPlayerExact(input);
+                if (player == null) throw new CommandUsageException("Player '" + input + "' has never played on this server");
+                return player;
+            }
+
+            @Override
+            public List<String> suggest(CommandSender sender, String input) {
+                return online.suggest(sender, input);
+            }
+        };
+    }
+
+    /**
+     * Gets the argument type for a parameter type of a subcommand method.
+     * @param type The parameter type
+     * @param greedy Whether a String parameter consumes all remaining arguments
+     * @return The argument type, or null if the type is not supported
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static ArgumentType<?> forClass(Class<?> type, boolean greedy) {
+        if (type == String.class) return greedy ? greedyString() : word();
+        if (type == int.class || type == Integer.class) return integer();
+        if (type == long.class || type == Long.class) return longInteger();
+        if (type == double.class || type == Double.class) return decimal();
+        if (type == boolean.class || type == Boolean.class) return bool();
+        if (type == Player.class) return player();
+        if (type == OfflinePlayer.class) return offlinePlayer();
+        if (type.isEnum()) return enumType((Class) type);
+        return null;
+    }
+
+    /**
+     * A constant of the given enum (case-insensitive).
+     * @param enumClass The class of the enum
+     * @param <E> The type of the enum
+     * @return The argument type
+     */
+    public static <E extends Enum<E>> ArgumentType<E> enumType(Class<E> enumClass) {
+        EnumLookup<E> lookup = EnumLookup.of(enumClass);
+
+        return new ArgumentType<>() {
+            @Override
+            public E parse(CommandSender sender, String input) throws CommandException {
+                E constant = lookup.get(input);
+                if (constant == null) throw new CommandUsageException("Unknown " + enumClass.getSimpleName() + " '" + input + "'");
+                return constant;
+            }
+
+            @Override
+            public List<String> suggest(CommandSender sender, String input) {
+                return lookup.complete(input);
+            }
+        };
+    }
+}
@@ -0,0 +1,138 @@
+package com.zetaplugins.zetacore.commands.tree;
+
+import com.zetaplugins.zetacore.commands.RateLimiter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A node of a declarative command tree.
+ * A node is either a literal (a fixed subcommand name with optional aliases) or a typed argument slot.
+ * The tree is compiled once by {@link TreeCommand}, so changes after compilation have no effect.
+ * <pre>{@code
+ * root.addChild(CommandNode.literal("give", "g")
+ *         .setPermission("myplugin.give")
+ *         .addChild(CommandNode.argument("player", ArgumentTypes.player())
+ *                 .addChild(CommandNode.argument("amount", ArgumentTypes.integer(1, 64))
+ *                         .setExecutor(ctx -> give(ctx.get("player"), ctx.get("amount"))))));
+ * }</pre>
+ */
+public final class CommandNode {
+    private final String name;
+    private final List<String> aliases;
+    private final ArgumentType<?> type;
+    private final List<CommandNode> children = new ArrayList<>();
+    private String permission;
+    private SubcommandExecutor executor;
+    private RateLimiter rateLimiter;
+
+    private CommandNode(String name, List<String> aliases, ArgumentType<?> type) {
+        this.name = name;
+        this.aliases = aliases;
+        this.type = type;
+    }
+
+    /**
+     * Creates the root node of a tree.
+     * @return The root node
+     */
+    static CommandNode root() {
+        return new CommandNode("", List.of(), null);
+    }
+
+    /**
+     * Creates a literal node matching a fixed subcommand name (case-insensitive).
+     * @param name The name of the subcommand
+     * @param aliases Alternative names of the subcommand
+     * @return The node
+     */
+    public static CommandNode literal(String name, String... aliases) {
+        if (name == null || name.isEmpty() || name.contains(" ")) throw new IllegalArgumentException("Invalid subcommand name: '" + name + "'");
+        return new CommandNode(name, List.of(aliases), null);
+    }
+
+    /**
+     * Creates a typed argument slot.
+     * @param name The name of the argument, used to get the value from the {@link TreeCommandContext}
+     * @param type The type of the argument
+     * @return The node
+     */
+    public static CommandNode argument(String name, ArgumentType<?> type) {
+        if (name == null || name.isEmpty()) throw new IllegalArgumentException("Argument name must not be empty");
+        if (type == null) throw new IllegalArgumentException("Argument type must not be null");
+        return new CommandNode(name, List.of(), type);
+    }
+
+    /**
+     * Adds a child node.
+     * @param child The child node
+     * @return This node
+     */
+    public CommandNode addChild(CommandNode child) {
+        children.add(child);
+        return this;
+    }
+
+    /**
+     * Sets the permission required to use this node and all of its children.
+     * @param permission The permission, or null if no permission is required
+     * @return This node
+     */
+    public CommandNode setPermission(String permission) {
+        this.permission = permission;
+        return this;
+    }
+
+    /**
+     * Sets the executor that runs when the input ends at this node.
+     * @param executor The executor
+     * @return This node
+     */
+    public CommandNode setExecutor(SubcommandExecutor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Sets the cooldown or rate limit of this node and all of its children. The nearest limit on the path of the executed node is used.
+     * @param rateLimiter The rate limiter, or null to inherit the limit of the parent node
+     * @return This node
+     */
+    public CommandNode setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getAliases() {
+        return aliases;
+    }
+
+    public ArgumentType<?> getType() {
+        return type;
+    }
+
+    public boolean isLiteral() {
+        return type == null;
+    }
+
+    public List<CommandNode> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
+    public String getPermission() {
+        return permission;
+    }
+
+    public SubcommandExecutor getExecutor() {
+        return executor;
+    }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+}
@@ -0,0 +1,125 @@
+package com.zetaplugins.zetacore.commands.tree;
+
+import com.zetaplugins.zetacore.commands.RateLimiter;
+
+import java.util.*;
+
+/**
+ * An immutable, precomputed node of a command tree.
+ * Literal children are looked up by their lowercase names and aliases in a hash map,
+ * so dispatch and completion walk the tree in O(depth).
+ */
+final class CompiledCommandNode {
+    private final String name;
+    private final ArgumentType<?> type;
+    private final String permission;
+    private final SubcommandExecutor executor;
+    private final RateLimiter rateLimiter;
+    private final String path;
+    private final Map<String, CompiledCommandNode> literals;
+    private final CompiledCommandNode[] arguments;
+    private final List<CompiledCommandNode> literalChildren;
+    private final String childrenUsage;
+    private final int childCount;
+
+    private CompiledCommandNode(CommandNode node, String path, RateLimiter parentRateLimiter) {
+        this.name = node.getName();
+        this.type = node.getType();
+        this.permission = node.getPermission();
+        this.executor = node.getExecutor();
+        this.rateLimiter = node.getRateLimiter() != null ? node.getRateLimiter() : parentRateLimiter;
+        this.path = path;
+
+        Map<String, CompiledCommandNode> literals = new HashMap<>();
+        List<CompiledCommandNode> literalChildren = new ArrayList<>();
+        List<CompiledCommandNode> arguments = new ArrayList<>();
+        StringJoiner usage = new StringJoiner("|");
+
+        for (CommandNode child : node.getChildren()) {
+            String segment = child.isLiteral() ? child.getName() : "<" + child.getName() + ">";
+            String childPath = path.isEmpty() ? segment : path + " " + segment;
+            CompiledCommandNode compiled = new CompiledCommandNode(child, childPath, rateLimiter);
+
+            if (child.isLiteral()) {
+                putLiteral(literals, child.getName(), compiled);
+                for (String alias : child.getAliases()) putLiteral(literals, alias, compiled);
+                literalChildren.add(compiled);
+            } else {
+                arguments.add(compiled);
+            }
+            usage.add(segment);
+        }
+
+        literalChildren.sort(Comparator.comparing(c -> c.name));
+        this.literals = Map.copyOf(literals);
+        this.literalChildren = List.copyOf(literalChildren);
+        this.arguments = arguments.toArray(new CompiledCommandNode[0]);
+        this.childrenUsage = usage.toString();
+        this.childCount = node.getChildren().size();
+    }
+
+    private static void putLiteral(Map<String, CompiledCommandNode> literals, String name, CompiledCommandNode node) {
+        if (literals.putIfAbsent(name.toLowerCase(Locale.ROOT), node) != null) {
+            throw new IllegalStateException("Duplicate subcommand name or alias: '" + name + "'");
+        }
+    }
+
+    /**
+     * Compiles a command tree.
+     * @param root The root node
+     * @return The compiled root node
+     */
+    static CompiledCommandNode compile(CommandNode root) {
+        return new CompiledCommandNode(root, "", null);
+    }
+
+    CompiledCommandNode getLiteral(String input) {
+        return literals.get(input.toLowerCase(Locale.ROOT));
+    }
+
+    List<CompiledCommandNode> getLiteralChildren() {
+        return literalChildren;
+    }
+
+    CompiledCommandNode[] getArguments() {
+        return arguments;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    ArgumentType<?> getType() {
+        return type;
+    }
+
+    String getPermission() {
+        return permission;
+    }
+
+    SubcommandExecutor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * @return The rate limiter of this node, inherited from the nearest parent if the node has none
+     */
+    RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Gets the usage of this node (e.g. "give &lt;player&gt; (add|remove)", optional children are shown in square brackets).
+     * @return The usage without the command label
+     */
+    String getUsage() {
+        if (childCount == 0) return path;
+
+        String children;
+        if (executor != null) children = "[" + childrenUsage + "]";
+        else if (childCount > 1) children = "(" + childrenUsage + ")";
+        else children = childrenUsage;
+
+        return path.isEmpty() ? children : path + " " + children;
+    }
+}
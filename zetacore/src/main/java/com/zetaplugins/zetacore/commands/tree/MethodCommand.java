@@ -0,0 +1,230 @@
+package com.zetaplugins.zetacore.commands.tree;
+
+import com.zetaplugins.zetacore.annotations.Arg;
+import com.zetaplugins.zetacore.annotations.Subcommand;
+import com.zetaplugins.zetacore.commands.CommandContext;
+import com.zetaplugins.zetacore.commands.PermissionCache;
+import com.zetaplugins.zetacore.commands.exceptions.CommandException;
+import com.zetaplugins.zetacore.commands.exceptions.CommandPermissionException;
+import com.zetaplugins.zetacore.commands.exceptions.CommandSenderMustBePlayerException;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * A command whose subcommands are methods annotated with {@link Subcommand}.
+ * The parameters of the methods are bound from the arguments of the command by their type
+ * (String, int, long, double, boolean, Player, OfflinePlayer and enums), so tab completion is derived automatically.
+ * <br/>Each method is compiled into nodes of the command tree and an invoker generated with the LambdaMetafactory
+ * at registration, so executing a subcommand doesn't use reflection.
+ * <br/>The permission of a subcommand is set on its last literal (e.g. "give"), so it also hides the literal from tab completion.
+ * Methods sharing a literal (e.g. overloads) must declare the same permission. Subcommands without a literal (the root handler)
+ * check their permission only when they are executed, so they don't lock the other subcommands.
+ * <pre>{@code
+ * @AutoRegisterCommand(command = "points")
+ * public class PointsCommand extends MethodCommand<MyPlugin> {
+ *     @Subcommand(value = "give", permission = "myplugin.points.give")
+ *     public void give(CommandSender sender, @Arg("player") Player target, @Arg("amount") int amount) { ... }
+ * }
+ * }</pre>
+ * Classes annotated with {@link com.zetaplugins.zetacore.annotations.AutoRegisterCommand} that don't implement
+ * {@link org.bukkit.command.CommandExecutor} but have subcommand methods are wrapped in a MethodCommand by the AutoCommandRegistrar.
+ * @param <T> The type of the plugin
+ */
+public class MethodCommand<T extends JavaPlugin> extends TreeCommand<T> {
+    private final Object handler;
+
+    /**
+     * Creates a command using the subcommand methods of this class
+     *
+     * @param plugin The instance of the plugin
+     */
+    public MethodCommand(T plugin) {
+        super(plugin);
+        this.handler = this;
+    }
+
+    /**
+     * Creates a command using the subcommand methods of another object
+     *
+     * @param plugin The instance of the plugin
+     * @param handler The object declaring the subcommand methods
+     */
+    public MethodCommand(T plugin, Object handler) {
+        super(plugin);
+        this.handler = handler;
+    }
+
+    /**
+     * Checks if a class declares subcommand methods
+     * @param clazz The class
+     * @return True if at least one method is annotated with {@link Subcommand}
+     */
+    public static boolean hasSubcommands(Class<?> clazz) {
+        return !getSubcommandMethods(clazz).isEmpty();
+    }
+
+    @Override
+    protected void buildTree(CommandNode root) {
+        Map<CommandNode, Map<String, CommandNode>> children = new IdentityHashMap<>();
+        Map<CommandNode, String> literalPermissions = new IdentityHashMap<>();
+        for (Method method : getSubcommandMethods(handler.getClass())) {
+            addMethod(root, method, children, literalPermissions);
+        }
+    }
+
+    private void addMethod(
+            CommandNode root,
+            Method method,
+            Map<CommandNode, Map<String, CommandNode>> children,
+            Map<CommandNode, String> literalPermissions
+    ) {
+        Subcommand subcommand = method.getAnnotation(Subcommand.class);
+        String[] path = subcommand.value().trim().split("\\s+");
+        CommandNode node = root;
+        CommandNode lastLiteral = null;
+
+        for (int i = 0; i < path.length; i++) {
+            if (path[i].isEmpty()) continue;
+            String[] aliases = i == path.length - 1 ? subcommand.aliases() : new String[0];
+            String name = path[i];
+            node = getOrAddChild(children, node, "literal:" + name.toLowerCase(Locale.ROOT), () -> CommandNode.literal(name, aliases));
+            lastLiteral = node;
+        }
+
+        Parameter[] parameters = method.getParameters();
+        ParameterBinding[] bindings = new ParameterBinding[parameters.length];
+        Set<String> usedNames = new HashSet<>();
+
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter parameter = parameters[i];
+            Class<?> type = parameter.getType();
+
+            if (i == 0 && (type == CommandSender.class || type == Player.class)) {
+                bindings[i] = new ParameterBinding(ParameterSource.SENDER, null, type == Player.class);
+                continue;
+            }
+            if (type == TreeCommandContext.class || type == CommandContext.class) {
+                bindings[i] = new ParameterBinding(ParameterSource.CONTEXT, null, false);
+                continue;
+            }
+
+            Arg arg = parameter.getAnnotation(Arg.class);
+            boolean greedy = arg != null && arg.greedy();
+            if (greedy && i != parameters.length - 1) {
+                throw new IllegalStateException("Only the last parameter of subcommand method " + method.getName() + " can be greedy");
+            }
+
+            ArgumentType<?> argumentType = ArgumentTypes.forClass(type, greedy);
+            if (argumentType == null) {
+                throw new IllegalStateException("Unsupported parameter type " + type.getSimpleName() + " in subcommand method " + method.getName());
+            }
+
+            String name = getArgumentName(parameter, arg);
+            if (!usedNames.add(name)) {
+                name = name + (i + 1);
+                usedNames.add(name);
+            }
+
+            String argumentName = name;
+            node = getOrAddChild(children, node, "argument:" + name + ":" + type.getName() + (greedy ? ":greedy" : ""),
+                    () -> CommandNode.argument(argumentName, argumentType));
+            bindings[i] = new ParameterBinding(ParameterSource.ARGUMENT, name, false);
+        }
+
+        if (node.getExecutor() != null) {
+            throw new IllegalStateException("Duplicate subcommand '" + subcommand.value() + "' in " + handler.getClass().getSimpleName());
+        }
+
+        String permission = subcommand.permission();
+        SubcommandInvoker invoker = SubcommandInvoker.create(method);
+        if (lastLiteral != null) {
+            String previous = literalPermissions.putIfAbsent(lastLiteral, permission);
+            if (previous != null && !previous.equals(permission)) {
+                throw new IllegalStateException("Subcommand methods sharing '" + subcommand.value().trim() + "' in "
+                        + handler.getClass().getSimpleName() + " declare different permissions ('" + previous + "' and '" + permission + "')");
+            }
+            if (!permission.isEmpty()) lastLiteral.setPermission(permission);
+            node.setExecutor(context -> invoke(invoker, bindings, context));
+        } else if (!permission.isEmpty()) {
+            node.setExecutor(context -> {
+                if (!PermissionCache.getInstance().hasPermission(context.getSender(), permission)) {
+                    throw new CommandPermissionException(permission);
+                }
+                return invoke(invoker, bindings, context);
+            });
+        } else {
+            node.setExecutor(context -> invoke(invoker, bindings, context));
+        }
+    }
+
+    private boolean invoke(SubcommandInvoker invoker, ParameterBinding[] bindings, TreeCommandContext context) throws CommandException {
+        Object[] values = new Object[bindings.length];
+        for (int i = 0; i < bindings.length; i++) {
+            ParameterBinding binding = bindings[i];
+            values[i] = switch (binding.source()) {
+                case SENDER -> {
+                    if (binding.requiresPlayer() && !(context.getSender() instanceof Player)) throw new CommandSenderMustBePlayerException();
+                    yield context.getSender();
+                }
+                case CONTEXT -> context;
+                case ARGUMENT -> context.get(binding.name());
+            };
+        }
+
+        try {
+            return invoker.invoke(handler, values);
+        } catch (CommandException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Subcommand threw a checked exception", e);
+        }
+    }
+
+    private static String getArgumentName(Parameter parameter, Arg arg) {
+        if (arg != null && !arg.value().isEmpty()) return arg.value();
+        if (parameter.isNamePresent()) return parameter.getName();
+        return parameter.getType().getSimpleName().toLowerCase(Locale.ROOT);
+    }
+
+    private static CommandNode getOrAddChild(
+            Map<CommandNode, Map<String, CommandNode>> children,
+            CommandNode parent,
+            String key,
+            Supplier<CommandNode> factory
+    ) {
+        Map<String, CommandNode> nodes = children.computeIfAbsent(parent, k -> new HashMap<>());
+        CommandNode child = nodes.get(key);
+        if (child == null) {
+            child = factory.get();
+            nodes.put(key, child);
+            parent.addChild(child);
+        }
+        return child;
+    }
+
+    /**
+     * Gets the subcommand methods of a class and its superclasses, sorted by name for a stable order
+     * @param clazz The class
+     * @return The subcommand methods
+     */
+    private static List<Method> getSubcommandMethods(Class<?> clazz) {
+        List<Method> methods = new ArrayList<>();
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Method method : current.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(Subcommand.class)) methods.add(method);
+            }
+        }
+        methods.sort(Comparator.comparing(Method::getName));
+        return methods;
+    }
+
+    private enum ParameterSource { SENDER, CONTEXT, ARGUMENT }
+
+    private record ParameterBinding(ParameterSource source, String name, boolean requiresPlayer) {}
+}
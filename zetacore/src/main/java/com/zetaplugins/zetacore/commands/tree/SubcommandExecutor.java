@@ -0,0 +1,17 @@
+package com.zetaplugins.zetacore.commands.tree;
+
+import com.zetaplugins.zetacore.commands.exceptions.CommandException;
+
+/**
+ * Executes a node of a command tree.
+ */
+@FunctionalInterface
+public interface SubcommandExecutor {
+    /**
+     * Execute the subcommand
+     * @param context The context of the command, containing the parsed argument values
+     * @return Whether the command was executed successfully
+     * @throws CommandException If the command fails (handled by the exception handlers of the command)
+     */
+    boolean execute(TreeCommandContext context) throws CommandException;
+}
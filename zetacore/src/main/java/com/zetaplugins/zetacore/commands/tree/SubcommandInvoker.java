@@ -0,0 +1,129 @@
+package com.zetaplugins.zetacore.commands.tree;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Invokes a subcommand method without reflection.
+ * Public methods of public classes with up to 5 parameters are bound to a generated lambda using the {@link LambdaMetafactory},
+ * all other methods are invoked through a {@link MethodHandle}.
+ */
+@FunctionalInterface
+interface SubcommandInvoker {
+    int MAX_LAMBDA_PARAMETERS = 5;
+
+    /**
+     * Invokes the method
+     * @param target The object to invoke the method on
+     * @param args The arguments of the method
+     * @return The return value of a boolean method, or true for void methods
+     * @throws Exception If the method throws an exception
+     */
+    boolean invoke(Object target, Object[] args) throws Exception;
+
+    /**
+     * Creates an invoker for a method. Must be called once at registration, not for every execution.
+     * @param method The method, returning void or boolean
+     * @return The invoker
+     */
+    static SubcommandInvoker create(Method method) {
+        Class<?> returnType = method.getReturnType();
+        if (returnType != void.class && returnType != boolean.class && returnType != Boolean.class) {
+            throw new IllegalStateException("Subcommand method " + method.getName() + " must return void or boolean");
+        }
+
+        if (method.getParameterCount() <= MAX_LAMBDA_PARAMETERS
+                && Modifier.isPublic(method.getModifiers())
+                && Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+            try {
+                return createLambda(method);
+            } catch (Throwable ignored) {
+                // e.g. the class is not visible from this class loader, use a method handle instead
+            }
+        }
+
+        try {
+            return createMethodHandle(method);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalStateException("Could not create invoker for subcommand method " + method.getName(), e);
+        }
+    }
+
+    private static SubcommandInvoker createLambda(Method method) throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle implementation = lookup.unreflect(method);
+        int arity = method.getParameterCount();
+        boolean isVoid = method.getReturnType() == void.class;
+        Class<?> samReturnType = isVoid ? void.class : boolean.class;
+
+        Class<?> interfaceType = isVoid ? VOID_INVOKERS[arity] : BOOLEAN_INVOKERS[arity];
+        MethodType samType = MethodType.genericMethodType(arity + 1).changeReturnType(samReturnType);
+        MethodType instantiatedType = implementation.type().wrap().changeReturnType(samReturnType);
+
+        CallSite site = LambdaMetafactory.metafactory(
+                lookup,
+                "call",
+                MethodType.methodType(interfaceType),
+                samType,
+                implementation,
+                instantiatedType
+        );
+        Object function = site.getTarget().invoke();
+
+        if (isVoid) {
+            return switch (arity) {
+                case 0 -> { V0 f = (V0) function; yield (t, a) -> { f.call(t); return true; }; }
+                case 1 -> { V1 f = (V1) function; yield (t, a) -> { f.call(t, a[0]); return true; }; }
+                case 2 -> { V2 f = (V2) function; yield (t, a) -> { f.call(t, a[0], a[1]); return true; }; }
+                case 3 -> { V3 f = (V3) function; yield (t, a) -> { f.call(t, a[0], a[1], a[2]); return true; }; }
+                case 4 -> { V4 f = (V4) function; yield (t, a) -> { f.call(t, a[0], a[1], a[2], a[3]); return true; }; }
+                default -> { V5 f = (V5) function; yield (t, a) -> { f.call(t, a[0], a[1], a[2], a[3], a[4]); return true; }; }
+            };
+        }
+
+        return switch (arity) {
+            case 0 -> { B0 f = (B0) function; yield (t, a) -> f.call(t); }
+            case 1 -> { B1 f = (B1) function; yield (t, a) -> f.call(t, a[0]); }
+            case 2 -> { B2 f = (B2) function; yield (t, a) -> f.call(t, a[0], a[1]); }
+            case 3 -> { B3 f = (B3) function; yield (t, a) -> f.call(t, a[0], a[1], a[2]); }
+            case 4 -> { B4 f = (B4) function; yield (t, a) -> f.call(t, a[0], a[1], a[2], a[3]); }
+            default -> { B5 f = (B5) function; yield (t, a) -> f.call(t, a[0], a[1], a[2], a[3], a[4]); }
+        };
+    }
+
+    private static SubcommandInvoker createMethodHandle(Method method) throws IllegalAccessException {
+        method.setAccessible(true);
+        MethodHandle handle = MethodHandles.lookup().unreflect(method);
+        MethodHandle spreader = handle.asType(handle.type().generic()).asSpreader(Object[].class, method.getParameterCount());
+
+        return (target, args) -> {
+            Object result;
+            try {
+                result = spreader.invoke(target, args);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+            return !(result instanceof Boolean value) || value;
+        };
+    }
+
+    Class<?>[] VOID_INVOKERS = {V0.class, V1.class, V2.class, V3.class, V4.class, V5.class};
+    Class<?>[] BOOLEAN_INVOKERS = {B0.class, B1.class, B2.class, B3.class, B4.class, B5.class};
+
+    interface V0 { void call(Object t) throws Exception; }
+    interface V1 { void call(Object t, Object a0) throws Exception; }
+    interface V2 { void call(Object t, Object a0, Object a1) throws Exception; }
+    interface V3 { void call(Object t, Object a0, Object a1, Object a2) throws Exception; }
+    interface V4 { void call(Object t, Object a0, Object a1, Object a2, Object a3) throws Exception; }
+    interface V5 { void call(Object t, Object a0, Object a1, Object a2, Object a3, Object a4) throws Exception; }
+
+    interface B0 { boolean call(Object t) throws Exception; }
+    interface B1 { boolean call(Object t, Object a0) throws Exception; }
+    interface B2 { boolean call(Object t, Object a0, Object a1) throws Exception; }
+    interface B3 { boolean call(Object t, Object a0, Object a1, Object a2) throws Exception; }
+    interface B4 { boolean call(Object t, Object a0, Object a1, Object a2, Object a3) throws Exception; }
+    interface B5 { boolean call(Object t, Object a0, Object a1, Object a2, Object a3, Object a4) throws Exception; }
+}
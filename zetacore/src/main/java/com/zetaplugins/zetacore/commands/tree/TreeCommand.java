@@ -0,0 +1,197 @@
+package com.zetaplugins.zetacore.commands.tree;
+
+import com.zetaplugins.zetacore.commands.ArgumentList;
+import com.zetaplugins.zetacore.commands.CommandUtils;
+import com.zetaplugins.zetacore.commands.PermissionCache;
+import com.zetaplugins.zetacore.commands.PluginCommand;
+import com.zetaplugins.zetacore.commands.exceptions.CommandException;
+import com.zetaplugins.zetacore.commands.exceptions.CommandPermissionException;
+import com.zetaplugins.zetacore.commands.exceptions.CommandUsageException;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A command whose subcommands are declared as a tree of {@link CommandNode}s instead of hand-written switch statements.
+ * The tree is compiled once (at registration by the AutoCommandRegistrar, or on first use) and both execution
+ * and tab completion walk the same precomputed structure.
+ * <br/>Missing or invalid arguments throw a {@link CommandUsageException} with the usage of the node, missing permissions
+ * throw a {@link CommandPermissionException}. Both are handled by the registered exception handlers.
+ * Rate limits of nodes are only applied when their executor runs.
+ * @param <T> The type of the plugin
+ */
+public abstract class TreeCommand<T extends JavaPlugin> extends PluginCommand<T> {
+    private volatile CompiledCommandNode tree;
+
+    /**
+     * Constructor for the TreeCommand class
+     *
+     * @param plugin The instance of the plugin
+     */
+    public TreeCommand(T plugin) {
+        super(plugin);
+    }
+
+    /**
+     * Declare the subcommands of this command
+     *
+     * @param root The root node of the command. Its executor runs when the command is executed without arguments.
+     */
+    protected abstract void buildTree(CommandNode root);
+
+    /**
+     * Compile the command tree if it was not compiled yet
+     * @throws IllegalStateException If the tree is invalid (e.g. duplicate subcommand names)
+     */
+    public final void compileTree() {
+        getTree();
+    }
+
+    private CompiledCommandNode getTree() {
+        CompiledCommandNode compiled = tree;
+        if (compiled != null) return compiled;
+
+        synchronized (this) {
+            if (tree == null) {
+                CommandNode root = CommandNode.root();
+                buildTree(root);
+                tree = CompiledCommandNode.compile(root);
+            }
+            return tree;
+        }
+    }
+
+    @Override
+    public boolean execute(CommandSender sender, Command command, String label, ArgumentList args) throws CommandException {
+        String[] input = args.getArgs();
+        Map<String, Object> values = new HashMap<>();
+        CompiledCommandNode node = getTree();
+        int index = 0;
+
+        while (true) {
+            if (!canUse(sender, node)) {
+                throw new CommandPermissionException(node.getPermission());
+            }
+
+            if (index >= input.length) {
+                if (node.getExecutor() == null) throw new CommandUsageException(getUsage(label, node));
+                if (node.getRateLimiter() != null) node.getRateLimiter().acquire(sender);
+                return node.getExecutor().execute(new TreeCommandContext(sender, command, label, args, values));
+            }
+
+            CompiledCommandNode literal = node.getLiteral(input[index]);
+            if (literal != null) {
+                node = literal;
+                index++;
+                continue;
+            }
+
+            CompiledCommandNode next = null;
+            CommandException lastError = null;
+            for (CompiledCommandNode argument : node.getArguments()) {
+                boolean greedy = argument.getType().isGreedy();
+                String raw = greedy ? args.getJoinedString(index) : input[index];
+                try {
+                    values.put(argument.getName(), argument.getType().parse(sender, raw));
+                    next = argument;
+                    index = greedy ? input.length : index + 1;
+                    break;
+                } catch (CommandException e) {
+                    lastError = e;
+                }
+            }
+
+            if (next == null) {
+                if (lastError != null) throw lastError;
+                throw new CommandUsageException(getUsage(label, node));
+            }
+            node = next;
+        }
+    }
+
+    @Override
+    public List<String> tabComplete(CommandSender sender, Command command, ArgumentList args) {
+        String[] input = args.getArgs();
+        if (input.length == 0) return List.of();
+
+        CompiledCommandNode node = getTree();
+        int last = input.length - 1;
+
+        for (int index = 0; index < last; index++) {
+            if (!canUse(sender, node)) return List.of();
+
+            CompiledCommandNode literal = node.getLiteral(input[index]);
+            if (literal != null) {
+                node = literal;
+                continue;
+            }
+
+            CompiledCommandNode next = null;
+            for (CompiledCommandNode argument : node.getArguments()) {
+                if (argument.getType().isGreedy()) {
+                    return canUse(sender, argument) ? argument.getType().suggest(sender, input[last]) : List.of();
+                }
+                try {
+                    argument.getType().parse(sender, input[index]);
+                    next = argument;
+                    break;
+                } catch (CommandException ignored) {
+                    // Try the next argument slot
+                }
+            }
+            if (next == null) return List.of();
+            node = next;
+        }
+
+        if (!canUse(sender, node)) return List.of();
+
+        String current = input[last];
+        List<String> completions = new ArrayList<>();
+        List<String> literalNames = new ArrayList<>();
+        for (CompiledCommandNode literal : node.getLiteralChildren()) {
+            if (canUse(sender, literal)) literalNames.add(literal.getName());
+        }
+        completions.addAll(CommandUtils.getDisplayOptions(literalNames, current));
+
+        for (CompiledCommandNode argument : node.getArguments()) {
+            if (canUse(sender, argument)) completions.addAll(argument.getType().suggest(sender, current));
+        }
+        return completions;
+    }
+
+    /**
+     * Records executions per subcommand, e.g. "points give" for "/points give Steve 5".
+     * Only literal subcommands are part of the key, argument values are not.
+     */
+    @Override
+    protected String getMetricsKey(Command command, ArgumentList args) {
+        String name = super.getMetricsKey(command, args);
+        if (name == null) return null;
+
+        String[] input = args.getArgs();
+        CompiledCommandNode node = getTree();
+        StringBuilder key = new StringBuilder(name);
+
+        for (String arg : input) {
+            CompiledCommandNode literal = node.getLiteral(arg);
+            if (literal == null) break;
+            key.append(' ').append(literal.getName());
+            node = literal;
+        }
+        return key.toString();
+    }
+
+    private static String getUsage(String label, CompiledCommandNode node) {
+        String usage = node.getUsage();
+        return usage.isEmpty() ? "/" + label : "/" + label + " " + usage;
+    }
+
+    private static boolean canUse(CommandSender sender, CompiledCommandNode node) {
+        return node.getPermission() == null || PermissionCache.getInstance().hasPermission(sender, node.getPermission());
+    }
+}
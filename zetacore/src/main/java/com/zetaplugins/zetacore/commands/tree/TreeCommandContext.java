@@ -0,0 +1,52 @@
+package com.zetaplugins.zetacore.commands.tree;
+
+import com.zetaplugins.zetacore.commands.ArgumentList;
+import com.zetaplugins.zetacore.commands.CommandContext;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+
+import java.util.Map;
+
+/**
+ * Context for the execution of a command tree node, containing the parsed values of its argument slots.
+ */
+public class TreeCommandContext extends CommandContext {
+    private final Map<String, Object> values;
+
+    public TreeCommandContext(CommandSender sender, Command command, String label, ArgumentList args, Map<String, Object> values) {
+        super(sender, command, label, args);
+        this.values = values;
+    }
+
+    /**
+     * Get the parsed value of an argument slot.
+     * @param name The name of the argument
+     * @return The parsed value, or null if the argument was not given
+     * @param <V> The type of the value
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V get(String name) {
+        return (V) values.get(name);
+    }
+
+    /**
+     * Get the parsed value of an argument slot, with a default value.
+     * @param name The name of the argument
+     * @param defaultValue The default value to return if the argument was not given
+     * @return The parsed value, or the default value
+     * @param <V> The type of the value
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V getOrDefault(String name, V defaultValue) {
+        return (V) values.getOrDefault(name, defaultValue);
+    }
+
+    /**
+     * Check if an argument slot was given.
+     * @param name The name of the argument
+     * @return True if the argument was given, false otherwise
+     */
+    public boolean has(String name) {
+        return values.containsKey(name);
+    }
+}
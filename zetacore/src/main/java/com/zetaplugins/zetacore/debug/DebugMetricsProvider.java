@@ -0,0 +1,18 @@
+package com.zetaplugins.zetacore.debug;
+
+/**
+ * A source of runtime metrics that can be included in a debug report and shown by the debug command.
+ */
+public interface DebugMetricsProvider {
+    /**
+     * Gets the name of the metrics section, e.g. "Placeholders".
+     * @return the name of the metrics section
+     */
+    String getMetricsName();
+
+    /**
+     * Formats the current metrics as human-readable text.
+     * @return the current metrics as text
+     */
+    String toReadableText();
+}
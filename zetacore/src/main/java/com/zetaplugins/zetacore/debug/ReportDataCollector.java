@@ -27,6 +27,7 @@ public final class ReportDataCollector {
     private final File pluginFile;
     private final Map<String, String> configs;
     private final String modrinthId;
+    private final Collection<DebugMetricsProvider> metricsProviders;
 
     /**
      * Creates a new ReportDataCollector instance.
@@ -36,10 +37,23 @@ public final class ReportDataCollector {
      * @param configs a map of configuration settings, where the key is the configuration file name and the value is the configuration saved as a string
      */
     public ReportDataCollector(String modrinthId, JavaPlugin plugin, File pluginFile, Map<String, String> configs) {
+        this(modrinthId, plugin, pluginFile, configs, List.of());
+    }
+
+    /**
+     * Creates a new ReportDataCollector instance.
+     * @param modrinthId the Modrinth ID of the plugin, used to identify the report
+     * @param plugin the JavaPlugin instance for which the report is being collected
+     * @param pluginFile the file of the plugin, used to generate a hash. Can be obtained using JavaPlugin#getFile(} inside a plugin's main class.
+     * @param configs a map of configuration settings, where the key is the configuration file name and the value is the configuration saved as a string
+     * @param metricsProviders the sources of runtime metrics to include in the report
+     */
+    public ReportDataCollector(String modrinthId, JavaPlugin plugin, File pluginFile, Map<String, String> configs, Collection<DebugMetricsProvider> metricsProviders) {
         this.plugin = plugin;
         this.pluginFile = pluginFile;
         this.configs = configs;
         this.modrinthId = modrinthId;
+        this.metricsProviders = metricsProviders == null ? List.of() : metricsProviders;
     }
 
     /**
@@ -53,6 +67,18 @@ public final class ReportDataCollector {
         return new ReportDataCollector(modrinthId, plugin, pluginFile, configs).collectReport();
     }
 
+    /**
+     * Collects a debug report for the specified plugin, including runtime metrics.
+     * @param plugin the JavaPlugin instance for which the report is being collected
+     * @param pluginFile the file of the plugin, used to generate a hash. Can be obtained using JavaPlugin#getFile(} inside a plugin's main class.
+     * @param configs a map of configuration settings, where the key is the configuration file name and the value is the configuration saved as a string
+     * @param metricsProviders the sources of runtime metrics to include in the report
+     * @return a DebugReport object containing the collected data
+     */
+    public static DebugReport collect(String modrinthId, JavaPlugin plugin, File pluginFile, Map<String, String> configs, Collection<DebugMetricsProvider> metricsProviders) {
+        return new ReportDataCollector(modrinthId, plugin, pluginFile, configs, metricsProviders).collectReport();
+    }
+
     public DebugReport collectReport() {
         long now = System.currentTimeMillis();
 
@@ -72,6 +98,8 @@ public final class ReportDataCollector {
                 .map(p -> new InstalledPlugin(p.getName(), p.getDescription().getVersion(), p.isEnabled()))
                 .collect(Collectors.toSet());
 
+        Map<String, String> metrics = collectMetrics();
+
         return new DebugReport(
                 modrinthId,
                 now,
@@ -85,10 +113,27 @@ public final class ReportDataCollector {
                 osVersion,
                 latestLogs,
                 installedPlugins,
-                configs
+                configs,
+                metrics
         );
     }
 
+    /**
+     * Collects the current metrics of all metrics providers.
+     * @return a map from metrics section name to the metrics as readable text
+     */
+    private Map<String, String> collectMetrics() {
+        Map<String, String> metrics = new LinkedHashMap<>();
+        for (DebugMetricsProvider provider : metricsProviders) {
+            try {
+                metrics.put(provider.getMetricsName(), provider.toReadableText());
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "Failed to collect metrics from " + provider.getClass().getSimpleName(), e);
+            }
+        }
+        return metrics;
+    }
+
     /**
      * Generates a SHA-256 hash of the plugin file.
      * @return the SHA-256 hash of the plugin file, or "UNKNOWN" if the file does not exist
@@ -1,5 +1,6 @@
 package com.zetaplugins.zetacore.debug.command;
 
+import com.zetaplugins.zetacore.debug.DebugMetricsProvider;
 import com.zetaplugins.zetacore.debug.ReportDataCollector;
 import com.zetaplugins.zetacore.debug.ReportFileWriter;
 import com.zetaplugins.zetacore.debug.data.DebugReport;
@@ -16,6 +17,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
@@ -31,6 +33,7 @@ public final class DebugCommandHandler implements CommandExecutor, TabCompleter
     private final String modrinthId;
     private final Map<String, String> configs;
     private final Messenger messenger;
+    private final List<DebugMetricsProvider> metricsProviders;
 
     /**
      * Constructor for DebugCommandHandler.
@@ -65,6 +68,20 @@ public final class DebugCommandHandler implements CommandExecutor, TabCompleter
      * @param messages the messages used in the command
      */
     public DebugCommandHandler(String modrinthId, JavaPlugin plugin, File pluginFile, String permission, Map<String, String> configs, DebugCommandMessages messages, Messenger messenger) {
+        this(modrinthId, plugin, pluginFile, permission, configs, messages, messenger, List.of());
+    }
+
+    /**
+     * Constructor for DebugCommandHandler.
+     * @param modrinthId the Modrinth ID of the plugin, used to identify the report
+     * @param plugin the JavaPlugin instance
+     * @param pluginFile the file of the plugin, used to generate a hash. Can be obtained using JavaPlugin#getFile(} inside a plugin's main class.
+     * @param permission the permission required to execute the command
+     * @param configs a map of configuration settings, where the key is the configuration file name and the value is the configuration saved as a string
+     * @param messages the messages used in the command
+     * @param metricsProviders the sources of runtime metrics shown by the metrics subcommand and included in reports
+     */
+    public DebugCommandHandler(String modrinthId, JavaPlugin plugin, File pluginFile, String permission, Map<String, String> configs, DebugCommandMessages messages, Messenger messenger, List<DebugMetricsProvider> metricsProviders) {
         this.plugin = plugin;
         this.pluginFile = pluginFile;
         this.permission = permission;
@@ -72,6 +89,17 @@ public final class DebugCommandHandler implements CommandExecutor, TabCompleter
         this.modrinthId = modrinthId;
         this.configs = configs;
         this.messenger = messenger;
+        this.metricsProviders = new ArrayList<>(metricsProviders);
+    }
+
+    /**
+     * Adds a source of runtime metrics shown by the metrics subcommand and included in reports.
+     * @param provider the metrics provider to add
+     * @return this DebugCommandHandler instance
+     */
+    public DebugCommandHandler addMetricsProvider(DebugMetricsProvider provider) {
+        metricsProviders.add(provider);
+        return this;
     }
 
     @Override
@@ -102,6 +130,13 @@ public final class DebugCommandHandler implements CommandExecutor, TabCompleter
                 }
                 yield handleGenerate(sender);
             }
+            case "metrics" -> {
+                if (!sender.hasPermission(permission)) {
+                    throwPermissionError(sender);
+                    yield true;
+                }
+                yield handleMetrics(sender);
+            }
             default -> {
                 throwUsageError(sender, messages.usageMessage(), command.getName());
                 yield true;
@@ -142,7 +177,7 @@ public final class DebugCommandHandler implements CommandExecutor, TabCompleter
             return true;
         }
 
-        DebugReport report = ReportDataCollector.collect(modrinthId, plugin, pluginFile, configs);
+        DebugReport report = ReportDataCollector.collect(modrinthId, plugin, pluginFile, configs, metricsProviders);
         String url = ZetaDebugReportUploader.uploadReport(report, plugin);
 
         if (url == null) {
@@ -170,7 +205,7 @@ public final class DebugCommandHandler implements CommandExecutor, TabCompleter
      * @return true if the command was handled successfully, false otherwise
      */
     private boolean handleGenerate(CommandSender sender) {
-        DebugReport report = ReportDataCollector.collect(modrinthId, plugin, pluginFile, configs);
+        DebugReport report = ReportDataCollector.collect(modrinthId, plugin, pluginFile, configs, metricsProviders);
         File reportJson = new File("debug-report.json");
         File reportTxt = new File("debug-report.txt");
 
@@ -196,10 +231,32 @@ public final class DebugCommandHandler implements CommandExecutor, TabCompleter
         return true;
     }
 
+    /**
+     * Handles the metrics command.
+     * @param sender the CommandSender who executed the command
+     * @return true if the command was handled successfully, false otherwise
+     */
+    private boolean handleMetrics(CommandSender sender) {
+        if (metricsProviders.isEmpty()) {
+            messenger.sendRaw(sender, messages.noMetricsMessage());
+            return true;
+        }
+
+        for (DebugMetricsProvider provider : metricsProviders) {
+            messenger.sendRaw(
+                    sender,
+                    messages.metricsMessage(),
+                    new Replaceable<>("%name%", provider.getMetricsName()),
+                    new Replaceable<>("%metrics%", provider.toReadableText())
+            );
+        }
+        return true;
+    }
+
     @Override
     public @Nullable List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String alias, String[] args) {
         if (args.length == 1) {
-            return List.of("upload", "generate");
+            return List.of("upload", "generate", "metrics");
         }
         return null;
     }
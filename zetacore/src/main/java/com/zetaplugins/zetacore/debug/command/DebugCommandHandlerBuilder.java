@@ -1,10 +1,14 @@
 package com.zetaplugins.zetacore.debug.command;
 
 import com.zetaplugins.zetacore.ZetaCorePlugin;
+import com.zetaplugins.zetacore.commands.CommandMetrics;
+import com.zetaplugins.zetacore.debug.DebugMetricsProvider;
 import com.zetaplugins.zetacore.services.messages.Messenger;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 public final class DebugCommandHandlerBuilder {
@@ -15,6 +19,7 @@ public final class DebugCommandHandlerBuilder {
     private String modrinthId;
     private Map<String, String> configs;
     private Messenger messenger;
+    private final List<DebugMetricsProvider> metricsProviders = new ArrayList<>(List.of(CommandMetrics.getInstance()));
 
     public DebugCommandHandlerBuilder setPlugin(JavaPlugin plugin) {
         if (plugin instanceof ZetaCorePlugin) this.pluginFile = ((ZetaCorePlugin) plugin).getPluginFile();
@@ -52,6 +57,11 @@ public final class DebugCommandHandlerBuilder {
         return this;
     }
 
+    public DebugCommandHandlerBuilder addMetricsProvider(DebugMetricsProvider metricsProvider) {
+        if (!this.metricsProviders.contains(metricsProvider)) this.metricsProviders.add(metricsProvider);
+        return this;
+    }
+
     public DebugCommandHandler build() {
         if (plugin == null) {
             throw new IllegalStateException("Plugin must be set");
@@ -65,6 +75,6 @@ public final class DebugCommandHandlerBuilder {
         if (messenger == null) {
             throw new IllegalStateException("Messagenger must be set");
         }
-        return new DebugCommandHandler(modrinthId, plugin, pluginFile, permission, configs, messages, messenger);
+        return new DebugCommandHandler(modrinthId, plugin, pluginFile, permission, configs, messages, messenger, metricsProviders);
     }
 }
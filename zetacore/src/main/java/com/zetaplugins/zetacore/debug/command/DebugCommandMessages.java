@@ -5,13 +5,15 @@ package com.zetaplugins.zetacore.debug.command;
  * It allows customization of the messages displayed to the user.
  */
 public class DebugCommandMessages {
-    private String usageMessage = "&cUsage: /%command% <upload | generate>";
+    private String usageMessage = "&cUsage: /%command% <upload | generate | metrics>";
     private String noPermissionMessage = "&cYou do not have permission to use this command!";
     private String fileCreateSuccessMessage = "&8 [&a✔&8] &7Saved debug data to the following files:\n<click:COPY_TO_CLIPBOARD:%jsonPath%><#8b73f6>%jsonPath%</click>\n<click:COPY_TO_CLIPBOARD:%txtPath%><#8b73f6>%txtPath%</click>";
     private String failedToCreateFileMessage = "&cFailed to create debug report file: %error%";
     private String uploadConfirmMessage = "\n <#8b73f6>&lUploading Debug Report&r\n\n&7 Are you sure you want to upload the debug report? By confirming, you accept our <u><click:OPEN_URL:https://debug.zetaplugins.com/privacy>Privacy Policy</click></u>.\n\n <#8b73f6><click:RUN_COMMAND:%command%>[Click Here]</click> &r&8or run <u>%command%</u>\n";
     private String failToUploadMessage = "&cFailed to upload debug report: %error%";
     private String uploadSuccessMessage = "&8 [&a✔&8] &7Debug report uploaded successfully! You can view it here:\n <u><#8b73f6><click:OPEN_URL:%url%>%url%</click></u>\n";
+    private String metricsMessage = "\n <#8b73f6>&l%name%&r\n&7%metrics%";
+    private String noMetricsMessage = "&cNo metrics are available.";
 
     public String noPermissionMessage() {
         return noPermissionMessage;
@@ -75,4 +77,22 @@ public class DebugCommandMessages {
         this.uploadSuccessMessage = uploadSuccessMessage;
         return this;
     }
+
+    public String metricsMessage() {
+        return metricsMessage;
+    }
+
+    public DebugCommandMessages setMetricsMessage(String metricsMessage) {
+        this.metricsMessage = metricsMessage;
+        return this;
+    }
+
+    public String noMetricsMessage() {
+        return noMetricsMessage;
+    }
+
+    public DebugCommandMessages setNoMetricsMessage(String noMetricsMessage) {
+        this.noMetricsMessage = noMetricsMessage;
+        return this;
+    }
 }
@@ -21,6 +21,7 @@ import java.util.stream.Collectors;
  * @param latestLogs the latest log file from the server
  * @param installedPlugins a set of installed plugins, each represented by an {@link InstalledPlugin} object
  * @param configurations a map of configuration settings, where the key is the configuration file name and the value is the configuration as a string
+ * @param metrics a map of runtime metrics, where the key is the name of the metrics section and the value is the metrics as readable text
  */
 public record DebugReport(
         String modrinthId,
@@ -35,8 +36,31 @@ public record DebugReport(
         String osVersion,
         String latestLogs,
         Set<InstalledPlugin> installedPlugins,
-        Map<String, String> configurations
+        Map<String, String> configurations,
+        Map<String, String> metrics
 ) implements JsonSeriaizable {
+    /**
+     * Creates a debug report without runtime metrics.
+     */
+    public DebugReport(
+            String modrinthId,
+            long timestamp,
+            String pluginName,
+            String pluginVersion,
+            String pluginHash,
+            String minecraftVersion,
+            String javaVersion,
+            String serverSoftware,
+            String osName,
+            String osVersion,
+            String latestLogs,
+            Set<InstalledPlugin> installedPlugins,
+            Map<String, String> configurations
+    ) {
+        this(modrinthId, timestamp, pluginName, pluginVersion, pluginHash, minecraftVersion, javaVersion, serverSoftware,
+                osName, osVersion, latestLogs, installedPlugins, configurations, Map.of());
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public JSONObject toJson() {
@@ -63,6 +87,10 @@ public record DebugReport(
         if (configurations != null) configJson.putAll(configurations);
         json.put("configurations", configJson);
 
+        JSONObject metricsJson = new JSONObject();
+        if (metrics != null) metricsJson.putAll(metrics);
+        json.put("metrics", metricsJson);
+
         return json;
     }
 
@@ -103,6 +131,14 @@ public record DebugReport(
         }
         res.append("\n");
 
+        if (metrics != null && !metrics.isEmpty()) {
+            res.append("-- Metrics --").append("\n");
+            for (Map.Entry<String, String> entry : metrics.entrySet()) {
+                res.append(entry.getKey()).append(": ").append("\n---\n").append(entry.getValue()).append("\n---").append("\n");
+            }
+            res.append("\n");
+        }
+
         res.append("-- Latest Logs --").append("\n");
         res.append(latestLogs).append("\n\n");
 
@@ -126,6 +162,7 @@ public record DebugReport(
                 ", latestLogs='" + latestLogs + '\'' +
                 ", installedPlugins=[" + installedPlugins.stream().map(InstalledPlugin::toString).collect(Collectors.joining(", ")) + "]" +
                 ", configurations=" + configurations +
+                ", metrics=" + metrics +
                 '}';
     }
 }
\ No newline at end of file
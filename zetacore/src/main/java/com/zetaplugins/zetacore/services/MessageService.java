@@ -1,6 +1,7 @@
 package com.zetaplugins.zetacore.services;
 
 import com.zetaplugins.zetacore.services.localization.LocalizationService;
+import com.zetaplugins.zetacore.services.messages.PlaceholderReplacer;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.jetbrains.annotations.NotNull;
@@ -17,6 +18,8 @@ import java.util.Map;
 public class MessageService {
     private final LocalizationService localizationService;
     private final Map<String, String> colorMap;
+    private final PlaceholderReplacer colorReplacer;
+    private volatile PlaceholderReplacer accentReplacer;
 
     /**
      * Constructor for MessageService
@@ -48,6 +51,7 @@ public class MessageService {
         colorMap.put("&n", "<underlined>");
         colorMap.put("&o", "<italic>");
         colorMap.put("&r", "<reset>");
+        colorReplacer = new PlaceholderReplacer(colorMap);
     }
 
     /**
@@ -133,17 +137,7 @@ public class MessageService {
      */
     @NotNull
     public String replacePlaceholders(String msg, Replaceable<?>... replaceables) {
-        StringBuilder msgBuilder = new StringBuilder(msg);
-
-        for (Replaceable<?> replaceable : replaceables) {
-            String placeholder = replaceable.placeholder();
-            String value = String.valueOf(replaceable.value());
-            replaceInBuilder(msgBuilder, placeholder, value);
-        }
-
-        colorMap.forEach((key, value) -> replaceInBuilder(msgBuilder, key, value));
-
-        return msgBuilder.toString();
+        return replace(colorReplacer, msg, replaceables);
     }
 
     /**
@@ -154,10 +148,23 @@ public class MessageService {
      */
     @NotNull
     public String replacePlaceholdersWithAccentColors(String msg, Replaceable<?>... replaceables) {
-        String replacedMsg = replacePlaceholders(msg, replaceables);
-        StringBuilder msgBuilder = new StringBuilder(replacedMsg);
-        replaceInBuilder(msgBuilder, "%ac%", getAccentColor());
-        return msgBuilder.toString();
+        String accentColor = getAccentColor();
+        PlaceholderReplacer current = accentReplacer;
+        if (current == null || !accentColor.equals(current.getReplacements().get("%ac%"))) {
+            current = colorReplacer.with("%ac%", accentColor);
+            accentReplacer = current;
+        }
+        return replace(current, msg, replaceables);
+    }
+
+    private static String replace(PlaceholderReplacer replacer, String msg, Replaceable<?>[] replaceables) {
+        String[] placeholders = new String[replaceables.length];
+        String[] values = new String[replaceables.length];
+        for (int i = 0; i < replaceables.length; i++) {
+            placeholders[i] = replaceables[i].placeholder();
+            values[i] = String.valueOf(replaceables[i].value());
+        }
+        return replacer.replace(msg, placeholders, values);
     }
 
     /**
@@ -0,0 +1,112 @@
+package com.zetaplugins.zetacore.services.commands;
+
+import com.destroystokyo.paper.event.server.AsyncTabCompleteEvent;
+import com.zetaplugins.zetacore.commands.AsyncTabCompleter;
+import com.zetaplugins.zetacore.util.ThrottledLogger;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandMap;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Completes commands registered with async tab completion off the main thread using Paper's {@link AsyncTabCompleteEvent}.
+ * This class must only be loaded if {@link #isSupported()} returns true.
+ */
+final class AsyncTabCompleteListener implements Listener {
+    private static final String EVENT_CLASS = "com.destroystokyo.paper.event.server.AsyncTabCompleteEvent";
+
+    private final JavaPlugin plugin;
+    private final Map<String, Registration> commands = new ConcurrentHashMap<>();
+
+    private record Registration(Command command, TabCompleter tabCompleter) {}
+
+    AsyncTabCompleteListener(JavaPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Checks if the server supports asynchronous tab completion (Paper)
+     * @return True if the AsyncTabCompleteEvent is available, false otherwise
+     */
+    static boolean isSupported() {
+        try {
+            Class.forName(EVENT_CLASS);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Registers a command for async tab completion under its name, its aliases and their namespaced variants.
+     * Labels that the command map resolves to another command (e.g. an alias taken by another plugin) are skipped.
+     * @param command The registered command
+     * @param namespace The namespace of the command
+     * @param commandMap The command map the command is registered to, or null to register all labels
+     * @param tabCompleter The tab completer of the command
+     */
+    void register(Command command, String namespace, CommandMap commandMap, TabCompleter tabCompleter) {
+        Registration registration = new Registration(command, tabCompleter);
+        put(command.getName(), namespace, commandMap, registration);
+        if (command.getAliases() != null) {
+            for (String alias : command.getAliases()) put(alias, namespace, commandMap, registration);
+        }
+    }
+
+    private void put(String label, String namespace, CommandMap commandMap, Registration registration) {
+        String lower = label.toLowerCase(Locale.ROOT);
+        String namespaced = namespace.toLowerCase(Locale.ROOT) + ":" + lower;
+        if (isBoundTo(commandMap, lower, registration.command())) commands.put(lower, registration);
+        if (isBoundTo(commandMap, namespaced, registration.command())) commands.put(namespaced, registration);
+    }
+
+    private static boolean isBoundTo(CommandMap commandMap, String label, Command command) {
+        return commandMap == null || commandMap.getCommand(label) == command;
+    }
+
+    @EventHandler
+    public void onAsyncTabComplete(AsyncTabCompleteEvent event) {
+        if (event.isHandled() || !event.isCommand()) return;
+
+        String buffer = event.getBuffer();
+        int start = buffer.startsWith("/") ? 1 : 0;
+        int space = buffer.indexOf(' ', start);
+        if (space == -1) return; // Still completing the command name itself
+
+        String label = buffer.substring(start, space);
+        Registration registration = commands.get(label.toLowerCase(Locale.ROOT));
+        if (registration == null) return;
+
+        CommandSender sender = event.getSender();
+        Command command = registration.command();
+        if (!command.testPermissionSilent(sender)) return;
+
+        String[] args = buffer.substring(space + 1).split(" ", -1);
+        try {
+            List<String> completions = registration.tabCompleter() instanceof AsyncTabCompleter asyncCompleter
+                    ? asyncCompleter.onTabCompleteAsync(sender, command, label, args)
+                    : registration.tabCompleter().onTabComplete(sender, command, label, args);
+            if (completions == null) return;
+
+            event.setCompletions(completions);
+            event.setHandled(true);
+        } catch (RuntimeException e) {
+            // Leave the event unhandled, so the server falls back to the synchronous completion
+            ThrottledLogger.of(plugin.getLogger()).log(
+                    Level.WARNING,
+                    "tabcomplete:" + command.getName(),
+                    "Failed to asynchronously tab complete command: " + command.getName(),
+                    e
+            );
+        }
+    }
+}
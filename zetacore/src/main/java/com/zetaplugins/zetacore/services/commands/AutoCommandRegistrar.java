@@ -2,7 +2,16 @@ package com.zetaplugins.zetacore.services.commands;
 
 import com.zetaplugins.zetacore.annotations.AutoRegisterCommand;
 import com.zetaplugins.zetacore.annotations.AutoRegisterTabCompleter;
+import com.zetaplugins.zetacore.commands.PermissionCache;
+import com.zetaplugins.zetacore.commands.PluginCommand;
+import com.zetaplugins.zetacore.commands.RateLimiter;
+import com.zetaplugins.zetacore.commands.tree.MethodCommand;
+import com.zetaplugins.zetacore.commands.tree.TreeCommand;
 import com.zetaplugins.zetacore.services.di.ManagerRegistry;
+import com.zetaplugins.zetacore.services.players.PlayerNameIndex;
+import com.zetaplugins.zetacore.services.players.PlayerResolver;
+import com.zetaplugins.zetacore.util.AsyncExecutor;
+import com.zetaplugins.zetacore.util.ThrottledLogger;
 import org.bukkit.Bukkit;
 import org.bukkit.command.*;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -11,6 +20,7 @@ import org.reflections.Reflections;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.*;
 import java.util.function.Predicate;
 import java.util.logging.Level;
@@ -25,6 +35,17 @@ public class AutoCommandRegistrar implements CommandRegistrar {
     private final String packagePrefix;
     private final String commandNamespace;
     private final ManagerRegistry managerRegistry;
+    private AsyncTabCompleteListener asyncTabCompleteListener;
+    private CommandMap commandMap;
+    private boolean commandMapResolved = false;
+
+    /**
+     * A command that is registered to the command map at the end of a batch
+     * @param registerableCommand The command definition
+     * @param command The created command
+     * @param tabCompleter The tab completer of the command
+     */
+    private record PendingCommand(RegisterableCommand registerableCommand, Command command, TabCompleter tabCompleter) {}
 
     /**
      * @param plugin The JavaPlugin instance.
@@ -57,17 +78,35 @@ public class AutoCommandRegistrar implements CommandRegistrar {
     }
 
     /**
-     * Gets the command map
+     * Gets the command map. It is resolved reflectively once and cached afterward.
      * @return The command map
      */
     private CommandMap getCommandMap() {
+        if (commandMapResolved) return commandMap;
+        commandMapResolved = true;
+
         try {
             Field field = Bukkit.getServer().getClass().getDeclaredField("commandMap");
             field.setAccessible(true);
-            return (CommandMap) field.get(Bukkit.getServer());
+            commandMap = (CommandMap) field.get(Bukkit.getServer());
         } catch (Exception e) {
             plugin.getLogger().severe("Failed to get command map: " + e.getMessage());
-            return null;
+        }
+        return commandMap;
+    }
+
+    /**
+     * Sends the updated command tree to the players if commands were registered after the server started (e.g. on reload).
+     * The server syncs the commands itself after enabling the plugins on startup, so nothing has to be done then.
+     */
+    private void syncCommands() {
+        if (Bukkit.getCurrentTick() <= 0) return;
+
+        try {
+            Method syncMethod = Bukkit.getServer().getClass().getMethod("syncCommands");
+            syncMethod.invoke(Bukkit.getServer());
+        } catch (ReflectiveOperationException e) {
+            plugin.getLogger().fine("Could not sync commands: " + e.getMessage());
         }
     }
 
@@ -87,6 +126,12 @@ public class AutoCommandRegistrar implements CommandRegistrar {
     public List<String> registerAllCommands(Predicate<String> commandNameFilter) {
         Reflections reflections = new Reflections(packagePrefix);
         List<String> registeredCommands = new ArrayList<>();
+        PlayerNameIndex.install(plugin);
+        PlayerResolver.install(plugin);
+        RateLimiter.install(plugin);
+        PermissionCache.install(plugin);
+        ThrottledLogger.install(plugin);
+        AsyncExecutor.install(plugin);
 
         Map<String, TabCompleter> tabCompleters = new HashMap<>();
         Set<Class<?>> tabCompleterClasses = reflections.getTypesAnnotatedWith(AutoRegisterTabCompleter.class);
@@ -138,14 +183,17 @@ public class AutoCommandRegistrar implements CommandRegistrar {
         }
 
         Set<Class<?>> commandClasses = reflections.getTypesAnnotatedWith(AutoRegisterCommand.class);
+        List<PendingCommand> pendingCommands = new ArrayList<>();
 
         for (Class<?> clazz : commandClasses) {
-            if (CommandExecutor.class.isAssignableFrom(clazz)) {
-                List<String> names = registerCommand(clazz, tabCompleters, commandNameFilter);
+            if (CommandExecutor.class.isAssignableFrom(clazz) || MethodCommand.hasSubcommands(clazz)) {
+                List<String> names = registerCommand(clazz, tabCompleters, commandNameFilter, pendingCommands);
                 if (names != null && !names.isEmpty()) registeredCommands.addAll(names);
             }
         }
 
+        registeredCommands.addAll(registerPendingCommands(pendingCommands));
+
         registeredCommands.sort(String::compareTo);
         return registeredCommands;
     }
@@ -176,9 +224,15 @@ public class AutoCommandRegistrar implements CommandRegistrar {
      * @param commandClass The command class to register.
      * @param tabCompleters A map of command names to their corresponding tab completers.
      * @param commandNameFilter A predicate to filter which command names to register.
-     * @return The list of display names for the registered commands, or an empty list if none registered.
+     * @param pendingCommands The list to add commands to that have to be registered to the command map.
+     * @return The list of display names for the commands defined in the plugin.yml, or an empty list if none registered.
      */
-    private List<String> registerCommand(Class<?> commandClass, Map<String, TabCompleter> tabCompleters, Predicate<String> commandNameFilter) {
+    private List<String> registerCommand(
+            Class<?> commandClass,
+            Map<String, TabCompleter> tabCompleters,
+            Predicate<String> commandNameFilter,
+            List<PendingCommand> pendingCommands
+    ) {
         List<String> result = new ArrayList<>();
 
         try {
@@ -215,21 +269,27 @@ public class AutoCommandRegistrar implements CommandRegistrar {
 
             if (commandsToRegister.isEmpty()) return result;
 
-            CommandExecutor executor;
+            Object instance;
             try {
                 Constructor<?> constructor = commandClass.getConstructor(plugin.getClass());
-                executor = (CommandExecutor) constructor.newInstance(plugin);
+                instance = constructor.newInstance(plugin);
             } catch (NoSuchMethodException e) {
                 try {
                     Constructor<?> constructor = commandClass.getConstructor();
-                    executor = (CommandExecutor) constructor.newInstance();
+                    instance = constructor.newInstance();
                 } catch (NoSuchMethodException ex) {
                     plugin.getLogger().severe("No suitable constructor found for command class: " + commandClass.getSimpleName());
                     return null;
                 }
             }
 
-            injectManagers(executor);
+            injectManagers(instance);
+            CommandExecutor executor = instance instanceof CommandExecutor commandExecutor
+                    ? commandExecutor
+                    : new MethodCommand<>(plugin, instance);
+            if (executor instanceof TreeCommand<?> treeCommand) treeCommand.compileTree();
+            if (annotation.async()) enableAsyncExecution(commandClass, executor);
+            if (annotation.cooldown() > 0) enableRateLimit(commandClass, executor, annotation);
 
             for (var registerableCommand : commandsToRegister) {
                 TabCompleter tabCompleter =
@@ -237,15 +297,20 @@ public class AutoCommandRegistrar implements CommandRegistrar {
                                 ? (TabCompleter) executor
                                 : (tabCompleters.getOrDefault(registerableCommand.name(), null));
 
-                boolean success = registerableCommand.register(
-                        plugin,
-                        commandNamespace,
-                        getCommandMap(),
-                        executor,
-                        tabCompleter
-                );
+                if (registerableCommand.registerToPluginCommand(plugin, executor, tabCompleter)) {
+                    result.add(registerableCommand.name());
+                    if (registerableCommand.asyncTabComplete() && tabCompleter != null) {
+                        registerAsyncTabCompletion(registerableCommand.name(), null, tabCompleter);
+                    }
+                    continue;
+                }
 
-                if (success) result.add(registerableCommand.name());
+                try {
+                    Command command = registerableCommand.createCommand(plugin, executor, tabCompleter);
+                    pendingCommands.add(new PendingCommand(registerableCommand, command, tabCompleter));
+                } catch (Exception e) {
+                    plugin.getLogger().severe("Exception while registering command: " + registerableCommand.name());
+                }
             }
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to register command: " + commandClass.getSimpleName(), e);
@@ -253,6 +318,96 @@ public class AutoCommandRegistrar implements CommandRegistrar {
         return result;
     }
 
+    /**
+     * Registers all pending commands to the command map in one batch and syncs the commands once afterward.
+     * @param pendingCommands The commands to register
+     * @return The names of the registered commands
+     */
+    private List<String> registerPendingCommands(List<PendingCommand> pendingCommands) {
+        List<String> result = new ArrayList<>();
+        if (pendingCommands.isEmpty()) return result;
+
+        CommandMap commandMap = getCommandMap();
+        if (commandMap == null) {
+            for (PendingCommand pending : pendingCommands) {
+                plugin.getLogger().severe("CommandMap is null, cannot register command: " + pending.registerableCommand().name());
+            }
+            return result;
+        }
+
+        for (PendingCommand pending : pendingCommands) {
+            RegisterableCommand registerableCommand = pending.registerableCommand();
+            if (!registerableCommand.register(plugin, commandNamespace, commandMap, pending.command())) continue;
+
+            result.add(registerableCommand.name());
+            if (registerableCommand.asyncTabComplete() && pending.tabCompleter() != null) {
+                registerAsyncTabCompletion(registerableCommand.name(), commandMap, pending.tabCompleter());
+            }
+        }
+
+        syncCommands();
+        return result;
+    }
+
+    /**
+     * Enables async execution for a command annotated with {@code @AutoRegisterCommand(async = true)}.
+     * @param commandClass The command class
+     * @param executor The command executor
+     */
+    private void enableAsyncExecution(Class<?> commandClass, CommandExecutor executor) {
+        if (executor instanceof PluginCommand<?> pluginCommand) {
+            pluginCommand.setAsyncExecution(true);
+        } else {
+            plugin.getLogger().warning("Async execution is only supported for PluginCommands, executing "
+                    + commandClass.getSimpleName() + " on the main thread");
+        }
+    }
+
+    /**
+     * Sets the rate limiter for a command annotated with a {@code cooldown}.
+     * @param commandClass The command class
+     * @param executor The command executor
+     * @param annotation The annotation of the command
+     */
+    private void enableRateLimit(Class<?> commandClass, CommandExecutor executor, AutoRegisterCommand annotation) {
+        if (!(executor instanceof PluginCommand<?> pluginCommand)) {
+            plugin.getLogger().warning("Cooldowns are only supported for PluginCommands, ignoring the cooldown of " + commandClass.getSimpleName());
+            return;
+        }
+
+        RateLimiter rateLimiter = new RateLimiter(annotation.cooldownUses(), Duration.ofMillis(annotation.cooldown()));
+        String bypassPermission = annotation.cooldownBypassPermission();
+        if (!bypassPermission.equals("__UNSET__")) rateLimiter.setBypassPermission(bypassPermission);
+
+        pluginCommand.setRateLimiter(rateLimiter);
+    }
+
+    /**
+     * Registers a command for asynchronous tab completion if the server supports it (Paper).
+     * Otherwise, the command keeps using the synchronous tab completion.
+     * @param name The name of the command
+     * @param commandMap The command map the command was registered to, or null to look it up
+     * @param tabCompleter The tab completer of the command
+     */
+    private void registerAsyncTabCompletion(String name, CommandMap commandMap, TabCompleter tabCompleter) {
+        if (asyncTabCompleteListener == null) {
+            if (!AsyncTabCompleteListener.isSupported()) return;
+            asyncTabCompleteListener = new AsyncTabCompleteListener(plugin);
+            plugin.getServer().getPluginManager().registerEvents(asyncTabCompleteListener, plugin);
+        }
+
+        if (commandMap == null) commandMap = getCommandMap();
+
+        Command command = plugin.getCommand(name);
+        if (command == null && commandMap != null) command = commandMap.getCommand(commandNamespace + ":" + name);
+        if (command == null) {
+            plugin.getLogger().warning("Cannot enable async tab completion for unknown command: " + name);
+            return;
+        }
+
+        asyncTabCompleteListener.register(command, commandNamespace, commandMap, tabCompleter);
+    }
+
     /**
      * Manually registers a command defined in the plugin.yml
      * @param name The name of the command
@@ -260,7 +415,7 @@ public class AutoCommandRegistrar implements CommandRegistrar {
      * @param tabCompleter The tab completer of the command
      */
     public void registerCommand(String name, CommandExecutor executor, TabCompleter tabCompleter) {
-        PluginCommand command = plugin.getCommand(name);
+        var command = plugin.getCommand(name);
 
         if (executor == null) {
             plugin.getLogger().warning("Cannot register command '" + name + "' with null executor.");
@@ -273,6 +428,13 @@ public class AutoCommandRegistrar implements CommandRegistrar {
         }
 
         injectManagers(executor);
+        if (executor instanceof TreeCommand<?> treeCommand) treeCommand.compileTree();
+        PlayerNameIndex.install(plugin);
+        PlayerResolver.install(plugin);
+        RateLimiter.install(plugin);
+        PermissionCache.install(plugin);
+        ThrottledLogger.install(plugin);
+        AsyncExecutor.install(plugin);
 
         command.setExecutor(executor);
         if (tabCompleter != null) {
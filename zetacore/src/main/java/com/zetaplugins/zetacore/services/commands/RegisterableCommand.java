@@ -1,6 +1,9 @@
 package com.zetaplugins.zetacore.services.commands;
 
 import com.zetaplugins.zetacore.annotations.AutoRegisterCommand;
+import com.zetaplugins.zetacore.commands.CommandMetrics;
+import com.zetaplugins.zetacore.commands.PermissionCache;
+import com.zetaplugins.zetacore.commands.PluginCommand;
 import com.zetaplugins.zetacore.services.di.ManagerRegistry;
 import org.bukkit.command.*;
 import org.bukkit.command.defaults.BukkitCommand;
@@ -18,27 +21,64 @@ import java.util.List;
  * @param description The description of the command
  * @param usage The usage of the command
  * @param permission The permission of the command
+ * @param asyncTabComplete Whether tab completion should run asynchronously on Paper servers
  */
 public record RegisterableCommand(
         String name,
         List<String> aliases,
         String description,
         String usage,
-        String permission
+        String permission,
+        boolean asyncTabComplete
 ) {
     private final static String UNSET = "__UNSET__";
 
-    private @NotNull Command getCommand(CommandExecutor executor, TabCompleter tabCompleter) {
+    public RegisterableCommand(String name, List<String> aliases, String description, String usage, String permission) {
+        this(name, aliases, description, usage, permission, false);
+    }
+
+    private @NotNull Command getCommand(JavaPlugin plugin, CommandExecutor executor, TabCompleter tabCompleter) {
         return new BukkitCommand(name) {
             @Override
             public boolean execute(@NotNull CommandSender commandSender, @NotNull String commandLabel, @NotNull String @NotNull [] args) {
-                return executor.onCommand(commandSender, this, commandLabel, args);
+                if (!testPermission(commandSender)) return true;
+
+                // PluginCommands record their own metrics per subcommand
+                if (executor instanceof PluginCommand<?>) {
+                    return executor.onCommand(commandSender, this, commandLabel, args);
+                }
+
+                long start = System.nanoTime();
+                try {
+                    return executor.onCommand(commandSender, this, commandLabel, args);
+                } catch (RuntimeException e) {
+                    CommandMetrics.getInstance().recordFailure(name, e);
+                    throw e;
+                } finally {
+                    CommandMetrics.getInstance().recordExecution(name, System.nanoTime() - start, plugin.getLogger());
+                }
+            }
+
+            @Override
+            public boolean testPermissionSilent(@NotNull CommandSender target) {
+                // Also used by the server to filter the commands sent to players and their tab completions
+                return PermissionCache.getInstance().hasAnyPermission(target, getPermission());
             }
 
             @Override
             public @NotNull List<String> tabComplete(@NotNull CommandSender sender, @NotNull String alias, String[] args) throws IllegalArgumentException {
-                List<String> completions = tabCompleter.onTabComplete(sender, this, alias, args);
-                return completions == null ? List.of() : completions;
+                if (tabCompleter instanceof PluginCommand<?>) {
+                    List<String> completions = tabCompleter.onTabComplete(sender, this, alias, args);
+                    return completions == null ? List.of() : completions;
+                }
+
+                long start = System.nanoTime();
+                try {
+                    List<String> completions = tabCompleter.onTabComplete(sender, this, alias, args);
+                    return completions == null ? List.of() : completions;
+                } finally {
+                    CommandMetrics.getInstance().recordTabComplete(name, System.nanoTime() - start);
+                }
             }
         };
     }
@@ -67,28 +107,67 @@ public record RegisterableCommand(
             CommandExecutor executor,
             TabCompleter tabCompleter
     ) {
-        PluginCommand command = plugin.getCommand(name);
-
-        if (command != null) {
-            command.setExecutor(executor);
-            if (tabCompleter != null) command.setTabCompleter(tabCompleter);
-            setPluginCommandAttributes(command);
-            return true;
-        }
+        if (registerToPluginCommand(plugin, executor, tabCompleter)) return true;
 
         if (commandMap == null) {
             plugin.getLogger().severe("CommandMap is null, cannot register command: " + name);
             return false;
         }
 
+        Command command;
         try {
-            Command newCommand = getCommand(executor, tabCompleter);
-            setPluginCommandAttributes(newCommand);
+            command = createCommand(plugin, executor, tabCompleter);
+        } catch (Exception e) {
+            plugin.getLogger().severe("Exception while registering command: " + name);
+            return false;
+        }
+        return register(plugin, commandNamespace, commandMap, command);
+    }
+
+    /**
+     * Sets the executor of the command if it is defined in the plugin.yml
+     * @param plugin The plugin instance
+     * @param executor The command executor
+     * @param tabCompleter The tab completer
+     * @return True if the command is defined in the plugin.yml, false if it has to be registered to the command map
+     */
+    public boolean registerToPluginCommand(JavaPlugin plugin, CommandExecutor executor, TabCompleter tabCompleter) {
+        var command = plugin.getCommand(name);
+        if (command == null) return false;
+
+        command.setExecutor(executor);
+        if (tabCompleter != null) command.setTabCompleter(tabCompleter);
+        setPluginCommandAttributes(command);
+        return true;
+    }
+
+    /**
+     * Creates the command to register to the command map
+     * @param plugin The plugin instance
+     * @param executor The command executor
+     * @param tabCompleter The tab completer
+     * @return The command with its aliases, description, usage and permission set
+     */
+    public Command createCommand(JavaPlugin plugin, CommandExecutor executor, TabCompleter tabCompleter) {
+        Command command = getCommand(plugin, executor, tabCompleter);
+        setPluginCommandAttributes(command);
+        return command;
+    }
 
+    /**
+     * Registers a command created with {@link #createCommand} to the command map
+     * @param plugin The plugin instance
+     * @param commandNamespace The command namespace
+     * @param commandMap The command map
+     * @param command The command to register
+     * @return True if the command was registered successfully, false otherwise
+     */
+    public boolean register(JavaPlugin plugin, String commandNamespace, CommandMap commandMap, Command command) {
+        try {
             boolean sucess = commandMap.register(
                     name,
                     commandNamespace,
-                    newCommand
+                    command
             );
 
             if (!sucess) {
@@ -117,6 +196,7 @@ public record RegisterableCommand(
         String description;
         String usage;
         String permission;
+        boolean asyncTabComplete;
 
         try {
             Method aliasesMethod = annotation.annotationType().getMethod("aliases");
@@ -146,12 +226,20 @@ public record RegisterableCommand(
             permission = null;
         }
 
+        try {
+            Method asyncTabCompleteMethod = annotation.annotationType().getMethod("asyncTabComplete");
+            asyncTabComplete = (boolean) asyncTabCompleteMethod.invoke(annotation);
+        } catch (Exception e) {
+            asyncTabComplete = false;
+        }
+
         return new RegisterableCommand(
                 name,
                 Arrays.asList(aliases),
                 description,
                 usage,
-                permission
+                permission,
+                asyncTabComplete
         );
     }
 }
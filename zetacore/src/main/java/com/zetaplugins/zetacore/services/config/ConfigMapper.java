@@ -3,6 +3,7 @@ package com.zetaplugins.zetacore.services.config;
 import com.zetaplugins.zetacore.annotations.ConfigAttribute;
 import com.zetaplugins.zetacore.annotations.PluginConfig;
 import com.zetaplugins.zetacore.annotations.NestedConfig;
+import com.zetaplugins.zetacore.util.EnumLookup;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 
@@ -104,9 +105,7 @@ public class ConfigMapper {
             if (fieldType.isEnum()) {
                 String enumName = section.getString(fieldName);
                 if (enumName == null) continue;
-                String upperEnumName = enumName.toUpperCase();
-                Object enumValue = Enum.valueOf((Class<Enum>) fieldType, upperEnumName);
-                field.set(instance, enumValue);
+                field.set(instance, getEnumConstant((Class<Enum>) fieldType, enumName, fieldName));
                 continue;
             }
 
@@ -204,9 +203,7 @@ public class ConfigMapper {
                     }
                 } else if (listClass.isEnum()) {
                     if (item instanceof String enumName) {
-                        String upperEnumName = enumName.toUpperCase();
-                        Object enumValue = Enum.valueOf((Class<Enum>) listClass, upperEnumName);
-                        mappedList.add(enumValue);
+                        mappedList.add(getEnumConstant((Class<Enum>) listClass, enumName, fieldName));
                     } else {
                         throw new ConfigMappingException(
                                 "Cannot map list item for field '" + fieldName + "': expected enum name as String but got "
@@ -320,6 +317,8 @@ public class ConfigMapper {
             return String.valueOf(rawKey);
         } else if (keyClass.isAssignableFrom(rawKey.getClass())) {
             return rawKey;
+        } else if (keyClass.isEnum()) {
+            return getEnumConstant((Class<Enum>) keyClass, String.valueOf(rawKey), fieldName);
         } else {
             // try basic conversions for common key types (e.g., Integer, Long)
             try {
@@ -336,6 +335,18 @@ public class ConfigMapper {
         }
     }
 
+    /**
+     * Get an enum constant by its name or alias (case-insensitive)
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object getEnumConstant(Class<Enum> enumClass, String name, String fieldName) throws ConfigMappingException {
+        Object constant = EnumLookup.of(enumClass).get(name);
+        if (constant == null) {
+            throw new ConfigMappingException("Unknown value '" + name + "' of enum '" + enumClass.getName() + "' for field '" + fieldName + "'");
+        }
+        return constant;
+    }
+
     /**
      * Check if the provided type is a primitive, String, Number, Boolean
      */
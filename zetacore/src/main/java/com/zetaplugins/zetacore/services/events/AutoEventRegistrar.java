@@ -2,14 +2,18 @@ package com.zetaplugins.zetacore.services.events;
 
 import com.zetaplugins.zetacore.annotations.AutoRegisterListener;
 import com.zetaplugins.zetacore.services.di.ManagerRegistry;
+import com.zetaplugins.zetacore.util.ThrottledLogger;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
+import org.bukkit.plugin.RegisteredListener;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.reflections.Reflections;
 
 import java.lang.reflect.Constructor;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 import java.util.logging.Level;
 
 /**
@@ -51,6 +55,7 @@ public class AutoEventRegistrar implements EventRegistrar {
         Reflections reflections = new Reflections(packagePrefix);
         Set<Class<?>> annotatedClasses = reflections.getTypesAnnotatedWith(AutoRegisterListener.class);
         List<String> registeredListeners = new ArrayList<>();
+        ThrottledLogger.install(plugin);
 
         for (Class<?> clazz : annotatedClasses) {
             if (Listener.class.isAssignableFrom(clazz)) {
@@ -87,7 +92,7 @@ public class AutoEventRegistrar implements EventRegistrar {
 
             if (managerRegistry != null) managerRegistry.injectManagers(listener);
 
-            plugin.getServer().getPluginManager().registerEvents(listener, plugin);
+            registerEvents(listener);
 
             AutoRegisterListener annotation = listenerClass.getAnnotation(AutoRegisterListener.class);
             return annotation.name().isEmpty() ? listenerClass.getSimpleName() : annotation.name();
@@ -106,10 +111,64 @@ public class AutoEventRegistrar implements EventRegistrar {
         for (Listener l : listener) {
             if (l == null) continue;
             if (managerRegistry != null) managerRegistry.injectManagers(l);
-            plugin.getServer().getPluginManager().registerEvents(l, plugin);
+            registerEvents(l);
         }
     }
 
+    /**
+     * Registers all {@link EventHandler} methods of a listener with {@link org.bukkit.plugin.PluginManager#registerEvents},
+     * so the server still validates the handlers, warns about deprecated events and times them.
+     * The registered listeners are then wrapped, so exceptions thrown by handlers are logged
+     * through a {@link ThrottledLogger} and a handler failing on a frequent event doesn't flood the console.
+     * @param listener The listener to register.
+     */
+    private void registerEvents(Listener listener) {
+        plugin.getServer().getPluginManager().registerEvents(listener, plugin);
+
+        for (HandlerList handlers : HandlerList.getHandlerLists()) {
+            for (RegisteredListener registered : handlers.getRegisteredListeners()) {
+                if (registered.getListener() != listener || registered instanceof ThrottledRegisteredListener) continue;
+                handlers.unregister(registered);
+                handlers.register(new ThrottledRegisteredListener(registered));
+            }
+        }
+    }
+
+    /**
+     * Wraps a registered listener and logs the exceptions of its handler through a {@link ThrottledLogger}
+     * instead of passing them to the server, which would log every stack trace.
+     */
+    private final class ThrottledRegisteredListener extends RegisteredListener {
+        private final RegisteredListener delegate;
+        private final String key;
+
+        private ThrottledRegisteredListener(RegisteredListener delegate) {
+            super(delegate.getListener(), (l, event) -> delegate.callEvent(event), delegate.getPriority(), delegate.getPlugin(), delegate.isIgnoringCancelled());
+            this.delegate = delegate;
+            this.key = "listener:" + delegate.getListener().getClass().getName() + "#" + delegate.getPriority();
+        }
+
+        @Override
+        public void callEvent(Event event) {
+            try {
+                delegate.callEvent(event);
+            } catch (EventException e) {
+                logListenerError(key, event, e.getCause() != null ? e.getCause() : e);
+            } catch (RuntimeException e) {
+                logListenerError(key, event, e);
+            }
+        }
+    }
+
+    private void logListenerError(String key, Event event, Throwable error) {
+        ThrottledLogger.of(plugin.getLogger()).log(
+                Level.SEVERE,
+                key,
+                "Could not pass event " + event.getEventName() + " to " + plugin.getName(),
+                error
+        );
+    }
+
     /**
      * Builder class for AutoEventRegistrar.
      */
@@ -1,38 +1,47 @@
 package com.zetaplugins.zetacore.services.localization;
 
 import com.zetaplugins.zetacore.annotations.Manager;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.File;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service for handling localization and language files.
  * This service loads the language file based on the configuration and provides methods to retrieve localized strings.
+ * <br/>In per-player mode, messages are sent in the language of the client of each player if a language file for it exists.
+ * Those files are loaded on first use and unloaded when they weren't used for a while (see {@link Builder#setMaxLoadedLocales(int)}).
+ * Missing keys fall back to another region of the same language and then to the configured language,
+ * e.g. de-AT → de-DE → en-US.
+ * <br/>Language files are flattened into immutable lookup tables when they are loaded,
+ * so looking up a string doesn't walk the configuration sections and lists aren't copied.
+ * A reload builds a new snapshot of all languages and swaps it at once, so lookups during a reload
+ * see either the old or the new languages, never a mix of both.
  */
 @Manager
 public final class BukkitLocalizationService implements LocalizationService {
+    /** The maximum number of client locales whose language is cached, more than the number of locales of the Minecraft client */
+    private static final int MAX_CACHED_LOCALE_KEYS = 256;
+
     private final JavaPlugin plugin;
     private final List<String> possibleLangs;
     private final String fallbackLang;
     private final String langFolder;
     private final String langConfigOption;
+    private final boolean perPlayerLocale;
+    private final int maxLoadedLocales;
 
-    private FileConfiguration langConfig;
+    private volatile LocaleState state = new LocaleState(LocalizationBundle.EMPTY, null, Map.of(), 0);
+    private final Object evictionLock = new Object();
 
     /**
      * @param plugin The JavaPlugin instance to use for loading resources
      * @param possibleLangs List of language codes to load (The languages that are provided by the plugin)
      */
     public BukkitLocalizationService(JavaPlugin plugin, List<String> possibleLangs) {
-        this.plugin = plugin;
-        this.possibleLangs = possibleLangs;
-        this.fallbackLang = "en-US";
-        this.langFolder = "lang/";
-        this.langConfigOption = "lang";
-        loadLanguageConfig();
+        this(plugin, possibleLangs, "en-US", "lang/", "lang");
     }
 
     /**
@@ -43,11 +52,34 @@ public final class BukkitLocalizationService implements LocalizationService {
      * @param langConfigOption The configuration option to use for selecting the language (e.g., "lang")
      */
     public BukkitLocalizationService(JavaPlugin plugin, List<String> possibleLangs, String fallbackLang, String langFolder, String langConfigOption) {
+        this(plugin, possibleLangs, fallbackLang, langFolder, langConfigOption, false, 8);
+    }
+
+    /**
+     * @param plugin The JavaPlugin instance to use for loading resources
+     * @param possibleLangs List of language codes to load (The languages that are provided by the plugin)
+     * @param fallbackLang The fallback language code to use if the selected language is not found
+     * @param langFolder The folder where the language files are stored (e.g., "lang/")
+     * @param langConfigOption The configuration option to use for selecting the language (e.g., "lang")
+     * @param perPlayerLocale Whether to use the language of the client of each player
+     * @param maxLoadedLocales The maximum number of client languages kept loaded in per-player mode
+     */
+    public BukkitLocalizationService(
+            JavaPlugin plugin,
+            List<String> possibleLangs,
+            String fallbackLang,
+            String langFolder,
+            String langConfigOption,
+            boolean perPlayerLocale,
+            int maxLoadedLocales
+    ) {
         this.plugin = plugin;
         this.possibleLangs = possibleLangs;
         this.fallbackLang = fallbackLang;
         this.langFolder = langFolder;
         this.langConfigOption = langConfigOption;
+        this.perPlayerLocale = perPlayerLocale;
+        this.maxLoadedLocales = Math.max(1, maxLoadedLocales);
         loadLanguageConfig();
     }
 
@@ -61,7 +93,7 @@ public final class BukkitLocalizationService implements LocalizationService {
     /**
      * Load the language file from the plugin data folder
      */
-    private void loadLanguageConfig() {
+    private synchronized void loadLanguageConfig() {
         File languageDirectory = new File(plugin.getDataFolder(), langFolder);
         if (!languageDirectory.exists() || !languageDirectory.isDirectory()) languageDirectory.mkdir();
 
@@ -82,22 +114,176 @@ public final class BukkitLocalizationService implements LocalizationService {
         }
 
         plugin.getLogger().info("Using language file: " + selectedLangFile.getPath());
-        langConfig = YamlConfiguration.loadConfiguration(selectedLangFile);
+        LocalizationBundle bundle = LocalizationBundle.flatten(YamlConfiguration.loadConfiguration(selectedLangFile));
+        String selectedLang = selectedLangFile.getName().substring(0, selectedLangFile.getName().length() - ".yml".length());
+
+        Map<String, String> langs = new HashMap<>();
+        if (perPlayerLocale) {
+            File[] files = languageDirectory.listFiles((dir, name) -> name.endsWith(".yml"));
+            if (files != null) {
+                for (File file : files) {
+                    String lang = file.getName().substring(0, file.getName().length() - ".yml".length());
+                    langs.put(lang.toLowerCase(Locale.ROOT), lang);
+                }
+            }
+        }
+        // Swapped at once, so lookups during a reload see either the old or the new languages
+        state = new LocaleState(bundle, selectedLang, Map.copyOf(langs), state.revision + 1);
+    }
+
+    /**
+     * Gets the language used for players with the given client locale.
+     * The language of locales with a language file and the fallback chain of the language are resolved once and cached.
+     * @param locale The locale of the client
+     * @return The language (e.g. "de-DE"), or null if the configured language is used
+     */
+    @Override
+    public String getLocaleKey(Locale locale) {
+        if (!perPlayerLocale || locale == null) return null;
+
+        LocaleState current = state;
+        String tag = locale.toLanguageTag().toLowerCase(Locale.ROOT);
+        String key = current.localeKeys.get(tag);
+        if (key == null) {
+            String lang = findLang(current, locale);
+            key = lang == null || lang.equals(current.selectedLang) ? "" : lang;
+            // The locale is sent by the client, so only locales with a language file are cached and only up to a limit
+            if (lang != null && current.localeKeys.size() < MAX_CACHED_LOCALE_KEYS) current.localeKeys.putIfAbsent(tag, key);
+        }
+        return key.isEmpty() ? null : key;
+    }
+
+    /**
+     * @return The number of client locales whose language is cached
+     */
+    int getCachedLocaleKeyCount() {
+        return state.localeKeys.size();
+    }
+
+    /**
+     * Finds the language file for a locale, preferring the exact region, then the main region of the language
+     * (e.g. de-DE for de-AT), then any other region of the language.
+     */
+    private static String findLang(LocaleState state, Locale locale) {
+        String language = locale.getLanguage().toLowerCase(Locale.ROOT);
+        if (language.isEmpty()) return null;
+
+        String exact = state.availableLangs.get(language + "-" + locale.getCountry().toLowerCase(Locale.ROOT));
+        if (exact != null) return exact;
+        return findMainLang(state, language);
+    }
+
+    /**
+     * Finds the main region of a language, e.g. de-DE for de, or the first region in alphabetical order if there is none
+     */
+    private static String findMainLang(LocaleState state, String language) {
+        String main = state.availableLangs.get(language + "-" + language);
+        if (main != null) return main;
+
+        String first = null;
+        for (Map.Entry<String, String> entry : state.availableLangs.entrySet()) {
+            if (!entry.getKey().startsWith(language + "-")) continue;
+            if (first == null || entry.getValue().compareTo(first) < 0) first = entry.getValue();
+        }
+        return first;
+    }
+
+    /**
+     * Gets the languages to look up a key in before the configured language
+     */
+    private static List<String> getLocaleChain(LocaleState state, String localeKey) {
+        return state.localeChains.computeIfAbsent(localeKey, lang -> {
+            int separator = lang.indexOf('-');
+            String language = (separator == -1 ? lang : lang.substring(0, separator)).toLowerCase(Locale.ROOT);
+            String main = findMainLang(state, language);
+            return main == null || main.equals(lang) || main.equals(state.selectedLang) ? List.of(lang) : List.of(lang, main);
+        });
+    }
+
+    /**
+     * Gets the strings of a client language, loading its language file if it is not loaded.
+     * Lookups of loaded languages don't take a lock, only loading a language evicts the least recently used ones.
+     */
+    private LocalizationBundle getLocaleBundle(LocaleState state, String lang) {
+        LoadedLocale loaded = state.loadedLocales.get(lang);
+        if (loaded == null) {
+            loaded = state.loadedLocales.computeIfAbsent(lang, key -> {
+                File file = new File(new File(plugin.getDataFolder(), langFolder), key + ".yml");
+                return new LoadedLocale(LocalizationBundle.flatten(YamlConfiguration.loadConfiguration(file)));
+            });
+            evictLocales(state.loadedLocales);
+        }
+        loaded.lastUsed = System.nanoTime();
+        return loaded.bundle;
+    }
+
+    /**
+     * Unloads the least recently used client languages until at most {@link #maxLoadedLocales} are loaded
+     */
+    private void evictLocales(Map<String, LoadedLocale> loadedLocales) {
+        if (loadedLocales.size() <= maxLoadedLocales) return;
+
+        synchronized (evictionLock) {
+            List<Map.Entry<String, LoadedLocale>> entries = new ArrayList<>(loadedLocales.entrySet());
+            if (entries.size() <= maxLoadedLocales) return;
+            entries.sort(Comparator.comparingLong(entry -> entry.getValue().lastUsed));
+            for (int i = 0; i < entries.size() - maxLoadedLocales; i++) {
+                loadedLocales.remove(entries.get(i).getKey(), entries.get(i).getValue());
+            }
+        }
     }
 
     @Override
     public String getString(String key) {
-        return langConfig.getString(key);
+        return state.bundle.getString(key);
     }
 
     @Override
     public String getString(String key, String fallback) {
-        return langConfig.getString(key) != null ? langConfig.getString(key) : fallback;
+        String value = state.bundle.getString(key);
+        return value != null ? value : fallback;
     }
 
+    /**
+     * Get a list of strings from the language file
+     * @param key The key to get the list of strings for
+     * @return The immutable list of strings from the language file, or an empty list if there is none
+     */
     @Override
     public List<String> getStringList(String key) {
-        return langConfig.getStringList(key);
+        List<String> value = state.bundle.getStringList(key);
+        return value != null ? value : List.of();
+    }
+
+    @Override
+    public String getString(String localeKey, String key, String fallback) {
+        LocaleState current = state;
+        if (localeKey != null) {
+            for (String lang : getLocaleChain(current, localeKey)) {
+                String value = getLocaleBundle(current, lang).getString(key);
+                if (value != null) return value;
+            }
+        }
+        String value = current.bundle.getString(key);
+        return value != null ? value : fallback;
+    }
+
+    @Override
+    public List<String> getStringList(String localeKey, String key) {
+        LocaleState current = state;
+        if (localeKey != null) {
+            for (String lang : getLocaleChain(current, localeKey)) {
+                List<String> value = getLocaleBundle(current, lang).getStringList(key);
+                if (value != null) return value;
+            }
+        }
+        List<String> value = current.bundle.getStringList(key);
+        return value != null ? value : List.of();
+    }
+
+    @Override
+    public long getRevision() {
+        return state.revision;
     }
 
     /**
@@ -109,6 +295,8 @@ public final class BukkitLocalizationService implements LocalizationService {
         private String fallbackLang = "en-US";
         private String langFolder = "lang/";
         private String langConfigOption = "lang";
+        private boolean perPlayerLocale = false;
+        private int maxLoadedLocales = 8;
 
         public Builder setPlugin(JavaPlugin plugin) {
             this.plugin = plugin;
@@ -135,6 +323,27 @@ public final class BukkitLocalizationService implements LocalizationService {
             return this;
         }
 
+        /**
+         * Sets whether messages are sent in the language of the client of each player.
+         * If no language file exists for the language of a client, the configured language is used.
+         * @param perPlayerLocale Whether to use the language of the client (default: false)
+         * @return This builder
+         */
+        public Builder setPerPlayerLocale(boolean perPlayerLocale) {
+            this.perPlayerLocale = perPlayerLocale;
+            return this;
+        }
+
+        /**
+         * Sets how many client languages are kept loaded in per-player mode. The least recently used language is unloaded first.
+         * @param maxLoadedLocales The maximum number of loaded client languages (default: 8)
+         * @return This builder
+         */
+        public Builder setMaxLoadedLocales(int maxLoadedLocales) {
+            this.maxLoadedLocales = maxLoadedLocales;
+            return this;
+        }
+
         /**
          * Build the BukkitLocalizationService instance
          * @return The constructed BukkitLocalizationService
@@ -143,7 +352,37 @@ public final class BukkitLocalizationService implements LocalizationService {
             if (plugin == null) throw new IllegalStateException("Plugin must be set");
             if (possibleLangs == null || possibleLangs.isEmpty())
                 throw new IllegalStateException("Possible languages must be set and not empty");
-            return new BukkitLocalizationService(plugin, possibleLangs, fallbackLang, langFolder, langConfigOption);
+            return new BukkitLocalizationService(plugin, possibleLangs, fallbackLang, langFolder, langConfigOption, perPlayerLocale, maxLoadedLocales);
+        }
+    }
+
+    /**
+     * The languages of one load of the language files. The caches only ever hold values derived from this snapshot,
+     * so they are dropped together with it on reload.
+     */
+    private static final class LocaleState {
+        private final LocalizationBundle bundle;
+        private final String selectedLang;
+        private final Map<String, String> availableLangs;
+        private final long revision;
+        private final Map<String, String> localeKeys = new ConcurrentHashMap<>();
+        private final Map<String, List<String>> localeChains = new ConcurrentHashMap<>();
+        private final Map<String, LoadedLocale> loadedLocales = new ConcurrentHashMap<>();
+
+        private LocaleState(LocalizationBundle bundle, String selectedLang, Map<String, String> availableLangs, long revision) {
+            this.bundle = bundle;
+            this.selectedLang = selectedLang;
+            this.availableLangs = availableLangs;
+            this.revision = revision;
+        }
+    }
+
+    private static final class LoadedLocale {
+        private final LocalizationBundle bundle;
+        private volatile long lastUsed = System.nanoTime();
+
+        private LoadedLocale(LocalizationBundle bundle) {
+            this.bundle = bundle;
         }
     }
 }
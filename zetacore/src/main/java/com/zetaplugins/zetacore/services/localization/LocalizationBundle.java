@@ -0,0 +1,70 @@
+package com.zetaplugins.zetacore.services.localization;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The strings of a language file, flattened into immutable maps keyed by their full path (e.g. "messages.noPermission").
+ * Looking up a string is a single hash lookup instead of walking the sections of the configuration,
+ * and lists are shared instead of copied on every lookup.
+ */
+final class LocalizationBundle {
+    static final LocalizationBundle EMPTY = new LocalizationBundle(Map.of(), Map.of());
+
+    private final Map<String, String> strings;
+    private final Map<String, List<String>> lists;
+
+    private LocalizationBundle(Map<String, String> strings, Map<String, List<String>> lists) {
+        this.strings = strings;
+        this.lists = lists;
+    }
+
+    /**
+     * Flattens a configuration into a bundle. Lists are converted like {@code ConfigurationSection.getStringList(String)} does.
+     * @param config The loaded language file
+     * @return The bundle
+     */
+    static LocalizationBundle flatten(ConfigurationSection config) {
+        if (config == null) return EMPTY;
+
+        Map<String, String> strings = new HashMap<>();
+        Map<String, List<String>> lists = new HashMap<>();
+        for (Map.Entry<String, Object> entry : config.getValues(true).entrySet()) {
+            Object value = entry.getValue();
+            if (value == null || value instanceof ConfigurationSection) continue;
+
+            if (value instanceof List<?> list) {
+                List<String> items = new ArrayList<>(list.size());
+                for (Object item : list) {
+                    if (item instanceof String || item instanceof Boolean || item instanceof Character || item instanceof Number) {
+                        items.add(String.valueOf(item));
+                    }
+                }
+                lists.put(entry.getKey(), List.copyOf(items));
+            } else {
+                strings.put(entry.getKey(), value.toString());
+            }
+        }
+        return new LocalizationBundle(Map.copyOf(strings), Map.copyOf(lists));
+    }
+
+    /**
+     * @param key The full path of the string
+     * @return The string, or null if the language file doesn't contain it
+     */
+    String getString(String key) {
+        return strings.get(key);
+    }
+
+    /**
+     * @param key The full path of the list
+     * @return The immutable list, or null if the language file doesn't contain it
+     */
+    List<String> getStringList(String key) {
+        return lists.get(key);
+    }
+}
@@ -3,6 +3,7 @@ package com.zetaplugins.zetacore.services.localization;
 import com.zetaplugins.zetacore.annotations.Manager;
 
 import java.util.List;
+import java.util.Locale;
 
 @Manager
 public interface LocalizationService {
@@ -22,9 +23,49 @@ public interface LocalizationService {
     String getString(String key, String fallback);
 
     /**
-     * Get a list of strings from the language file
+     * Get a list of strings from the language file.
+     * The list may be shared between calls and is immutable, copy it before modifying it.
      * @param key The key to get the list of strings for
-     * @return The list of strings from the language file
+     * @return The immutable list of strings from the language file
      */
     List<String> getStringList(String key);
+
+    /**
+     * Gets the key of the language used for a client locale, for services that support per-player languages.
+     * @param locale The locale of the client
+     * @return The key of the language, or null if the default language is used
+     */
+    default String getLocaleKey(Locale locale) {
+        return null;
+    }
+
+    /**
+     * Get a string from the language file of a locale with a fallback
+     * @param localeKey The key of the language returned by {@link #getLocaleKey(Locale)}, or null for the default language
+     * @param key The key to get the string for
+     * @param fallback The fallback string
+     * @return The string from the language file or the fallback
+     */
+    default String getString(String localeKey, String key, String fallback) {
+        return getString(key, fallback);
+    }
+
+    /**
+     * Get a list of strings from the language file of a locale
+     * @param localeKey The key of the language returned by {@link #getLocaleKey(Locale)}, or null for the default language
+     * @param key The key to get the list of strings for
+     * @return The immutable list of strings from the language file, see {@link #getStringList(String)}
+     */
+    default List<String> getStringList(String localeKey, String key) {
+        return getStringList(key);
+    }
+
+    /**
+     * Gets the revision of the strings, which changes whenever they are reloaded.
+     * Used to invalidate messages compiled from the strings.
+     * @return The revision
+     */
+    default long getRevision() {
+        return 0;
+    }
 }
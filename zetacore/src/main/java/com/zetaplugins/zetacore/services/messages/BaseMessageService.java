@@ -2,14 +2,39 @@ package com.zetaplugins.zetacore.services.messages;
 
 import com.zetaplugins.zetacore.annotations.Manager;
 import com.zetaplugins.zetacore.services.localization.LocalizationService;
+import com.zetaplugins.zetacore.services.papi.PapiExpansionService;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Manager
 public abstract class BaseMessageService {
     protected final LocalizationService localizationService;
     protected final Map<String, String> colorMap;
+    protected final MiniMessage mm = MiniMessage.miniMessage();
+    protected PapiExpansionService placeholderService;
+
+    private final Map<TemplateKey, MessageTemplate> templates = new ConcurrentHashMap<>();
+    private final Map<ListTemplateKey, List<MessageTemplate>> listTemplates = new ConcurrentHashMap<>();
+    private volatile long templateRevision;
+
+    private volatile PlaceholderReplacer colorReplacer;
+    private final Map<String, PlaceholderReplacer> accentReplacers = new ConcurrentHashMap<>();
+    /** The replacers of the accent colors of languages, keyed by language ("" for the default language) */
+    private final Map<String, PlaceholderReplacer> localeReplacers = new ConcurrentHashMap<>();
+
+    private record TemplateKey(String localeKey, String path, String fallback, boolean addPrefix) {}
+    private record ListTemplateKey(String localeKey, String path) {}
 
     public BaseMessageService(LocalizationService localizationService) {
         this.localizationService = localizationService;
@@ -43,31 +68,101 @@ public abstract class BaseMessageService {
         return localizationService;
     }
 
+    public PapiExpansionService getPlaceholderService() {
+        return placeholderService;
+    }
+
+    /**
+     * Sets the expansion whose placeholders are resolved directly when sending messages.
+     * Placeholders like %myplugin_kills% are then resolved as MiniMessage tags (e.g. &lt;myplugin:kills&gt;)
+     * without going through PlaceholderAPI, so they also work if PlaceholderAPI is not installed.
+     * @param placeholderService The expansion service, or null to disable native placeholder resolution
+     * @return This message service
+     */
+    public BaseMessageService setPlaceholderService(@Nullable PapiExpansionService placeholderService) {
+        this.placeholderService = placeholderService;
+        return this;
+    }
+
     public String getAccentColor() {
-        return localizationService.getString("accentColor", "<#00D26A>");
+        return getAccentColor(null);
     }
 
+    /**
+     * Gets the accent color of a language
+     * @param localeKey The language returned by {@link #getLocaleKey(CommandSender)}, or null for the default language
+     * @return The accent color
+     */
+    public String getAccentColor(@Nullable String localeKey) {
+        return getLocalizedString(localeKey, "accentColor", "<#00D26A>");
+    }
+
+    /**
+     * Gets the language that messages are sent to a receiver in.
+     * Players get messages in the language of their client if the localization service supports it.
+     * @param receiver The receiver of the message
+     * @return The language, or null if the default language is used
+     */
+    @Nullable
+    protected String getLocaleKey(CommandSender receiver) {
+        return receiver instanceof Player player ? localizationService.getLocaleKey(player.locale()) : null;
+    }
+
+    /**
+     * Replaces the placeholders and color codes of a message in a single pass
+     * @param msg The message
+     * @param replaceables The placeholders to replace
+     * @return The message with placeholders and color codes replaced
+     */
     @NotNull
     public String replacePlaceholders(String msg, Replaceable<?>... replaceables) {
-        StringBuilder msgBuilder = new StringBuilder(msg);
+        return getColorReplacer().replace(msg, replaceables);
+    }
 
-        for (Replaceable<?> replaceable : replaceables) {
-            String placeholder = replaceable.placeholder();
-            String value = String.valueOf(replaceable.value());
-            replaceInBuilder(msgBuilder, placeholder, value);
-        }
+    /**
+     * Replaces the placeholders, color codes and the accent color (%ac%) of a message in a single pass
+     * @param msg The message
+     * @param replaceables The placeholders to replace
+     * @return The message with placeholders, color codes and the accent color replaced
+     */
+    @NotNull
+    public String replacePlaceholdersWithAccentColors(String msg, Replaceable<?>... replaceables) {
+        checkTemplateRevision();
+        return getLocaleReplacer(null).replace(msg, replaceables);
+    }
 
-        colorMap.forEach((key, value) -> replaceInBuilder(msgBuilder, key, value));
+    /**
+     * Gets the replacer for the color codes and the given accent color, created once per accent color
+     * @param accentColor The accent color
+     * @return The replacer
+     */
+    protected PlaceholderReplacer getAccentReplacer(String accentColor) {
+        return accentReplacers.computeIfAbsent(accentColor, color -> getColorReplacer().with("%ac%", color));
+    }
 
-        return msgBuilder.toString();
+    /**
+     * Gets the replacer for the color codes and the accent color of a language.
+     * The accent color is looked up once per language, so sending a message doesn't look it up again.
+     * The replacers are dropped together with the templates when the localization service is reloaded.
+     * @param localeKey The language returned by {@link #getLocaleKey(CommandSender)}, or null for the default language
+     * @return The replacer
+     */
+    protected PlaceholderReplacer getLocaleReplacer(@Nullable String localeKey) {
+        return localeReplacers.computeIfAbsent(localeKey == null ? "" : localeKey, key -> getAccentReplacer(getAccentColor(localeKey)));
     }
 
-    @NotNull
-    public String replacePlaceholdersWithAccentColors(String msg, Replaceable<?>... replaceables) {
-        String replacedMsg = replacePlaceholders(msg, replaceables);
-        StringBuilder msgBuilder = new StringBuilder(replacedMsg);
-        replaceInBuilder(msgBuilder, "%ac%", getAccentColor());
-        return msgBuilder.toString();
+    /**
+     * Gets the replacer for the color codes of the {@link #colorMap}, created on first use.
+     * Changes to the color map after the first message was sent are not picked up.
+     * @return The replacer
+     */
+    protected PlaceholderReplacer getColorReplacer() {
+        PlaceholderReplacer current = colorReplacer;
+        if (current == null) {
+            current = new PlaceholderReplacer(colorMap);
+            colorReplacer = current;
+        }
+        return current;
     }
 
     protected void replaceInBuilder(StringBuilder builder, String placeholder, String replacement) {
@@ -77,15 +172,363 @@ public abstract class BaseMessageService {
         }
     }
 
+    /**
+     * Rewrites placeholders of the placeholder service (e.g. %myplugin_kills%) into MiniMessage tags (e.g. &lt;myplugin:'kills'&gt;)
+     * that are resolved by {@link #getPlaceholderResolver(CommandSender)}.
+     * Placeholders inside of tags (e.g. click actions) can't be replaced by a tag and are resolved in place instead,
+     * escaped for the argument they are in. Values that can't be escaped (unquoted arguments) and placeholders
+     * of receivers that are not players (e.g. the console) are kept as they are.
+     * <br/>Values are resolved on every send, as they depend on the receiver. Messages sent by path are compiled
+     * into templates instead, see {@link #renderTemplate(MessageTemplate, CommandSender, Replaceable[])}.
+     * @param msg The message
+     * @param sender The receiver of the message, used as the player for inline placeholders
+     * @return The message with placeholder tags
+     */
+    @NotNull
+    protected String toPlaceholderTags(String msg, CommandSender sender) {
+        if (placeholderService == null || placeholderService.getIdentifier() == null) return msg;
+
+        String identifier = placeholderService.getIdentifier();
+        String prefix = identifier + "_";
+        if (!msg.contains("%" + prefix)) return msg;
+
+        String tagName = identifier.toLowerCase(Locale.ROOT);
+        OfflinePlayer player = getPlaceholderPlayer(sender);
+        StringBuilder result = new StringBuilder(msg.length() + 16);
+        int i = 0;
+        while (i < msg.length()) {
+            char c = msg.charAt(i);
+            if (c == '\\' && i + 1 < msg.length()) {
+                // Escaped characters (e.g. \<) are never tags
+                result.append(c).append(msg.charAt(i + 1));
+                i += 2;
+                continue;
+            }
+
+            if (c == '<') {
+                int tagEnd = MiniMessageTags.findTagEnd(msg, i);
+                if (tagEnd != -1) {
+                    result.append(resolveInTag(msg.substring(i, tagEnd + 1), prefix, player));
+                    i = tagEnd + 1;
+                    continue;
+                }
+            }
+
+            int end = c == '%' ? msg.indexOf('%', i + 1) : -1;
+            String key = end == -1 ? null : msg.substring(i + 1, end);
+            if (key == null || key.length() <= prefix.length() || !key.startsWith(prefix)) {
+                result.append(c);
+                i++;
+                continue;
+            }
+
+            result.append('<').append(tagName).append(":'")
+                    .append(MiniMessageTags.escapeArgument(key.substring(prefix.length()), '\''))
+                    .append("'>");
+            i = end + 1;
+        }
+        return result.toString();
+    }
+
+    /**
+     * Resolves the placeholders of the placeholder service inside of a tag, escaping them for the argument they are in
+     */
+    private String resolveInTag(String tag, String prefix, OfflinePlayer player) {
+        if (!tag.contains("%" + prefix)) return tag;
+
+        StringBuilder result = new StringBuilder(tag.length() + 16);
+        int i = 0;
+        while (i < tag.length()) {
+            char c = tag.charAt(i);
+            int end = c == '%' ? tag.indexOf('%', i + 1) : -1;
+            String key = end == -1 ? null : tag.substring(i + 1, end);
+            if (key == null || key.length() <= prefix.length() || !key.startsWith(prefix)) {
+                result.append(c);
+                i++;
+                continue;
+            }
+
+            String value = resolveServicePlaceholder(player, key.substring(prefix.length()));
+            String escaped = value == null ? null : MiniMessageTags.escapeArgument(value, MiniMessageTags.quoteAt(tag, i));
+            result.append(escaped != null ? escaped : tag.substring(i, end + 1));
+            i = end + 1;
+        }
+        return result.toString();
+    }
+
+    /**
+     * Resolves a placeholder of the placeholder service
+     * @param player The player, or null if the receiver is not a player
+     * @param key The placeholder without the identifier of the expansion
+     * @return The value, or null if it can't be resolved
+     */
+    @Nullable
+    private String resolveServicePlaceholder(OfflinePlayer player, String key) {
+        PapiExpansionService service = placeholderService;
+        // Without a player the service would return its "player not found" message
+        if (service == null || player == null) return null;
+        return service.resolve(player, key);
+    }
+
+    /**
+     * Gets a tag resolver that resolves the tags created by {@link #toPlaceholderTags(String, CommandSender)}
+     * using the placeholder service for the given receiver. Placeholders of receivers that are not players are kept as they are.
+     * @param sender The receiver of the message
+     * @return The tag resolver, or an empty resolver if no placeholder service is set
+     */
+    @NotNull
+    protected TagResolver getPlaceholderResolver(CommandSender sender) {
+        PapiExpansionService service = placeholderService;
+        if (service == null || service.getIdentifier() == null) return TagResolver.empty();
+
+        OfflinePlayer player = getPlaceholderPlayer(sender);
+        String identifier = service.getIdentifier();
+        return TagResolver.resolver(identifier.toLowerCase(Locale.ROOT), (args, ctx) -> {
+            String key = args.popOr("Missing placeholder name").value();
+            String value = resolveServicePlaceholder(player, key);
+            Component component = value != null
+                    ? LegacyComponentSerializer.legacySection().deserialize(value)
+                    : Component.text("%" + identifier + "_" + key + "%");
+            return Tag.selfClosingInserting(component);
+        });
+    }
+
+    /**
+     * Gets the compiled template of a message, compiling it on first use.
+     * Templates are recompiled when the localization service is reloaded.
+     * @param path The path of the message
+     * @param fallback The fallback message if the path is missing
+     * @param addPrefix Whether to add the prefix
+     * @return The template
+     */
+    @NotNull
+    protected MessageTemplate getTemplate(String path, String fallback, boolean addPrefix) {
+        return getTemplate(null, path, fallback, addPrefix);
+    }
+
+    /**
+     * Gets the compiled template of a message in a language, compiling it on first use.
+     * @param localeKey The language returned by {@link #getLocaleKey(CommandSender)}, or null for the default language
+     * @param path The path of the message
+     * @param fallback The fallback message if the path is missing
+     * @param addPrefix Whether to add the prefix
+     * @return The template
+     */
+    @NotNull
+    protected MessageTemplate getTemplate(@Nullable String localeKey, String path, String fallback, boolean addPrefix) {
+        checkTemplateRevision();
+        return templates.computeIfAbsent(
+                new TemplateKey(localeKey, path, fallback, addPrefix),
+                key -> compileTemplate(key.localeKey(), getRawMessage(key.localeKey(), key.path(), key.fallback(), key.addPrefix()))
+        );
+    }
+
+    /**
+     * Gets the compiled templates of a message list, compiling them on first use.
+     * @param path The path of the message list
+     * @return The templates
+     */
+    @NotNull
+    protected List<MessageTemplate> getListTemplates(String path) {
+        return getListTemplates(null, path);
+    }
+
+    /**
+     * Gets the compiled templates of a message list in a language, compiling them on first use.
+     * @param localeKey The language returned by {@link #getLocaleKey(CommandSender)}, or null for the default language
+     * @param path The path of the message list
+     * @return The templates
+     */
+    @NotNull
+    protected List<MessageTemplate> getListTemplates(@Nullable String localeKey, String path) {
+        checkTemplateRevision();
+        return listTemplates.computeIfAbsent(new ListTemplateKey(localeKey, path), key -> {
+            List<MessageTemplate> compiled = new ArrayList<>();
+            for (String item : getRawMessageList(key.localeKey(), key.path())) compiled.add(compileTemplate(key.localeKey(), item));
+            return List.copyOf(compiled);
+        });
+    }
+
+    /**
+     * Drops all compiled templates, e.g. after changing the strings of a custom localization service.
+     */
+    public void clearTemplateCache() {
+        templates.clear();
+        listTemplates.clear();
+        accentReplacers.clear();
+        localeReplacers.clear();
+    }
+
+    private void checkTemplateRevision() {
+        long revision = localizationService.getRevision();
+        if (revision != templateRevision) {
+            clearTemplateCache();
+            templateRevision = revision;
+        }
+    }
+
+    /**
+     * Compiles a message into a template, applying the color codes and the accent color
+     * @param raw The message including the prefix
+     * @return The template
+     */
+    @NotNull
+    protected MessageTemplate compileTemplate(String raw) {
+        return compileTemplate(null, raw);
+    }
+
+    /**
+     * Compiles a message into a template, applying the color codes and the accent color of a language
+     * @param localeKey The language returned by {@link #getLocaleKey(CommandSender)}, or null for the default language
+     * @param raw The message including the prefix
+     * @return The template
+     */
+    @NotNull
+    protected MessageTemplate compileTemplate(@Nullable String localeKey, String raw) {
+        String source = String.valueOf(raw);
+        return MessageTemplate.compile(source, getLocaleReplacer(localeKey).replace("<!i>" + source));
+    }
+
+    /**
+     * Renders a template for a receiver, filling its slots with the replaceables and the placeholders of the placeholder service.
+     * Slots without a value are kept as they are. The accent color in values is the one of the language of the receiver.
+     * <br/>Templates are only parsed again if a slot is inside of a tag or a value contains formatting,
+     * otherwise the values are inserted into the component built when the template was first sent.
+     * @param template The template
+     * @param receiver The receiver of the message
+     * @param replaceables The placeholders to replace
+     * @return The component
+     */
+    @NotNull
+    protected Component renderTemplate(MessageTemplate template, CommandSender receiver, Replaceable<?>... replaceables) {
+        boolean slotsOnly = true;
+        for (Replaceable<?> replaceable : replaceables) slotsOnly &= isCoveredBySlots(template, replaceable.placeholder());
+        if (slotsOnly && template.getSlotCount() == 0) return template.getComponent(mm);
+
+        OfflinePlayer player = getPlaceholderPlayer(receiver);
+        if (slotsOnly && template.isPrebuildable() && !anySlotNeedsParsing(template, replaceables)) {
+            return template.render(mm, index -> getSlotComponent(template.getSlot(index), player, replaceables));
+        }
+
+        PlaceholderReplacer replacer = getLocaleReplacer(getLocaleKey(receiver));
+        // Placeholders that are not slots of the template (e.g. {player}) are replaced in the whole message like before
+        if (!slotsOnly) return deserialize(receiver, replacer.replace("<!i>" + template.getSource(), replaceables));
+
+        String format = template.getFormat(index -> getSlotText(template.getSlot(index), player, replacer, replaceables));
+        TagResolver slotResolver = TagResolver.resolver(MessageTemplate.SLOT_TAG, (args, ctx) -> {
+            int index = Integer.parseInt(args.popOr("Missing slot index").value());
+            return getSlotTag(template.getSlot(index), player, replacer, replaceables);
+        });
+        return mm.deserialize(format, slotResolver);
+    }
+
+    /**
+     * Deserializes a processed message, resolving the placeholders of the placeholder service
+     * @param receiver The receiver of the message
+     * @param processed The message with placeholders and colors replaced
+     * @return The component
+     */
+    @NotNull
+    protected Component deserialize(CommandSender receiver, String processed) {
+        return mm.deserialize(toPlaceholderTags(processed, receiver), getPlaceholderResolver(receiver));
+    }
+
+    private boolean anySlotNeedsParsing(MessageTemplate template, Replaceable<?>[] replaceables) {
+        for (int i = 0; i < template.getSlotCount(); i++) {
+            Replaceable<?> replaceable = findReplaceable(template.getSlot(i), replaceables);
+            if (replaceable != null && needsParsing(String.valueOf(replaceable.value()))) return true;
+        }
+        return false;
+    }
+
+    private Component getSlotComponent(String slot, OfflinePlayer player, Replaceable<?>[] replaceables) {
+        Replaceable<?> replaceable = findReplaceable(slot, replaceables);
+        if (replaceable != null) return Component.text(String.valueOf(replaceable.value()));
+
+        String value = resolveServicePlaceholder(slot, player);
+        if (value != null) return LegacyComponentSerializer.legacySection().deserialize(value);
+        return Component.text(slot);
+    }
+
+    private Tag getSlotTag(String slot, OfflinePlayer player, PlaceholderReplacer replacer, Replaceable<?>[] replaceables) {
+        Replaceable<?> replaceable = findReplaceable(slot, replaceables);
+        if (replaceable != null) {
+            String value = String.valueOf(replaceable.value());
+            // Values were part of the message before, so they may contain formatting
+            if (needsParsing(value)) return Tag.preProcessParsed(replacer.replace(value));
+            return Tag.selfClosingInserting(Component.text(value));
+        }
+
+        String value = resolveServicePlaceholder(slot, player);
+        if (value != null) return Tag.selfClosingInserting(LegacyComponentSerializer.legacySection().deserialize(value));
+        return Tag.selfClosingInserting(Component.text(slot));
+    }
+
+    private String getSlotText(String slot, OfflinePlayer player, PlaceholderReplacer replacer, Replaceable<?>[] replaceables) {
+        Replaceable<?> replaceable = findReplaceable(slot, replaceables);
+        if (replaceable != null) return replacer.replace(String.valueOf(replaceable.value()));
+        return resolveServicePlaceholder(slot, player);
+    }
+
+    private static Replaceable<?> findReplaceable(String slot, Replaceable<?>[] replaceables) {
+        for (Replaceable<?> replaceable : replaceables) {
+            if (slot.equals(replaceable.placeholder())) return replaceable;
+        }
+        return null;
+    }
+
+    private String resolveServicePlaceholder(String slot, OfflinePlayer player) {
+        PapiExpansionService service = placeholderService;
+        if (service == null || service.getIdentifier() == null) return null;
+
+        String identifier = service.getIdentifier();
+        int prefixLength = identifier.length() + 2;
+        if (slot.length() <= prefixLength || !slot.startsWith(identifier, 1) || slot.charAt(prefixLength - 1) != '_') return null;
+        return resolveServicePlaceholder(player, slot.substring(prefixLength, slot.length() - 1));
+    }
+
+    /**
+     * Checks if a placeholder is replaced by filling the slots of a template, which is the case if it is one of its slots
+     * or doesn't occur in the message at all. Other placeholders (e.g. {player} or %top player%) need the message to be processed as text.
+     */
+    private static boolean isCoveredBySlots(MessageTemplate template, String placeholder) {
+        if (MessageTemplate.isSlotPlaceholder(placeholder) && template.hasSlot(placeholder)) return true;
+        return !template.getSource().contains(placeholder);
+    }
+
+    private static boolean needsParsing(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '<' || c == '&' || c == '%' || c == '\\') return true;
+        }
+        return false;
+    }
+
+    private static OfflinePlayer getPlaceholderPlayer(CommandSender sender) {
+        return sender instanceof OfflinePlayer player ? player : null;
+    }
+
     public List<String> getRawMessageList(String path) {
+        return getRawMessageList(null, path);
+    }
+
+    public List<String> getRawMessageList(@Nullable String localeKey, String path) {
         if (path.startsWith("messages.")) path = path.substring("messages.".length());
-        return localizationService.getStringList(path);
+        return localeKey == null ? localizationService.getStringList(path) : localizationService.getStringList(localeKey, path);
     }
 
     public String getRawMessage(String path, String fallback, boolean addPrefix) {
+        return getRawMessage(null, path, fallback, addPrefix);
+    }
+
+    public String getRawMessage(@Nullable String localeKey, String path, String fallback, boolean addPrefix) {
         if (path.startsWith("messages.")) path = path.substring("messages.".length());
-        String msg = localizationService.getString(path, fallback);
-        String prefix = localizationService.getString("prefix", "&8[<gradient:#00D26A:#00B24F>TimberZ&8]");
+        String msg = getLocalizedString(localeKey, path, fallback);
+        String prefix = getLocalizedString(localeKey, "prefix", "&8[<gradient:#00D26A:#00B24F>TimberZ&8]");
         return (!prefix.isEmpty() && addPrefix) ? prefix + " " + msg : msg;
     }
+
+    private String getLocalizedString(String localeKey, String key, String fallback) {
+        return localeKey == null ? localizationService.getString(key, fallback) : localizationService.getString(localeKey, key, fallback);
+    }
 }
\ No newline at end of file
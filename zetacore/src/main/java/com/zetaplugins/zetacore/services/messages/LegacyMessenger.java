@@ -2,15 +2,11 @@ package com.zetaplugins.zetacore.services.messages;
 
 import com.zetaplugins.zetacore.annotations.Manager;
 import com.zetaplugins.zetacore.services.localization.LocalizationService;
-import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.command.CommandSender;
 
-import java.util.List;
-
 @Manager
 public class LegacyMessenger extends BaseMessageService implements Messenger {
-    private final MiniMessage mm = MiniMessage.miniMessage();
     private final LegacyComponentSerializer legacySerializer = LegacyComponentSerializer.legacySection();
 
     public LegacyMessenger(LocalizationService localizationService) {
@@ -19,26 +15,22 @@ public class LegacyMessenger extends BaseMessageService implements Messenger {
 
     @Override
     public void send(CommandSender player, boolean addPrefix, String path, String fallback, Replaceable<?>... replaceables) {
-        String raw = getRawMessage(path, fallback, addPrefix);
-        String processed = replacePlaceholdersWithAccentColors("<!i>" + raw, replaceables);
         // Convert to Component then to legacy-coded string
-        String legacy = legacySerializer.serialize(mm.deserialize(processed));
+        String legacy = legacySerializer.serialize(renderTemplate(getTemplate(getLocaleKey(player), path, fallback, addPrefix), player, replaceables));
         player.sendMessage(legacy);
     }
 
     @Override
     public void sendRaw(CommandSender player, String rawMessage, Replaceable<?>... replaceables) {
         String processed = replacePlaceholdersWithAccentColors("<!i>" + rawMessage);
-        String legacy = legacySerializer.serialize(mm.deserialize(processed));
+        String legacy = legacySerializer.serialize(deserialize(player, processed));
         player.sendMessage(legacy);
     }
 
     @Override
     public void sendList(CommandSender player, String path, Replaceable<?>... replaceables) {
-        List<String> rawList = getRawMessageList(path);
-        for (String item : rawList) {
-            String processed = replacePlaceholdersWithAccentColors("<!i>" + item, replaceables);
-            player.sendMessage(legacySerializer.serialize(mm.deserialize(processed)));
+        for (MessageTemplate template : getListTemplates(getLocaleKey(player), path)) {
+            player.sendMessage(legacySerializer.serialize(renderTemplate(template, player, replaceables)));
         }
     }
-}
\ No newline at end of file
+}
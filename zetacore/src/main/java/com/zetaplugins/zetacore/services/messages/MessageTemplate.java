@@ -0,0 +1,280 @@
+package com.zetaplugins.zetacore.services.messages;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntFunction;
+
+/**
+ * A message compiled once from its localization key, so sending it doesn't repeat the string processing.
+ * The prefix, the accent color and legacy color codes are already applied to the MiniMessage format,
+ * and every %placeholder% is turned into a slot.
+ * <br/>Slots in the text are replaced by a {@code <zc_slot:index>} tag, slots inside of tags (e.g. click actions)
+ * are filled into the format as escaped text. Templates without slots in tags are deserialized only once into a component
+ * with a marker per slot, which is replaced by the value of the slot when the message is sent,
+ * see {@link #render(MiniMessage, IntFunction)}.
+ */
+public final class MessageTemplate {
+    /**
+     * The name of the tag that slots in the text are replaced with
+     */
+    public static final String SLOT_TAG = "zc_slot";
+    private static final String MARKER_KEY_PREFIX = "zetacore.slot.";
+    /** Tags that style the text they contain character by character, so their slots can't be filled in after parsing */
+    private static final String[] MODIFYING_TAGS = {"<gradient", "<rainbow", "<transition"};
+
+    private final String source;
+    private final String[] parts;
+    private final String[] slots;
+    private final boolean[] slotInTag;
+    private final char[] slotQuotes;
+    private final String format;
+    private final boolean prebuildable;
+    private volatile Component component;
+    private volatile Component markedComponent;
+
+    private MessageTemplate(String source, String[] parts, String[] slots, boolean[] slotInTag, char[] slotQuotes) {
+        this.source = source;
+        this.parts = parts;
+        this.slots = slots;
+        this.slotInTag = slotInTag;
+        this.slotQuotes = slotQuotes;
+
+        boolean anyInTag = false;
+        for (boolean inTag : slotInTag) anyInTag |= inTag;
+        this.format = anyInTag ? null : buildFormat(index -> null);
+        this.prebuildable = format != null && !containsModifyingTag(format);
+    }
+
+    /**
+     * Compiles a MiniMessage format into a template. Only placeholders without whitespace or tags between
+     * the percent signs are turned into slots, other percent signs are kept as they are.
+     * @param source The unprocessed message, used if the message has to be processed the legacy way
+     * @param format The MiniMessage format with prefix, accent color and color codes already applied
+     * @return The template
+     */
+    public static MessageTemplate compile(String source, String format) {
+        List<String> parts = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        StringBuilder inTags = new StringBuilder();
+        StringBuilder quotes = new StringBuilder();
+
+        StringBuilder part = new StringBuilder();
+        int tagStart = -1;
+        int tagEnd = -1;
+        int i = 0;
+        while (i < format.length()) {
+            char c = format.charAt(i);
+            if (i > tagEnd) {
+                tagStart = -1;
+                if (c == '\\' && i + 1 < format.length()) {
+                    // Escaped characters (e.g. \<) are never tags
+                    part.append(c).append(format.charAt(i + 1));
+                    i += 2;
+                    continue;
+                }
+                if (c == '<') {
+                    tagEnd = MiniMessageTags.findTagEnd(format, i);
+                    if (tagEnd != -1) tagStart = i;
+                }
+            }
+
+            int end = c == '%' ? findSlotEnd(format, i) : -1;
+            if (end == -1) {
+                part.append(c);
+                i++;
+                continue;
+            }
+
+            parts.add(part.toString());
+            part.setLength(0);
+            slots.add(format.substring(i, end + 1));
+            inTags.append(tagStart != -1 ? '1' : '0');
+            quotes.append(tagStart != -1 ? MiniMessageTags.quoteAt(format.substring(tagStart, tagEnd + 1), i - tagStart) : (char) 0);
+            i = end + 1;
+        }
+        parts.add(part.toString());
+
+        boolean[] slotInTag = new boolean[inTags.length()];
+        for (int j = 0; j < slotInTag.length; j++) slotInTag[j] = inTags.charAt(j) == '1';
+        return new MessageTemplate(source, parts.toArray(new String[0]), slots.toArray(new String[0]), slotInTag, quotes.toString().toCharArray());
+    }
+
+    /**
+     * @return The index of the closing percent sign of a placeholder starting at the given index, or -1 if there is none
+     */
+    private static int findSlotEnd(String format, int start) {
+        for (int i = start + 1; i < format.length(); i++) {
+            char c = format.charAt(i);
+            if (c == '%') return i == start + 1 ? -1 : i;
+            if (!isSlotNameChar(c)) return -1;
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if a placeholder can be a slot, which are placeholders like %name% without whitespace or tags between the percent signs
+     * @param placeholder The placeholder including the percent signs
+     * @return True if the placeholder is turned into a slot when it occurs in a message
+     */
+    public static boolean isSlotPlaceholder(String placeholder) {
+        int last = placeholder.length() - 1;
+        if (last < 2 || placeholder.charAt(0) != '%' || placeholder.charAt(last) != '%') return false;
+        for (int i = 1; i < last; i++) {
+            char c = placeholder.charAt(i);
+            if (c == '%' || !isSlotNameChar(c)) return false;
+        }
+        return true;
+    }
+
+    private static boolean isSlotNameChar(char c) {
+        return !Character.isWhitespace(c) && c != '<' && c != '>';
+    }
+
+    private static boolean containsModifyingTag(String format) {
+        String lowerCase = format.toLowerCase(Locale.ROOT);
+        for (String tag : MODIFYING_TAGS) {
+            if (lowerCase.contains(tag)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return The unprocessed message this template was compiled from
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * @return The number of slots
+     */
+    public int getSlotCount() {
+        return slots.length;
+    }
+
+    /**
+     * Gets the placeholder of a slot
+     * @param index The index of the slot
+     * @return The placeholder including the percent signs, e.g. "%player%"
+     */
+    public String getSlot(int index) {
+        return slots[index];
+    }
+
+    /**
+     * Checks if the template has a slot for a placeholder
+     * @param placeholder The placeholder including the percent signs
+     * @return True if one of the slots is the placeholder
+     */
+    public boolean hasSlot(String placeholder) {
+        for (String slot : slots) {
+            if (slot.equals(placeholder)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a slot is inside of a tag, where it can't be replaced by a slot tag
+     * @param index The index of the slot
+     * @return True if the slot is inside of a tag
+     */
+    public boolean isSlotInTag(int index) {
+        return slotInTag[index];
+    }
+
+    /**
+     * Checks if the template can be rendered with {@link #render(MiniMessage, IntFunction)}, which is the case
+     * if no slot is inside of a tag and no tag styles its text character by character (e.g. gradients).
+     * @return True if the template can be rendered without parsing it again
+     */
+    public boolean isPrebuildable() {
+        return prebuildable;
+    }
+
+    /**
+     * Gets the MiniMessage format with slots in the text replaced by slot tags
+     * @param inTagValues Gets the text of a slot inside of a tag by its index, or null to keep the placeholder.
+     *                    The text is escaped for the tag argument it is in, text that can't be escaped keeps the placeholder.
+     * @return The format
+     */
+    public String getFormat(IntFunction<String> inTagValues) {
+        return format != null ? format : buildFormat(inTagValues);
+    }
+
+    /**
+     * Gets the component of a template without slots, deserializing it on first use
+     * @param miniMessage The MiniMessage instance
+     * @return The component
+     */
+    public Component getComponent(MiniMessage miniMessage) {
+        Component current = component;
+        if (current == null) {
+            current = miniMessage.deserialize(getFormat(index -> null));
+            component = current;
+        }
+        return current;
+    }
+
+    /**
+     * Renders a {@link #isPrebuildable() prebuildable} template without parsing it again.
+     * The template is deserialized on first use with a marker per slot, the markers are replaced by the values of the slots,
+     * which keep the style of the text around the slot.
+     * @param miniMessage The MiniMessage instance
+     * @param values Gets the component of a slot by its index
+     * @return The component
+     * @throws IllegalStateException If the template is not prebuildable
+     */
+    public Component render(MiniMessage miniMessage, IntFunction<Component> values) {
+        if (!prebuildable) throw new IllegalStateException("Template has slots that can't be filled in after parsing");
+
+        Component current = markedComponent;
+        if (current == null) {
+            TagResolver markers = TagResolver.resolver(SLOT_TAG, (args, ctx) ->
+                    Tag.selfClosingInserting(Component.translatable(MARKER_KEY_PREFIX + args.popOr("Missing slot index").value()))
+            );
+            current = miniMessage.deserialize(format, markers);
+            markedComponent = current;
+        }
+        return fillMarkers(current, values);
+    }
+
+    private static Component fillMarkers(Component component, IntFunction<Component> values) {
+        if (component instanceof TranslatableComponent translatable && translatable.key().startsWith(MARKER_KEY_PREFIX)) {
+            int index = Integer.parseInt(translatable.key().substring(MARKER_KEY_PREFIX.length()));
+            Component value = values.apply(index);
+            return component.style().isEmpty() ? value : Component.text().style(component.style()).append(value).build();
+        }
+
+        List<Component> children = component.children();
+        List<Component> filled = null;
+        for (int i = 0; i < children.size(); i++) {
+            Component child = children.get(i);
+            Component replaced = fillMarkers(child, values);
+            if (replaced != child && filled == null) filled = new ArrayList<>(children.subList(0, i));
+            if (filled != null) filled.add(replaced);
+        }
+        return filled == null ? component : component.children(filled);
+    }
+
+    private String buildFormat(IntFunction<String> inTagValues) {
+        StringBuilder builder = new StringBuilder(source.length() + slots.length * 16);
+        for (int i = 0; i < slots.length; i++) {
+            builder.append(parts[i]);
+            if (slotInTag[i]) {
+                String value = inTagValues.apply(i);
+                String escaped = value == null ? null : MiniMessageTags.escapeArgument(value, slotQuotes[i]);
+                builder.append(escaped != null ? escaped : slots[i]);
+            } else {
+                builder.append('<').append(SLOT_TAG).append(':').append(i).append('>');
+            }
+        }
+        return builder.append(parts[slots.length]).toString();
+    }
+}
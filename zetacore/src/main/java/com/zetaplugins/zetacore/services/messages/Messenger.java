@@ -6,7 +6,8 @@ import org.bukkit.command.CommandSender;
 @Manager
 public interface Messenger {
     /**
-     * Send a message by path with placeholders
+     * Send a message by path with placeholders.
+     * Players get the message in the language of their client if the localization service supports it.
      * @param player target
      * @param addPrefix whether to add configured prefix
      * @param path message path in localization
@@ -24,7 +25,7 @@ public interface Messenger {
     void sendRaw(CommandSender player, String rawMessage, Replaceable<?>... replaceables);
 
     /**
-     * Send a list of messages by path with placeholders
+     * Send a list of messages by path with placeholders, in the language of the target like {@link #send}
      * @param player target
      * @param path message path in localization
      * @param replaceables placeholders
@@ -0,0 +1,86 @@
+package com.zetaplugins.zetacore.services.messages;
+
+/**
+ * Helpers for finding MiniMessage tags in a format and safely splicing text into tag arguments.
+ */
+final class MiniMessageTags {
+    private MiniMessageTags() {}
+
+    /**
+     * Finds the end of a tag starting at the given index. Like MiniMessage, a '&lt;' only starts a tag
+     * if it is followed by a tag name and closed by a '&gt;' that is not inside of a quoted argument.
+     * @param text The format
+     * @param start The index of the opening '&lt;'
+     * @return The index of the closing '&gt;', or -1 if there is no tag at the given index
+     */
+    static int findTagEnd(String text, int start) {
+        if (start + 1 >= text.length() || !isTagStart(text.charAt(start + 1))) return -1;
+
+        char quote = 0;
+        for (int i = start + 1; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quote != 0) {
+                if (c == '\\' && i + 1 < text.length()) i++;
+                else if (c == quote) quote = 0;
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '>') {
+                return i;
+            } else if (c == '<') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the quote that is open at the given index of a tag
+     * @param tag The tag including the angle brackets
+     * @param index The index in the tag
+     * @return The quote character, or 0 if the index is not inside of a quoted argument
+     */
+    static char quoteAt(String tag, int index) {
+        char quote = 0;
+        for (int i = 1; i < index; i++) {
+            char c = tag.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') i++;
+                else if (c == quote) quote = 0;
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            }
+        }
+        return quote;
+    }
+
+    /**
+     * Escapes text to be spliced into a tag argument, so it can't close the argument or the tag.
+     * @param value The text
+     * @param quote The quote of the argument, or 0 if the argument is not quoted
+     * @return The escaped text, or null if the text can't be used in an unquoted argument
+     */
+    static String escapeArgument(String value, char quote) {
+        if (quote == 0) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == ':' || c == '<' || c == '>' || c == '\'' || c == '"' || c == '\\') return null;
+            }
+            return value;
+        }
+
+        StringBuilder escaped = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == quote || c == '\\') {
+                if (escaped == null) escaped = new StringBuilder(value.length() + 8).append(value, 0, i);
+                escaped.append('\\');
+            }
+            if (escaped != null) escaped.append(c);
+        }
+        return escaped == null ? value : escaped.toString();
+    }
+
+    private static boolean isTagStart(char c) {
+        return Character.isLetterOrDigit(c) || c == '/' || c == '!' || c == '#' || c == '?' || c == '_' || c == '-';
+    }
+}
@@ -0,0 +1,138 @@
+package com.zetaplugins.zetacore.services.messages;
+
+import java.util.*;
+
+/**
+ * Replaces fixed patterns (e.g. legacy color codes) and placeholders in a single scan of the text.
+ * At every position only the patterns starting with the character at that position are compared,
+ * and the text is only copied if something is replaced.
+ * <br/>Replaced text is not scanned again, but the fixed patterns are applied to placeholder values,
+ * so color codes in values are still translated. Instances are immutable and thread-safe.
+ */
+public final class PlaceholderReplacer {
+    private static final String[] NONE = new String[0];
+
+    private final Map<String, String> replacements;
+    private final String[][] patternsByChar = new String[128][];
+    private final Map<Character, String[]> otherPatterns = new HashMap<>();
+
+    /**
+     * @param replacements The fixed patterns and their replacements
+     */
+    public PlaceholderReplacer(Map<String, String> replacements) {
+        this.replacements = Map.copyOf(replacements);
+
+        Map<Character, List<String>> grouped = new HashMap<>();
+        for (String pattern : this.replacements.keySet()) {
+            if (!pattern.isEmpty()) grouped.computeIfAbsent(pattern.charAt(0), k -> new ArrayList<>()).add(pattern);
+        }
+
+        grouped.forEach((first, patterns) -> {
+            // Prefer the longest pattern if patterns share a prefix
+            patterns.sort(Comparator.comparingInt(String::length).reversed());
+            String[] array = patterns.toArray(NONE);
+            if (first < patternsByChar.length) patternsByChar[first] = array;
+            else otherPatterns.put(first, array);
+        });
+    }
+
+    /**
+     * @return The fixed patterns and their replacements
+     */
+    public Map<String, String> getReplacements() {
+        return replacements;
+    }
+
+    /**
+     * Replaces the fixed patterns in a text
+     * @param text The text
+     * @return The text with all patterns replaced, or the same instance if nothing was replaced
+     */
+    public String replace(String text) {
+        return replace(text, NONE, NONE);
+    }
+
+    /**
+     * Replaces the placeholders and the fixed patterns in a text
+     * @param text The text
+     * @param replaceables The placeholders to replace, taking precedence over the fixed patterns
+     * @return The text with all placeholders and patterns replaced
+     */
+    public String replace(String text, Replaceable<?>... replaceables) {
+        if (replaceables.length == 0) return replace(text);
+
+        String[] placeholders = new String[replaceables.length];
+        String[] values = new String[replaceables.length];
+        for (int i = 0; i < replaceables.length; i++) {
+            placeholders[i] = replaceables[i].placeholder();
+            values[i] = String.valueOf(replaceables[i].value());
+        }
+        return replace(text, placeholders, values);
+    }
+
+    /**
+     * Replaces the placeholders and the fixed patterns in a text
+     * @param text The text
+     * @param placeholders The placeholders to replace, taking precedence over the fixed patterns
+     * @param values The values of the placeholders, with the fixed patterns applied to them
+     * @return The text with all placeholders and patterns replaced
+     */
+    public String replace(String text, String[] placeholders, String[] values) {
+        StringBuilder result = null;
+        int copied = 0;
+        int i = 0;
+
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            String match = null;
+            String replacement = null;
+
+            for (int p = 0; p < placeholders.length; p++) {
+                String placeholder = placeholders[p];
+                if (placeholder != null && !placeholder.isEmpty() && placeholder.charAt(0) == c && text.startsWith(placeholder, i)) {
+                    match = placeholder;
+                    replacement = replace(values[p]);
+                    break;
+                }
+            }
+
+            if (match == null) {
+                String[] patterns = c < patternsByChar.length ? patternsByChar[c] : otherPatterns.get(c);
+                if (patterns != null) {
+                    for (String pattern : patterns) {
+                        if (text.startsWith(pattern, i)) {
+                            match = pattern;
+                            replacement = replacements.get(pattern);
+                            break;
+                        }
+                    }
+                }
+            }
+
+            if (match == null) {
+                i++;
+                continue;
+            }
+
+            if (result == null) result = new StringBuilder(text.length() + 32);
+            result.append(text, copied, i).append(replacement);
+            i += match.length();
+            copied = i;
+        }
+
+        if (result == null) return text;
+        return result.append(text, copied, text.length()).toString();
+    }
+
+    /**
+     * Creates a replacer with an additional pattern
+     * @param pattern The pattern
+     * @param replacement The replacement
+     * @return The new replacer
+     */
+    public PlaceholderReplacer with(String pattern, String replacement) {
+        Map<String, String> extended = new HashMap<>(replacements);
+        extended.put(pattern, replacement);
+        return new PlaceholderReplacer(extended);
+    }
+}
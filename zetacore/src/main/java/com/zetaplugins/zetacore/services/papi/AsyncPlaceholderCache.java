@@ -0,0 +1,155 @@
+package com.zetaplugins.zetacore.services.papi;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Stale-while-revalidate cache for placeholders that are computed asynchronously.
+ * A request never waits for the computation. It returns the last known value (or a loading value)
+ * and starts a background refresh if none is in flight for the same key.
+ * <br/>Entries that weren't requested for a while are dropped, and the number of entries is capped,
+ * so pattern placeholders with free-form arguments can't grow the cache forever.
+ */
+final class AsyncPlaceholderCache {
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile int maxEntries = 10_000;
+    private volatile long idleExpiryMillis = TimeUnit.MINUTES.toMillis(10);
+    private volatile long lastSweep;
+
+    AsyncPlaceholderCache() {
+        this(System::currentTimeMillis);
+    }
+
+    AsyncPlaceholderCache(LongSupplier clock) {
+        this.clock = clock;
+        this.lastSweep = clock.getAsLong();
+    }
+
+    /**
+     * Starts the asynchronous computation of a placeholder value.
+     */
+    @FunctionalInterface
+    interface Refresher {
+        CompletableFuture<?> start() throws Exception;
+    }
+
+    int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * @param maxEntries The maximum number of cached values, the least recently requested ones are dropped first
+     */
+    void setMaxEntries(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    long getIdleExpiryMillis() {
+        return idleExpiryMillis;
+    }
+
+    /**
+     * @param idleExpiryMillis The time after which a value that wasn't requested is dropped
+     */
+    void setIdleExpiryMillis(long idleExpiryMillis) {
+        this.idleExpiryMillis = Math.max(1, idleExpiryMillis);
+    }
+
+    /**
+     * Gets the cached value for the given key, refreshing it in the background if needed.
+     * @param key The cache key (usually player and identifier)
+     * @param refresher Starts the computation of a fresh value
+     * @param loadingValue The value to return if no value has been computed yet
+     * @param refreshIntervalMillis The minimum time between two refreshes of the same key
+     * @param errorHandler Called when the computation fails
+     * @return The last known value, or the loading value
+     */
+    String get(String key, Refresher refresher, String loadingValue, long refreshIntervalMillis, BiConsumer<String, Throwable> errorHandler) {
+        long now = clock.getAsLong();
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+        entry.lastAccess = now;
+        if (entries.size() > maxEntries || now - lastSweep >= idleExpiryMillis) evict(now);
+
+        if (now - entry.lastRefresh >= refreshIntervalMillis && entry.refreshing.compareAndSet(false, true)) {
+            Entry refreshed = entry;
+            try {
+                refresher.start().whenComplete((value, error) -> {
+                    if (error == null) {
+                        refreshed.value = Objects.toString(value, null);
+                        refreshed.hasValue = true;
+                    } else {
+                        errorHandler.accept(key, error);
+                    }
+                    refreshed.lastRefresh = clock.getAsLong();
+                    refreshed.refreshing.set(false);
+                });
+            } catch (Exception e) {
+                entry.lastRefresh = clock.getAsLong();
+                entry.refreshing.set(false);
+                errorHandler.accept(key, e);
+            }
+        }
+
+        // If the future was already completed, whenComplete ran synchronously and the value is fresh
+        return entry.hasValue ? entry.value : loadingValue;
+    }
+
+    /**
+     * Drops idle entries, and the least recently requested entries if the cache is still too large.
+     * Evicts down to three quarters of the maximum, so a full cache isn't swept on every new key.
+     */
+    private synchronized void evict(long now) {
+        lastSweep = now;
+        long expiry = idleExpiryMillis;
+        entries.values().removeIf(entry -> now - entry.lastAccess >= expiry);
+
+        int target = maxEntries - maxEntries / 4;
+        if (entries.size() <= maxEntries) return;
+
+        List<Map.Entry<String, Entry>> oldest = new ArrayList<>(entries.entrySet());
+        oldest.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+        for (int i = 0; i < oldest.size() - target; i++) {
+            entries.remove(oldest.get(i).getKey(), oldest.get(i).getValue());
+        }
+    }
+
+    /**
+     * Removes all cached values whose key starts with the given prefix.
+     * @param prefix The key prefix (e.g. a player's UUID)
+     */
+    void invalidatePrefix(String prefix) {
+        entries.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * Removes all cached values.
+     */
+    void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return The number of cached values
+     */
+    int size() {
+        return entries.size();
+    }
+
+    private static final class Entry {
+        private final AtomicBoolean refreshing = new AtomicBoolean(false);
+        private volatile String value;
+        private volatile boolean hasValue;
+        private volatile long lastRefresh = Long.MIN_VALUE / 2;
+        private volatile long lastAccess;
+    }
+}
@@ -0,0 +1,125 @@
+package com.zetaplugins.zetacore.services.papi;
+
+import org.bukkit.OfflinePlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A string containing placeholders of a {@link PapiExpansionService} that has been tokenized once
+ * and can be evaluated for any number of players without scanning the string again.
+ * Create instances using {@link PapiExpansionService#compile(String)}.
+ * <p>
+ * Placeholders of other expansions are kept as they are, so the result can still be passed to PlaceholderAPI.
+ */
+public final class CompiledPlaceholderTemplate {
+    private final PapiExpansionService service;
+    private final String template;
+    private final String[] literals;
+    private final String[] identifiers;
+    private final String[] rawTokens;
+    private final int literalLength;
+
+    private CompiledPlaceholderTemplate(PapiExpansionService service, String template, String[] literals, String[] identifiers, String[] rawTokens) {
+        this.service = service;
+        this.template = template;
+        this.literals = literals;
+        this.identifiers = identifiers;
+        this.rawTokens = rawTokens;
+
+        int length = 0;
+        for (String literal : literals) length += literal.length();
+        this.literalLength = length;
+    }
+
+    /**
+     * Tokenizes the given template into literal text and placeholders of the given service.
+     * @param service The expansion the placeholders belong to
+     * @param template The template (e.g. "%myplugin_kills% kills, %myplugin_deaths% deaths")
+     * @return The compiled template
+     */
+    static CompiledPlaceholderTemplate compile(PapiExpansionService service, String template) {
+        String prefix = service.getIdentifier() + "_";
+        List<String> literals = new ArrayList<>();
+        List<String> identifiers = new ArrayList<>();
+        List<String> rawTokens = new ArrayList<>();
+
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < template.length()) {
+            int start = template.indexOf('%', i);
+            if (start == -1) {
+                literal.append(template, i, template.length());
+                break;
+            }
+
+            int end = template.indexOf('%', start + 1);
+            if (end == -1) {
+                literal.append(template, i, template.length());
+                break;
+            }
+
+            literal.append(template, i, start);
+            String token = template.substring(start + 1, end);
+
+            if (token.length() > prefix.length() && token.startsWith(prefix)) {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                identifiers.add(token.substring(prefix.length()));
+                rawTokens.add(template.substring(start, end + 1));
+                i = end + 1;
+            } else {
+                // Not one of ours, keep it as text. The closing % may open the next placeholder
+                literal.append(template, start, end);
+                i = end;
+            }
+        }
+        literals.add(literal.toString());
+
+        return new CompiledPlaceholderTemplate(
+                service,
+                template,
+                literals.toArray(new String[0]),
+                identifiers.toArray(new String[0]),
+                rawTokens.toArray(new String[0])
+        );
+    }
+
+    /**
+     * Evaluates all placeholders of this template for the given player.
+     * Placeholders that resolve to null are kept as they are.
+     * @param player The player to resolve the placeholders for
+     * @return The template with all placeholders of the expansion replaced
+     */
+    public String apply(OfflinePlayer player) {
+        if (identifiers.length == 0) return literals[0];
+
+        StringBuilder result = new StringBuilder(literalLength + identifiers.length * 16);
+        for (int i = 0; i < identifiers.length; i++) {
+            result.append(literals[i]);
+            String value = service.resolve(player, identifiers[i]);
+            result.append(value != null ? value : rawTokens[i]);
+        }
+        result.append(literals[identifiers.length]);
+        return result.toString();
+    }
+
+    /**
+     * @return The template this instance was compiled from
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * @return The number of placeholders of the expansion in this template
+     */
+    public int getPlaceholderCount() {
+        return identifiers.length;
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
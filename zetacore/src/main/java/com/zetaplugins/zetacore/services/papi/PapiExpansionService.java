@@ -2,9 +2,16 @@ package com.zetaplugins.zetacore.services.papi;
 
 import com.zetaplugins.zetacore.annotations.Papi;
 import com.zetaplugins.zetacore.annotations.PapiParam;
+import com.zetaplugins.zetacore.util.ThrottledLogger;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -12,6 +19,7 @@ import org.jetbrains.annotations.Nullable;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
@@ -20,19 +28,29 @@ public class PapiExpansionService {
     private String identifier;
     private String author;
     private String version;
-    private Map<String, PlaceholderFunction> placeholders;
-    private List<PatternEntry> patternPlaceholders = new ArrayList<>();
+    // Immutable snapshot, replaced on every registration so lookups from async threads never need a lock
+    private volatile Registry registry = Registry.EMPTY;
     private Logger logger;
 
     private String playerNotFoundMessage = "PlayerNotFound";
     private String playerNotOnlineMessage = "PlayerNotOnline";
 
+    private final AsyncPlaceholderCache asyncCache = new AsyncPlaceholderCache();
+    private String asyncLoadingMessage = "Loading...";
+    private long asyncRefreshIntervalMillis = 0;
+    private CacheListener cacheListener;
+
+    private final PlaceholderMetrics metrics = new PlaceholderMetrics(this::getIdentifier);
+    private boolean metricsEnabled = true;
+    private long slowPlaceholderThresholdMillis = 50;
+
+    private final TickPlaceholderMemo tickMemo = new TickPlaceholderMemo();
+    private boolean tickMemoization = false;
+
     /**
      * Creates a new empty PapiExpansionService.
      */
-    public PapiExpansionService() {
-        this.placeholders = new HashMap<>();
-    }
+    public PapiExpansionService() {}
 
     /**
      * Creates a new PapiExpansionService with the given identifier, author, and version.
@@ -44,7 +62,6 @@ public class PapiExpansionService {
         this.identifier = identifier;
         this.author = author;
         this.version = version;
-        this.placeholders = new HashMap<>();
         this.logger = logger;
     }
 
@@ -56,8 +73,8 @@ public class PapiExpansionService {
         this.identifier = plugin.getName().toLowerCase();
         this.author = plugin.getDescription().getAuthors().isEmpty() ? "Unknown" : plugin.getDescription().getAuthors().get(0);
         this.version = plugin.getDescription().getVersion();
-        this.placeholders = new HashMap<>();
         this.logger = plugin.getLogger();
+        registerListeners(plugin);
     }
 
     public String getIdentifier() {
@@ -124,39 +141,230 @@ public class PapiExpansionService {
         return this;
     }
 
+    public String getAsyncLoadingMessage() {
+        return asyncLoadingMessage;
+    }
+
+    /**
+     * Sets the message to return while an asynchronous placeholder has not produced its first value yet.
+     * @param asyncLoadingMessage The message to set (default: "Loading...")
+     * @return The PapiExpansionService instance
+     */
+    public PapiExpansionService setAsyncLoadingMessage(@Nullable String asyncLoadingMessage) {
+        this.asyncLoadingMessage = asyncLoadingMessage;
+        return this;
+    }
+
+    public long getAsyncRefreshInterval() {
+        return asyncRefreshIntervalMillis;
+    }
+
+    /**
+     * Sets the minimum time between two background refreshes of the same asynchronous placeholder.
+     * Within this interval the last known value is returned without starting a new computation.
+     * @param asyncRefreshIntervalMillis The interval in milliseconds (default: 0, refresh whenever no refresh is running)
+     * @return The PapiExpansionService instance
+     */
+    public PapiExpansionService setAsyncRefreshInterval(long asyncRefreshIntervalMillis) {
+        this.asyncRefreshIntervalMillis = Math.max(0, asyncRefreshIntervalMillis);
+        return this;
+    }
+
+    public int getAsyncCacheSize() {
+        return asyncCache.getMaxEntries();
+    }
+
+    /**
+     * Sets the maximum number of cached values of asynchronous placeholders.
+     * If the cache is full, the values that were requested least recently are dropped.
+     * @param asyncCacheSize The maximum number of values (default: 10000)
+     * @return The PapiExpansionService instance
+     */
+    public PapiExpansionService setAsyncCacheSize(int asyncCacheSize) {
+        asyncCache.setMaxEntries(asyncCacheSize);
+        return this;
+    }
+
+    public long getAsyncCacheExpiry() {
+        return asyncCache.getIdleExpiryMillis();
+    }
+
+    /**
+     * Sets after how long a cached value of an asynchronous placeholder is dropped if it isn't requested.
+     * @param asyncCacheExpiryMillis The time in milliseconds (default: 10 minutes)
+     * @return The PapiExpansionService instance
+     */
+    public PapiExpansionService setAsyncCacheExpiry(long asyncCacheExpiryMillis) {
+        asyncCache.setIdleExpiryMillis(asyncCacheExpiryMillis);
+        return this;
+    }
+
+    /**
+     * Registers the listener that drops the cached values of asynchronous placeholders of players when they quit.
+     * Called automatically by {@link #PapiExpansionService(JavaPlugin)}. The listener is unregistered when the plugin is disabled.
+     * @param plugin The plugin to register the listener for
+     * @return The PapiExpansionService instance
+     */
+    public synchronized PapiExpansionService registerListeners(JavaPlugin plugin) {
+        if (cacheListener != null) return this;
+        cacheListener = new CacheListener(plugin);
+        plugin.getServer().getPluginManager().registerEvents(cacheListener, plugin);
+        ThrottledLogger.install(plugin);
+        return this;
+    }
+
+    /**
+     * Clears the cached values of asynchronous placeholders for the given player.
+     * @param player The player whose values should be cleared
+     */
+    public void invalidateAsyncValues(OfflinePlayer player) {
+        asyncCache.invalidatePrefix(player.getUniqueId() + ":");
+    }
+
+    /**
+     * Clears all cached values of asynchronous placeholders.
+     */
+    public void invalidateAsyncValues() {
+        asyncCache.clear();
+    }
+
+    /**
+     * Gets the metrics collected for the placeholders of this expansion.
+     * The returned object can also be passed to the debug command and debug report as a {@link com.zetaplugins.zetacore.debug.DebugMetricsProvider}.
+     * @return The placeholder metrics
+     */
+    public PlaceholderMetrics getMetrics() {
+        return metrics;
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    /**
+     * Enables or disables the collection of placeholder metrics.
+     * @param metricsEnabled Whether metrics should be collected (default: true)
+     * @return The PapiExpansionService instance
+     */
+    public PapiExpansionService setMetricsEnabled(boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+        return this;
+    }
+
+    public long getSlowPlaceholderThreshold() {
+        return slowPlaceholderThresholdMillis;
+    }
+
+    /**
+     * Sets the duration after which a placeholder call is logged as slow.
+     * @param slowPlaceholderThresholdMillis The threshold in milliseconds (default: 50, 0 to disable)
+     * @return The PapiExpansionService instance
+     */
+    public PapiExpansionService setSlowPlaceholderThreshold(long slowPlaceholderThresholdMillis) {
+        this.slowPlaceholderThresholdMillis = Math.max(0, slowPlaceholderThresholdMillis);
+        return this;
+    }
+
+    public boolean isTickMemoization() {
+        return tickMemoization;
+    }
+
+    /**
+     * Enables or disables per-tick memoization of placeholder results.
+     * When enabled, a placeholder requested multiple times for the same player within one server tick
+     * (e.g. by a scoreboard, a tab list and holograms) is only computed once.
+     * All memoized values are dropped as soon as the next tick starts.
+     * @param tickMemoization Whether results should be memoized per tick (default: false)
+     * @return The PapiExpansionService instance
+     */
+    public PapiExpansionService setTickMemoization(boolean tickMemoization) {
+        this.tickMemoization = tickMemoization;
+        if (!tickMemoization) tickMemo.clear();
+        return this;
+    }
+
+    /**
+     * Gets the placeholders of the expansion that have a fixed identifier.
+     * @return An immutable snapshot of the placeholders
+     */
     public Map<String, PlaceholderFunction> getPlaceholders() {
-        return placeholders;
+        return registry.placeholders();
     }
 
     /**
      * Sets the placeholders for the expansion.
+     * The map is copied, so later changes to it have no effect.
      * @param placeholders The map of placeholders
      * @return The PapiExpansionService instance
      */
-    public PapiExpansionService setPlaceholders(Map<String, PlaceholderFunction> placeholders) {
-        this.placeholders = placeholders;
+    public synchronized PapiExpansionService setPlaceholders(Map<String, PlaceholderFunction> placeholders) {
+        registry = new Registry(Map.copyOf(placeholders), registry.patternPlaceholders());
         return this;
     }
 
     /**
      * Adds a placeholder to the expansion.
+     * Can be called at any time, including while PlaceholderAPI is requesting placeholders.
      * @param key The key of the placeholder
      * @param function The function to execute for the placeholder
      * @return The PapiExpansionService instance
      */
-    public PapiExpansionService addPlaceholder(String key, PlaceholderFunction function) {
-        this.placeholders.put(key, function);
+    public synchronized PapiExpansionService addPlaceholder(String key, PlaceholderFunction function) {
+        Map<String, PlaceholderFunction> updated = new HashMap<>(registry.placeholders());
+        updated.put(key, Objects.requireNonNull(function, "function"));
+        registry = new Registry(Map.copyOf(updated), registry.patternPlaceholders());
+        return this;
+    }
+
+    /**
+     * Removes a placeholder from the expansion.
+     * @param key The identifier of the placeholder, or the template of a patterned placeholder (e.g. "count_plus_{number}")
+     * @return True if a placeholder was removed, false otherwise
+     */
+    public synchronized boolean removePlaceholder(String key) {
+        Registry current = registry;
+        boolean exact = current.placeholders().containsKey(key);
+        boolean pattern = current.patternPlaceholders().stream().anyMatch(pe -> pe.getTemplate().equals(key));
+        if (!exact && !pattern) return false;
+
+        Map<String, PlaceholderFunction> placeholders = current.placeholders();
+        if (exact) {
+            Map<String, PlaceholderFunction> updated = new HashMap<>(placeholders);
+            updated.remove(key);
+            placeholders = Map.copyOf(updated);
+        }
+
+        List<PatternEntry> patternPlaceholders = current.patternPlaceholders();
+        if (pattern) {
+            patternPlaceholders = patternPlaceholders.stream().filter(pe -> !pe.getTemplate().equals(key)).toList();
+        }
+
+        registry = new Registry(placeholders, patternPlaceholders);
+        return true;
+    }
+
+    /**
+     * Removes all placeholders from the expansion.
+     * @return The PapiExpansionService instance
+     */
+    public synchronized PapiExpansionService clearPlaceholders() {
+        registry = Registry.EMPTY;
         return this;
     }
 
     /**
      * Adds annotated placeholders from the given object.
      * Methods annotated with {@link Papi} will be registered as placeholders.
+     * Methods may return a {@link CompletableFuture}. In that case the last known value (or the async loading message)
+     * is returned immediately and the value is refreshed in the background.
+     * All placeholders of the object are published at once.
      * @param obj The object containing annotated methods
      * @return The PapiExpansionService instance
      */
-    public PapiExpansionService addAnnotatedPlaceholders(Object obj) {
+    public synchronized PapiExpansionService addAnnotatedPlaceholders(Object obj) {
         Class<?> clazz = obj.getClass();
+        Map<String, PlaceholderFunction> placeholders = new HashMap<>(registry.placeholders());
+        List<PatternEntry> patternPlaceholders = new ArrayList<>(registry.patternPlaceholders());
 
         for (Method method : clazz.getDeclaredMethods()) {
             if (!method.isAnnotationPresent(Papi.class)) continue;
@@ -168,38 +376,45 @@ public class PapiExpansionService {
 
             if (!placeholderIdentifier.contains("{")) {
                 PlaceholderFunction pf = createPlaceholderFunctionForMethod(obj, method, placeholderIdentifier);
-                this.addPlaceholder(placeholderIdentifier, pf);
+                placeholders.put(placeholderIdentifier, pf);
                 continue;
             }
 
             patternPlaceholders.add(createPatternEntryForMethod(obj, method, placeholderIdentifier));
         }
+
+        registry = new Registry(Map.copyOf(placeholders), List.copyOf(patternPlaceholders));
         return this;
     }
 
     private PlaceholderFunction createPlaceholderFunctionForMethod(Object obj, Method method, String placeholderIdentifier) {
+        boolean async = isAsyncMethod(method);
+
         return (player, identifier) -> {
             try {
                 // Must be of signature: () -> String or (OfflinePlayer) -> String or (Player) -> String
-                if (method.getParameterCount() == 0) return Objects.toString(method.invoke(obj), null);
+                Object[] invokeArgs;
+                if (method.getParameterCount() == 0) invokeArgs = new Object[0];
                 else if (method.getParameterCount() == 1) {
                     Class<?> paramType = method.getParameterTypes()[0];
                     if (paramType == OfflinePlayer.class) {
-                        return (String) method.invoke(obj, player);
+                        invokeArgs = new Object[]{player};
                     } else if (paramType == Player.class) {
                         if (!player.isOnline()) return playerNotOnlineMessage;
-                        return (String) method.invoke(obj, player.getPlayer());
+                        invokeArgs = new Object[]{player.getPlayer()};
                     } else if (paramType == String.class) {
-                        return (String) method.invoke(obj, player.getName());
+                        invokeArgs = new Object[]{player.getName()};
                     } else {
                         throw new IllegalArgumentException("Unsupported parameter type for Papi method: " + paramType.getName());
                     }
                 } else {
                     throw new IllegalArgumentException("Papi method must have 0 or 1 parameters.");
                 }
+
+                if (async) return resolveAsync(player, identifier, placeholderIdentifier, () -> (CompletableFuture<?>) method.invoke(obj, invokeArgs));
+                return Objects.toString(method.invoke(obj, invokeArgs), null);
             } catch (Exception e) {
-                if (logger != null) logger.log(Level.SEVERE, "Error executing PAPI placeholder method for identifier '" + placeholderIdentifier + "': " + e.getMessage(), e);
-                else e.printStackTrace();
+                logPlaceholderError(placeholderIdentifier, "Error executing PAPI placeholder method for identifier '" + placeholderIdentifier + "'", e);
                 return null;
             }
         };
@@ -209,6 +424,7 @@ public class PapiExpansionService {
         Pair<Pattern, String[]> compiled = compilePattern(placeholderIdentifier);
         Pattern regex = compiled.key();
         String[] paramNames = compiled.value();
+        boolean async = isAsyncMethod(method);
 
         PatternPlaceholderFunction pFunc = (player, identifier1, args) -> {
             try {
@@ -250,16 +466,147 @@ public class PapiExpansionService {
                     }
                 }
 
-                Object result = method.invoke(obj, invokeArgs.toArray());
+                Object[] invokeArgsArray = invokeArgs.toArray();
+                if (async) return resolveAsync(player, identifier1, placeholderIdentifier, () -> (CompletableFuture<?>) method.invoke(obj, invokeArgsArray));
+
+                Object result = method.invoke(obj, invokeArgsArray);
                 return result == null ? null : String.valueOf(result);
             } catch (Exception e) {
-                if (logger != null) logger.log(Level.SEVERE, "Error executing patterned PAPI method for '" + placeholderIdentifier + "': " + e.getMessage(), e);
-                else e.printStackTrace();
+                logPlaceholderError(placeholderIdentifier, "Error executing patterned PAPI method for '" + placeholderIdentifier + "'", e);
                 return null;
             }
         };
 
-        return new PatternEntry(regex, paramNames, pFunc);
+        return new PatternEntry(placeholderIdentifier, regex, paramNames, pFunc);
+    }
+
+    private static boolean isAsyncMethod(Method method) {
+        return CompletableFuture.class.isAssignableFrom(method.getReturnType());
+    }
+
+    /**
+     * Resolves an asynchronous placeholder without blocking.
+     * Returns the last known value or the loading message and refreshes the value in the background.
+     * Concurrent refreshes of the same player and identifier are de-duplicated.
+     * @param player The player the placeholder is requested for
+     * @param identifier The full placeholder identifier
+     * @param metricsKey The placeholder identifier or template the metrics are recorded for
+     * @param refresher Starts the computation of a fresh value
+     * @return The last known value, or the async loading message
+     */
+    private String resolveAsync(OfflinePlayer player, String identifier, String metricsKey, AsyncPlaceholderCache.Refresher refresher) {
+        return asyncCache.get(
+                player.getUniqueId() + ":" + identifier,
+                refresher,
+                asyncLoadingMessage,
+                asyncRefreshIntervalMillis,
+                (key, error) -> logPlaceholderError(metricsKey, "Error computing async PAPI placeholder '" + identifier + "'", error)
+        );
+    }
+
+    /**
+     * Records a failed placeholder call and logs the error.
+     * Repeated errors of the same placeholder are throttled, so a broken placeholder requested every tick doesn't flood the console.
+     * @param metricsKey The placeholder identifier or template
+     * @param message The message to log
+     * @param error The error that occurred
+     */
+    private void logPlaceholderError(String metricsKey, String message, Throwable error) {
+        if (metricsEnabled) metrics.recordError(metricsKey);
+        if (logger != null) ThrottledLogger.of(logger).log(Level.SEVERE, "papi:" + metricsKey, message, error);
+        else error.printStackTrace();
+    }
+
+    /**
+     * Records the duration of a placeholder call and logs it if it exceeds the slow placeholder threshold.
+     * Repeated slow calls of the same placeholder are throttled like errors.
+     * @param metricsKey The placeholder identifier or template
+     * @param startNanos The {@link System#nanoTime()} at which the call started
+     */
+    private void recordInvocation(String metricsKey, long startNanos) {
+        if (!metricsEnabled) return;
+        long nanos = System.nanoTime() - startNanos;
+        metrics.recordInvocation(metricsKey, nanos);
+
+        if (slowPlaceholderThresholdMillis > 0 && nanos > slowPlaceholderThresholdMillis * 1_000_000L && logger != null) {
+            // Throttled per placeholder, a slow placeholder on a scoreboard is requested every tick for every player
+            ThrottledLogger.of(logger).log(
+                    Level.WARNING,
+                    "papi-slow:" + metricsKey,
+                    "PAPI placeholder '" + metricsKey + "' took " + (nanos / 1_000_000) + "ms (threshold: " + slowPlaceholderThresholdMillis + "ms)",
+                    null
+            );
+        }
+    }
+
+    /**
+     * Resolves a placeholder of this expansion without going through PlaceholderAPI.
+     * @param player The player to resolve the placeholder for
+     * @param identifier The placeholder identifier without the expansion prefix (e.g. "count" for %myplugin_count%)
+     * @return The placeholder value, or null if no placeholder matches the identifier
+     */
+    public @Nullable String resolve(OfflinePlayer player, @NotNull String identifier) {
+        if (player == null) return playerNotFoundMessage;
+        if (tickMemoization) return tickMemo.get(player.getUniqueId() + ":" + identifier, () -> resolveUncached(player, identifier));
+        return resolveUncached(player, identifier);
+    }
+
+    private @Nullable String resolveUncached(OfflinePlayer player, String identifier) {
+        Registry registry = this.registry;
+        PlaceholderFunction exact = registry.placeholders().get(identifier);
+        if (exact != null) {
+            long start = System.nanoTime();
+            try {
+                return exact.apply(player, identifier);
+            } catch (Exception e) {
+                logPlaceholderError(identifier, "Error executing PAPI placeholder for identifier '" + identifier + "'", e);
+                return null;
+            } finally {
+                recordInvocation(identifier, start);
+            }
+        }
+
+        for (PatternEntry pe : registry.patternPlaceholders()) {
+            var m = pe.getPattern().matcher(identifier);
+            if (!m.matches()) continue;
+            String[] args = new String[pe.getParamNames().length];
+            for (int k = 0; k < args.length; k++) args[k] = m.group(k + 1);
+
+            long start = System.nanoTime();
+            try {
+                return pe.getFunction().apply(player, identifier, args);
+            } catch (Exception e) {
+                logPlaceholderError(pe.getTemplate(), "Error executing patterned PAPI placeholder for '" + pe.getTemplate() + "'", e);
+                return null;
+            } finally {
+                recordInvocation(pe.getTemplate(), start);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Compiles a string containing placeholders of this expansion into a reusable template.
+     * The string is tokenized once, so evaluating it for many players or on every tick does not rescan it.
+     * The identifier of the expansion must be set before compiling.
+     * @param template The string containing placeholders (e.g. "%myplugin_kills% kills, %myplugin_deaths% deaths")
+     * @return The compiled template
+     */
+    public CompiledPlaceholderTemplate compile(@NotNull String template) {
+        if (identifier == null) throw new IllegalStateException("Identifier must be set before compiling a template.");
+        return CompiledPlaceholderTemplate.compile(this, template);
+    }
+
+    /**
+     * Replaces all placeholders of this expansion in the given string in a single pass.
+     * If the same string is rendered repeatedly, compile it once using {@link #compile(String)} instead.
+     * @param player The player to resolve the placeholders for
+     * @param text The string containing placeholders
+     * @return The string with all placeholders of this expansion replaced
+     */
+    public String resolveAll(OfflinePlayer player, @NotNull String text) {
+        return compile(text).apply(player);
     }
 
     private static Object convertStringToType(String raw, Class<?> targetType, Method method, String placeholderIdentifier) {
@@ -308,8 +655,8 @@ public class PapiExpansionService {
      * @return True if the expansion was registered successfully, false otherwise
      */
     public boolean register() throws IllegalStateException {
-        if (identifier == null || author == null || version == null || placeholders == null) {
-            throw new IllegalStateException("Identifier, author, version, and placeholders must be set before registering the expansion.");
+        if (identifier == null || author == null || version == null) {
+            throw new IllegalStateException("Identifier, author, and version must be set before registering the expansion.");
         }
         if (!hasPapi()) return false;
 
@@ -331,20 +678,7 @@ public class PapiExpansionService {
 
             @Override
             public String onRequest(OfflinePlayer player, @NotNull String identifier) {
-                if (player == null) return playerNotFoundMessage;
-
-                PlaceholderFunction exact = placeholders.get(identifier);
-                if (exact != null) return exact.apply(player, identifier);
-
-                for (PatternEntry pe : patternPlaceholders) {
-                    var m = pe.getPattern().matcher(identifier);
-                    if (!m.matches()) continue;
-                    String[] args = new String[pe.getParamNames().length];
-                    for (int k = 0; k < args.length; k++) args[k] = m.group(k + 1);
-                    return pe.getFunction().apply(player, identifier, args);
-                }
-
-                return null;
+                return resolve(player, identifier);
             }
         };
 
@@ -355,6 +689,37 @@ public class PapiExpansionService {
 
     private record Pair<K, V>(K key, V value) {}
 
+    private final class CacheListener implements Listener {
+        private final JavaPlugin plugin;
+
+        private CacheListener(JavaPlugin plugin) {
+            this.plugin = plugin;
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onQuit(PlayerQuitEvent event) {
+            invalidateAsyncValues(event.getPlayer());
+        }
+
+        @EventHandler
+        public void onPluginDisable(PluginDisableEvent event) {
+            if (event.getPlugin() != plugin) return;
+
+            synchronized (PapiExpansionService.this) {
+                HandlerList.unregisterAll(this);
+                if (cacheListener == this) cacheListener = null;
+            }
+            invalidateAsyncValues();
+        }
+    }
+
+    /**
+     * An immutable snapshot of all registered placeholders.
+     */
+    private record Registry(Map<String, PlaceholderFunction> placeholders, List<PatternEntry> patternPlaceholders) {
+        private static final Registry EMPTY = new Registry(Map.of(), List.of());
+    }
+
     /**
      * Compiles a pattern string with placeholders into a regex pattern and parameter names.
      * @param template The pattern string with placeholders (e.g., "count_plus_{number}_{id}")
@@ -386,16 +751,22 @@ public class PapiExpansionService {
     }
 
     private static class PatternEntry {
+        private final String template;
         private final java.util.regex.Pattern pattern;
         private final String[] paramNames;
         private final PatternPlaceholderFunction function;
 
-        PatternEntry(java.util.regex.Pattern pattern, String[] paramNames, PatternPlaceholderFunction function) {
+        PatternEntry(String template, java.util.regex.Pattern pattern, String[] paramNames, PatternPlaceholderFunction function) {
+            this.template = template;
             this.pattern = pattern;
             this.paramNames = paramNames;
             this.function = function;
         }
 
+        public String getTemplate() {
+            return template;
+        }
+
         public Pattern getPattern() {
             return pattern;
         }
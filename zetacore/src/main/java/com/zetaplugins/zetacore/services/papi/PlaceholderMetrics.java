@@ -0,0 +1,149 @@
+package com.zetaplugins.zetacore.services.papi;
+
+import com.zetaplugins.zetacore.debug.DebugMetricsProvider;
+import com.zetaplugins.zetacore.util.LatencyHistogram;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collects invocation counts, error counts and latencies per placeholder identifier or template.
+ * Recording is lock-free, so the metrics can stay enabled in production.
+ */
+public final class PlaceholderMetrics implements DebugMetricsProvider {
+    private final Supplier<String> nameSupplier;
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * @param nameSupplier Supplies the name of the metrics section (e.g. the expansion identifier)
+     */
+    public PlaceholderMetrics(Supplier<String> nameSupplier) {
+        this.nameSupplier = nameSupplier;
+    }
+
+    /**
+     * Records a single placeholder invocation.
+     * @param key The placeholder identifier or template
+     * @param nanos The duration of the invocation in nanoseconds
+     */
+    void recordInvocation(String key, long nanos) {
+        getStats(key).latency.record(nanos);
+    }
+
+    /**
+     * Records a failed placeholder invocation.
+     * @param key The placeholder identifier or template
+     */
+    void recordError(String key) {
+        getStats(key).errors.increment();
+    }
+
+    private Stats getStats(String key) {
+        Stats s = stats.get(key);
+        return s != null ? s : stats.computeIfAbsent(key, k -> new Stats());
+    }
+
+    /**
+     * Gets a snapshot of the metrics of all placeholders that have been requested so far.
+     * @return A map from placeholder identifier or template to its metrics
+     */
+    public Map<String, Snapshot> getSnapshot() {
+        Map<String, Snapshot> result = new TreeMap<>();
+        stats.forEach((key, s) -> result.put(key, s.snapshot()));
+        return result;
+    }
+
+    /**
+     * Gets a snapshot of the metrics of a single placeholder.
+     * @param key The placeholder identifier or template
+     * @return The metrics, or null if the placeholder has not been requested yet
+     */
+    public Snapshot getSnapshot(String key) {
+        Stats s = stats.get(key);
+        return s == null ? null : s.snapshot();
+    }
+
+    /**
+     * Clears all collected metrics.
+     */
+    public void reset() {
+        stats.clear();
+    }
+
+    @Override
+    public String getMetricsName() {
+        String name = nameSupplier.get();
+        return name == null ? "Placeholders" : "Placeholders (" + name + ")";
+    }
+
+    @Override
+    public String toReadableText() {
+        List<Map.Entry<String, Snapshot>> entries = new ArrayList<>(getSnapshot().entrySet());
+        if (entries.isEmpty()) return "No placeholders requested yet.";
+
+        entries.sort(Comparator.comparingLong((Map.Entry<String, Snapshot> e) -> e.getValue().totalNanos()).reversed());
+
+        StringBuilder res = new StringBuilder();
+        for (Map.Entry<String, Snapshot> entry : entries) {
+            res.append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
+        }
+        return res.toString().trim();
+    }
+
+    /**
+     * An immutable view of the metrics of a single placeholder.
+     * @param invocations the number of invocations
+     * @param errors the number of failed invocations
+     * @param totalNanos the total time spent in the placeholder in nanoseconds
+     * @param maxNanos the slowest invocation in nanoseconds
+     * @param p50Micros the approximated median latency in microseconds
+     * @param p95Micros the approximated 95th percentile latency in microseconds
+     * @param p99Micros the approximated 99th percentile latency in microseconds
+     * @param bucketCounts the raw histogram buckets, see {@link LatencyHistogram#getBucketBoundsMicros()}
+     */
+    public record Snapshot(
+            long invocations,
+            long errors,
+            long totalNanos,
+            long maxNanos,
+            long p50Micros,
+            long p95Micros,
+            long p99Micros,
+            long[] bucketCounts
+    ) {
+        public long meanMicros() {
+            return invocations == 0 ? 0 : totalNanos / invocations / 1_000;
+        }
+
+        @Override
+        public String toString() {
+            return "calls=" + invocations
+                    + ", errors=" + errors
+                    + ", avg=" + LatencyHistogram.formatMicros(meanMicros())
+                    + ", p50<=" + LatencyHistogram.formatMicros(p50Micros)
+                    + ", p95<=" + LatencyHistogram.formatMicros(p95Micros)
+                    + ", p99<=" + LatencyHistogram.formatMicros(p99Micros)
+                    + ", max=" + LatencyHistogram.formatMicros(maxNanos / 1_000);
+        }
+    }
+
+    private static final class Stats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+
+        private Snapshot snapshot() {
+            return new Snapshot(
+                    latency.getCount(),
+                    errors.sum(),
+                    latency.getTotalNanos(),
+                    latency.getMaxNanos(),
+                    latency.getPercentileMicros(0.50),
+                    latency.getPercentileMicros(0.95),
+                    latency.getPercentileMicros(0.99),
+                    latency.getBucketCounts()
+            );
+        }
+    }
+}
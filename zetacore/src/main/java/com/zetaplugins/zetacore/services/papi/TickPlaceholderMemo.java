@@ -0,0 +1,73 @@
+package com.zetaplugins.zetacore.services.papi;
+
+import org.bukkit.Bukkit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Memoizes placeholder results for the duration of a single server tick.
+ * When the tick changes, the whole generation is replaced at once instead of expiring entries one by one.
+ */
+final class TickPlaceholderMemo {
+    // Compared by identity, so a placeholder returning the string "null" is not mistaken for it
+    private static final String NULL_VALUE = new String("null");
+
+    private final IntSupplier tickSource;
+    private final AtomicReference<Generation> current = new AtomicReference<>(new Generation(Integer.MIN_VALUE));
+
+    TickPlaceholderMemo() {
+        this(Bukkit::getCurrentTick);
+    }
+
+    TickPlaceholderMemo(IntSupplier tickSource) {
+        this.tickSource = tickSource;
+    }
+
+    /**
+     * Gets the memoized value for the given key, computing it if it was not requested in the current tick yet.
+     * @param key The memo key (usually player and identifier)
+     * @param loader Computes the value
+     * @return The memoized or computed value
+     */
+    String get(String key, Supplier<String> loader) {
+        Map<String, String> values = currentValues();
+
+        String value = values.get(key);
+        if (value == null) {
+            // Not using computeIfAbsent so slow placeholders don't block other keys in the same bin
+            String loaded = loader.get();
+            value = loaded == null ? NULL_VALUE : loaded;
+            values.putIfAbsent(key, value);
+        }
+        return value == NULL_VALUE ? null : value;
+    }
+
+    /**
+     * Drops all memoized values.
+     */
+    void clear() {
+        current.set(new Generation(Integer.MIN_VALUE));
+    }
+
+    private Map<String, String> currentValues() {
+        int tick = tickSource.getAsInt();
+        Generation generation = current.get();
+        if (generation.tick == tick) return generation.values;
+
+        Generation next = new Generation(tick);
+        return current.compareAndSet(generation, next) ? next.values : current.get().values;
+    }
+
+    private static final class Generation {
+        private final int tick;
+        private final Map<String, String> values = new ConcurrentHashMap<>();
+
+        private Generation(int tick) {
+            this.tick = tick;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.zetaplugins.zetacore.services.players;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * A sorted index of the names of all online players, maintained on join and quit.
+ * Answers case-insensitive prefix queries by walking only the matching range of the index,
+ * so tab completing player names doesn't scan or copy the whole online player list.
+ * Exact names are also mapped to the UUIDs of the players for constant time lookups.
+ * <br/>The index is installed automatically by the AutoCommandRegistrar.
+ */
+public final class PlayerNameIndex implements Listener {
+    private static volatile PlayerNameIndex instance;
+
+    private final JavaPlugin plugin;
+    private final ConcurrentSkipListMap<String, String> names = new ConcurrentSkipListMap<>();
+    private final Map<String, UUID> uniqueIds = new ConcurrentHashMap<>();
+
+    PlayerNameIndex(JavaPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Installs the index for the given plugin if it is not installed yet.
+     * Registers the join and quit listeners and indexes all players that are already online.
+     * @param plugin The plugin to register the listeners for
+     * @return The installed index
+     */
+    public static PlayerNameIndex install(JavaPlugin plugin) {
+        PlayerNameIndex current = instance;
+        if (current != null) return current;
+
+        synchronized (PlayerNameIndex.class) {
+            if (instance != null) return instance;
+
+            PlayerNameIndex index = new PlayerNameIndex(plugin);
+            plugin.getServer().getPluginManager().registerEvents(index, plugin);
+            for (Player player : plugin.getServer().getOnlinePlayers()) index.add(player);
+            instance = index;
+            return index;
+        }
+    }
+
+    /**
+     * Gets the installed index.
+     * @return The index, or null if it is not installed
+     */
+    public static PlayerNameIndex getInstance() {
+        return instance;
+    }
+
+    /**
+     * Gets the names of online players starting with the given input (case-insensitive), sorted alphabetically.
+     * @param input The input
+     * @param limit The maximum number of names to return
+     * @return The matching names
+     */
+    public List<String> getNamesStartingWith(String input, int limit) {
+        String prefix = input == null ? "" : input.toLowerCase(Locale.ROOT);
+        NavigableMap<String, String> range = prefix.isEmpty()
+                ? names
+                : names.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+
+        List<String> result = new ArrayList<>(Math.min(limit, 16));
+        for (String name : range.values()) {
+            if (result.size() >= limit) break;
+            result.add(name);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the correctly capitalized name of an online player.
+     * @param name The name (case-insensitive)
+     * @return The name of the online player, or null if no player with that name is online
+     */
+    public String getExactName(String name) {
+        return names.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Gets the UUID of an online player.
+     * @param name The name (case-insensitive)
+     * @return The UUID of the online player, or null if no player with that name is online
+     */
+    public UUID getUniqueId(String name) {
+        return uniqueIds.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @return The number of indexed players
+     */
+    public int size() {
+        return names.size();
+    }
+
+    void add(Player player) {
+        String name = player.getName();
+        String lowercase = name.toLowerCase(Locale.ROOT);
+        names.put(lowercase, name);
+        uniqueIds.put(lowercase, player.getUniqueId());
+    }
+
+    void remove(Player player) {
+        String name = player.getName();
+        String lowercase = name.toLowerCase(Locale.ROOT);
+        names.remove(lowercase, name);
+        uniqueIds.remove(lowercase, player.getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent event) {
+        add(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        remove(event.getPlayer());
+    }
+
+    @EventHandler
+    public void onPluginDisable(PluginDisableEvent event) {
+        if (event.getPlugin() != plugin) return;
+
+        synchronized (PlayerNameIndex.class) {
+            HandlerList.unregisterAll(this);
+            if (instance == this) instance = null;
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.zetaplugins.zetacore.services.players;
+
+import com.zetaplugins.zetacore.util.AsyncExecutor;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * Resolves player names for command arguments without blocking the main thread.
+ * <ul>
+ *     <li>Online players are looked up by their exact name (case-insensitive) in constant time using the {@link PlayerNameIndex}.</li>
+ *     <li>Offline players are looked up in a cache of names and UUIDs of players that joined before.
+ *     The cache keeps the {@link #getMaxEntries() most recently seen} players and is only saved to the data folder
+ *     of the plugin if {@link #setPersistent(boolean) persistence} is enabled.</li>
+ *     <li>Unknown names can be resolved with {@link #resolveAsync(String)}, which may ask Mojang off the main thread.</li>
+ * </ul>
+ * The resolver is installed automatically by the AutoCommandRegistrar and used by {@link com.zetaplugins.zetacore.commands.ArgumentList}.
+ */
+public final class PlayerResolver implements Listener {
+    static final String CACHE_FILE_NAME = "player-cache.txt";
+    private static final int DEFAULT_MAX_ENTRIES = 10_000;
+    private static volatile PlayerResolver instance;
+
+    private final JavaPlugin plugin;
+    private final File cacheFile;
+    private final Map<String, UUID> uniqueIds = new ConcurrentHashMap<>();
+    private final Map<UUID, String> names = new ConcurrentHashMap<>();
+    /** The cached players from least to most recently seen, guarded by this resolver */
+    private final LinkedHashSet<UUID> recency = new LinkedHashSet<>();
+    private final AtomicBoolean saveScheduled = new AtomicBoolean();
+    private final Object saveLock = new Object();
+    private volatile boolean dirty;
+    private volatile boolean persistent = false;
+    private volatile int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    PlayerResolver(JavaPlugin plugin, File cacheFile) {
+        this.plugin = plugin;
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Installs the resolver for the given plugin if it is not installed yet.
+     * Registers the join listener and installs the {@link PlayerNameIndex} and the {@link AsyncExecutor}.
+     * The name cache is kept in memory only, use {@link #setPersistent(boolean)} to save it to the data folder.
+     * @param plugin The plugin to register the listener for
+     * @return The installed resolver
+     */
+    public static PlayerResolver install(JavaPlugin plugin) {
+        PlayerResolver current = instance;
+        if (current != null) return current;
+
+        synchronized (PlayerResolver.class) {
+            if (instance != null) return instance;
+
+            PlayerNameIndex.install(plugin);
+            AsyncExecutor.install(plugin);
+            PlayerResolver resolver = new PlayerResolver(plugin, new File(plugin.getDataFolder(), CACHE_FILE_NAME));
+            for (Player player : plugin.getServer().getOnlinePlayers()) resolver.remember(player.getUniqueId(), player.getName());
+            plugin.getServer().getPluginManager().registerEvents(resolver, plugin);
+            instance = resolver;
+            return resolver;
+        }
+    }
+
+    /**
+     * Gets the installed resolver.
+     * @return The resolver, or null if it is not installed
+     */
+    public static PlayerResolver getInstance() {
+        return instance;
+    }
+
+    /**
+     * Gets an online player by their exact name (case-insensitive). Unlike {@code Server.getPlayer(String)},
+     * names are not matched by prefix, so the online players are never scanned.
+     * @param name The name
+     * @return The online player, or null if no player with that name is online
+     */
+    public Player getOnlinePlayer(String name) {
+        PlayerNameIndex index = PlayerNameIndex.getInstance();
+        if (index == null) return plugin.getServer().getPlayerExact(name);
+
+        UUID uuid = index.getUniqueId(name);
+        return uuid == null ? null : plugin.getServer().getPlayer(uuid);
+    }
+
+    /**
+     * Gets the UUID of a player that is online or joined before, without any lookups.
+     * @param name The name (case-insensitive)
+     * @return The UUID, or null if the player is unknown
+     */
+    public UUID getCachedUniqueId(String name) {
+        PlayerNameIndex index = PlayerNameIndex.getInstance();
+        UUID uuid = index == null ? null : index.getUniqueId(name);
+        return uuid != null ? uuid : uniqueIds.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Gets the last known name of a player that is online or joined before.
+     * @param uuid The UUID of the player
+     * @return The name, or null if the player is unknown
+     */
+    public String getCachedName(UUID uuid) {
+        return names.get(uuid);
+    }
+
+    /**
+     * Gets a player that is online or joined before, without any lookups.
+     * @param name The name (case-insensitive)
+     * @return The player, or null if the player is unknown
+     */
+    public OfflinePlayer getCachedOfflinePlayer(String name) {
+        UUID uuid = getCachedUniqueId(name);
+        return uuid == null ? null : plugin.getServer().getOfflinePlayer(uuid);
+    }
+
+    /**
+     * Resolves a player by name. Known players are resolved immediately, unknown names are looked up
+     * with {@code Server.getOfflinePlayer(String)} on the {@link AsyncExecutor}, which may ask Mojang.
+     * <br/>The future may complete on another thread. Use {@link AsyncExecutor#runSync} to get back to the main thread.
+     * @param name The name (case-insensitive)
+     * @return A future completed with the player, or null if no player with that name has joined the server before
+     */
+    @SuppressWarnings("deprecation")
+    public CompletableFuture<OfflinePlayer> resolveAsync(String name) {
+        OfflinePlayer cached = getCachedOfflinePlayer(name);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+
+        return CompletableFuture.supplyAsync(() -> {
+            OfflinePlayer player = plugin.getServer().getOfflinePlayer(name);
+            if (!player.isOnline() && !player.hasPlayedBefore()) return null;
+            if (player.getName() != null) {
+                remember(player.getUniqueId(), player.getName());
+                scheduleSave();
+            }
+            return player;
+        }, AsyncExecutor.get());
+    }
+
+    /**
+     * @return The number of cached players
+     */
+    public int size() {
+        return names.size();
+    }
+
+    public boolean isPersistent() {
+        return persistent;
+    }
+
+    /**
+     * Set whether the cache is saved to {@value #CACHE_FILE_NAME} in the data folder of the plugin,
+     * so offline players are still known after a restart. Enabling it loads the saved cache.
+     * @param persistent Whether the cache is saved (default: false)
+     * @return The PlayerResolver instance
+     */
+    public PlayerResolver setPersistent(boolean persistent) {
+        boolean enabled = persistent && !this.persistent;
+        this.persistent = persistent;
+        if (enabled) {
+            load();
+            scheduleSave();
+        }
+        return this;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Set the maximum number of cached players. The least recently seen players are dropped first.
+     * @param maxEntries The maximum number of cached players (default: 10000)
+     * @return The PlayerResolver instance
+     */
+    public PlayerResolver setMaxEntries(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+        synchronized (this) {
+            evictOverflow();
+        }
+        return this;
+    }
+
+    synchronized void remember(UUID uuid, String name) {
+        recency.remove(uuid);
+        recency.add(uuid);
+
+        String previous = names.put(uuid, name);
+        if (!name.equals(previous)) {
+            // The player changed their name, the old name might belong to someone else now
+            if (previous != null) uniqueIds.remove(previous.toLowerCase(Locale.ROOT), uuid);
+            UUID replaced = uniqueIds.put(name.toLowerCase(Locale.ROOT), uuid);
+            if (replaced != null && !replaced.equals(uuid)) {
+                String replacedName = names.get(replaced);
+                if (replacedName != null && replacedName.equalsIgnoreCase(name)) {
+                    names.remove(replaced);
+                    recency.remove(replaced);
+                }
+            }
+            dirty = true;
+        }
+        evictOverflow();
+    }
+
+    /**
+     * Drops the least recently seen players until the cache fits into the maximum number of entries.
+     * Must be called while holding the lock of this resolver.
+     */
+    private void evictOverflow() {
+        Iterator<UUID> eldest = recency.iterator();
+        while (recency.size() > maxEntries && eldest.hasNext()) {
+            UUID uuid = eldest.next();
+            eldest.remove();
+            String name = names.remove(uuid);
+            if (name != null) uniqueIds.remove(name.toLowerCase(Locale.ROOT), uuid);
+            dirty = true;
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        remember(player.getUniqueId(), player.getName());
+        scheduleSave();
+    }
+
+    @EventHandler
+    public void onPluginDisable(PluginDisableEvent event) {
+        if (event.getPlugin() != plugin) return;
+
+        synchronized (PlayerResolver.class) {
+            HandlerList.unregisterAll(this);
+            if (instance == this) instance = null;
+        }
+        save();
+    }
+
+    /**
+     * Saves the cache off the main thread. Joins in quick succession are written at once.
+     */
+    private void scheduleSave() {
+        if (!persistent || !dirty || !saveScheduled.compareAndSet(false, true)) return;
+
+        AsyncExecutor.get().execute(() -> {
+            saveScheduled.set(false);
+            save();
+        });
+    }
+
+    /**
+     * Loads the saved cache. Players that were remembered before (e.g. the online players) are newer than the file,
+     * so their names are kept and they stay the most recently seen players.
+     */
+    void load() {
+        if (!cacheFile.isFile()) return;
+
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(cacheFile.toPath(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to load player cache " + cacheFile.getName(), e);
+            return;
+        }
+
+        synchronized (this) {
+            Map<UUID, String> current = new LinkedHashMap<>();
+            for (UUID uuid : recency) current.put(uuid, names.get(uuid));
+
+            for (String line : lines) {
+                int separator = line.indexOf(' ');
+                if (separator == -1) continue;
+                try {
+                    UUID uuid = UUID.fromString(line.substring(0, separator));
+                    if (!current.containsKey(uuid)) remember(uuid, line.substring(separator + 1));
+                } catch (IllegalArgumentException ignored) {
+                    // Skip corrupted lines
+                }
+            }
+
+            // Remember the current players again, so they are more recent than the loaded ones and win name conflicts
+            current.forEach(this::remember);
+            // Players that were remembered before the cache was loaded still have to be saved
+            dirty = !current.isEmpty();
+        }
+    }
+
+    void save() {
+        if (!persistent) return;
+
+        synchronized (saveLock) {
+            // Players are written from least to most recently seen, so loading the file restores the order
+            List<String> lines;
+            synchronized (this) {
+                if (!dirty) return;
+                dirty = false;
+                lines = new ArrayList<>(recency.size());
+                for (UUID uuid : recency) lines.add(uuid + " " + names.get(uuid));
+            }
+
+            Path path = cacheFile.toPath();
+            Path temp = path.resolveSibling(cacheFile.getName() + ".tmp");
+            try {
+                Files.createDirectories(path.getParent());
+                try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    for (String line : lines) {
+                        writer.write(line);
+                        writer.newLine();
+                    }
+                }
+                try {
+                    Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException e) {
+                dirty = true;
+                plugin.getLogger().log(Level.WARNING, "Failed to save player cache " + cacheFile.getName(), e);
+            }
+        }
+    }
+}
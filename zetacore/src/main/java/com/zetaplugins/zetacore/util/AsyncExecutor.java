@@ -0,0 +1,128 @@
+package com.zetaplugins.zetacore.util;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The executor used by the framework to run work off the main thread (e.g. async commands).
+ * Uses virtual threads if the runtime supports them (Java 21+), otherwise a cached pool of daemon threads.
+ * <br/>The executor is shut down when the plugin is disabled once {@link #install(JavaPlugin)} was called,
+ * which the AutoCommandRegistrar and the PlayerResolver do automatically.
+ */
+public final class AsyncExecutor {
+    private static volatile ExecutorService executor;
+    private static volatile ShutdownListener shutdownListener;
+
+    private AsyncExecutor() {}
+
+    /**
+     * Gets the shared executor, creating it if necessary.
+     * @return The executor
+     */
+    public static ExecutorService get() {
+        ExecutorService current = executor;
+        if (current != null && !current.isShutdown()) return current;
+
+        synchronized (AsyncExecutor.class) {
+            if (executor == null || executor.isShutdown()) executor = createExecutor();
+            return executor;
+        }
+    }
+
+    /**
+     * Shuts the shared executor down. Running tasks are allowed to finish, new tasks create a new executor.
+     * Called automatically when the plugin is disabled if the executor is installed.
+     */
+    public static void shutdown() {
+        synchronized (AsyncExecutor.class) {
+            if (executor != null) executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /**
+     * Registers the listener shutting the executor down when the plugin is disabled, if it is not registered yet.
+     * @param plugin The plugin to register the listener for
+     */
+    public static void install(JavaPlugin plugin) {
+        if (shutdownListener != null) return;
+
+        synchronized (AsyncExecutor.class) {
+            if (shutdownListener != null) return;
+            ShutdownListener listener = new ShutdownListener(plugin);
+            plugin.getServer().getPluginManager().registerEvents(listener, plugin);
+            shutdownListener = listener;
+        }
+    }
+
+    /**
+     * Runs a task on the main thread. If called from the main thread, the task runs immediately.
+     * @param plugin The plugin to schedule the task for
+     * @param task The task to run
+     */
+    public static void runSync(Plugin plugin, Runnable task) {
+        if (plugin.getServer().isPrimaryThread()) task.run();
+        else plugin.getServer().getScheduler().runTask(plugin, task);
+    }
+
+    /**
+     * Calls a task on the main thread and returns its result as a future.
+     * If called from the main thread, the task runs immediately.
+     * @param plugin The plugin to schedule the task for
+     * @param task The task to call
+     * @return A future completed with the result of the task on the main thread
+     * @param <R> The type of the result
+     */
+    public static <R> CompletableFuture<R> callSync(Plugin plugin, Callable<R> task) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        runSync(plugin, () -> {
+            try {
+                future.complete(task.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    private static ExecutorService createExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger counter = new AtomicInteger();
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "ZetaCore-Async-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    static final class ShutdownListener implements Listener {
+        private final JavaPlugin plugin;
+
+        private ShutdownListener(JavaPlugin plugin) {
+            this.plugin = plugin;
+        }
+
+        @EventHandler
+        public void onPluginDisable(PluginDisableEvent event) {
+            if (event.getPlugin() != plugin) return;
+
+            synchronized (AsyncExecutor.class) {
+                HandlerList.unregisterAll(this);
+                if (shutdownListener == this) shutdownListener = null;
+                shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.zetaplugins.zetacore.util;
+
+import com.zetaplugins.zetacore.annotations.EnumAlias;
+
+import java.util.*;
+
+/**
+ * A case-insensitive lookup table for the constants of an enum, built once per enum class and shared.
+ * Resolves names and {@link EnumAlias aliases} with a single hash lookup instead of scanning the constants
+ * or catching the exception of {@link Enum#valueOf}, and completes constant names by prefix using a sorted array.
+ * <pre>{@code
+ * GameMode mode = EnumLookup.of(GameMode.class).get(args.getArg(0));
+ * return EnumLookup.of(GameMode.class).complete(args.getCurrentArg());
+ * }</pre>
+ * @param <E> The type of the enum
+ */
+public final class EnumLookup<E extends Enum<E>> {
+    private static final ClassValue<EnumLookup<?>> LOOKUPS = new ClassValue<>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected EnumLookup<?> computeValue(Class<?> type) {
+            return new EnumLookup(type);
+        }
+    };
+
+    private final Class<E> enumClass;
+    private final Map<String, E> constants = new HashMap<>();
+    private final String[] sortedNames;
+    private final List<String> names;
+
+    private EnumLookup(Class<E> enumClass) {
+        E[] values = enumClass.getEnumConstants();
+        if (values == null) throw new IllegalArgumentException(enumClass.getName() + " is not an enum");
+        this.enumClass = enumClass;
+
+        sortedNames = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            sortedNames[i] = values[i].name().toLowerCase(Locale.ROOT);
+            constants.put(sortedNames[i], values[i]);
+        }
+        Arrays.sort(sortedNames);
+        names = List.of(sortedNames);
+
+        // Aliases never shadow the name of another constant
+        for (E constant : values) {
+            for (String alias : getAliases(enumClass, constant)) {
+                constants.putIfAbsent(alias.toLowerCase(Locale.ROOT), constant);
+            }
+        }
+    }
+
+    /**
+     * Gets the lookup table of an enum class
+     * @param enumClass The class of the enum
+     * @param <E> The type of the enum
+     * @return The shared lookup table of the enum
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Enum<E>> EnumLookup<E> of(Class<E> enumClass) {
+        return (EnumLookup<E>) LOOKUPS.get(enumClass);
+    }
+
+    public Class<E> getEnumClass() {
+        return enumClass;
+    }
+
+    /**
+     * Gets a constant by its name or one of its aliases (case-insensitive)
+     * @param name The name
+     * @return The constant, or null if no constant has this name
+     */
+    public E get(String name) {
+        if (name == null) return null;
+        return constants.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Gets a constant by its name or one of its aliases (case-insensitive), with a default value
+     * @param name The name
+     * @param defaultValue The value to return if no constant has this name
+     * @return The constant, or the default value
+     */
+    public E get(String name, E defaultValue) {
+        E constant = get(name);
+        return constant == null ? defaultValue : constant;
+    }
+
+    /**
+     * @return The lowercase names of all constants, sorted alphabetically (without aliases)
+     */
+    public List<String> getNames() {
+        return names;
+    }
+
+    /**
+     * Gets the lowercase names of the constants starting with the input
+     * @param input The input
+     * @return The matching names, sorted alphabetically
+     */
+    public List<String> complete(String input) {
+        return complete(input, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets the lowercase names of the constants starting with the input
+     * @param input The input
+     * @param limit The maximum number of names to return
+     * @return The matching names, sorted alphabetically
+     */
+    public List<String> complete(String input, int limit) {
+        if (input == null || input.isEmpty()) return limit >= names.size() ? names : names.subList(0, Math.max(0, limit));
+
+        String prefix = input.toLowerCase(Locale.ROOT);
+        int start = Arrays.binarySearch(sortedNames, prefix);
+        if (start < 0) start = -start - 1;
+
+        List<String> result = new ArrayList<>();
+        for (int i = start; i < sortedNames.length && result.size() < limit && sortedNames[i].startsWith(prefix); i++) {
+            result.add(sortedNames[i]);
+        }
+        return result;
+    }
+
+    private static String[] getAliases(Class<?> enumClass, Enum<?> constant) {
+        try {
+            EnumAlias alias = enumClass.getField(constant.name()).getAnnotation(EnumAlias.class);
+            return alias == null ? new String[0] : alias.value();
+        } catch (NoSuchFieldException e) {
+            return new String[0];
+        }
+    }
+}
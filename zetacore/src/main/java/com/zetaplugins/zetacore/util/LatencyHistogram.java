@@ -0,0 +1,130 @@
+package com.zetaplugins.zetacore.util;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe, fixed-bucket latency histogram.
+ * Recording a value is lock-free and allocation-free, so it can stay enabled on hot paths.
+ * Percentiles are approximated by the upper bound of the bucket they fall into.
+ */
+public final class LatencyHistogram {
+    private static final long[] BUCKET_BOUNDS_MICROS = {
+            10, 25, 50, 100, 250, 500,
+            1_000, 2_500, 5_000, 10_000, 25_000, 50_000,
+            100_000, 250_000, 1_000_000
+    };
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MICROS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) buckets[i] = new LongAdder();
+    }
+
+    /**
+     * Records a single measurement.
+     * @param nanos The measured duration in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        long micros = nanos / 1_000;
+
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS_MICROS.length && micros > BUCKET_BOUNDS_MICROS[bucket]) bucket++;
+
+        buckets[bucket].increment();
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * @return The number of recorded measurements
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return The sum of all recorded measurements in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * @return The largest recorded measurement in nanoseconds
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * @return The mean of all recorded measurements in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getMeanNanos() {
+        long c = getCount();
+        return c == 0 ? 0 : getTotalNanos() / c;
+    }
+
+    /**
+     * Gets an approximation of the given percentile.
+     * @param percentile The percentile between 0 and 1 (e.g. 0.95)
+     * @return The upper bound in microseconds of the bucket containing the percentile, or 0 if nothing was recorded
+     */
+    public long getPercentileMicros(double percentile) {
+        long[] counts = getBucketCounts();
+        long total = 0;
+        for (long c : counts) total += c;
+        if (total == 0) return 0;
+
+        long target = Math.max(1, (long) Math.ceil(Math.min(1, Math.max(0, percentile)) * total));
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= target) {
+                return i < BUCKET_BOUNDS_MICROS.length ? BUCKET_BOUNDS_MICROS[i] : getMaxNanos() / 1_000;
+            }
+        }
+        return getMaxNanos() / 1_000;
+    }
+
+    /**
+     * @return The number of measurements per bucket. The last bucket contains everything above the largest bound.
+     */
+    public long[] getBucketCounts() {
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) counts[i] = buckets[i].sum();
+        return counts;
+    }
+
+    /**
+     * @return The upper bounds of the buckets in microseconds
+     */
+    public static long[] getBucketBoundsMicros() {
+        return BUCKET_BOUNDS_MICROS.clone();
+    }
+
+    /**
+     * Clears all recorded measurements.
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets) bucket.reset();
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    /**
+     * Formats a duration given in microseconds as milliseconds with two decimals.
+     * @param micros The duration in microseconds
+     * @return The formatted duration (e.g. "1.25ms")
+     */
+    public static String formatMicros(long micros) {
+        return String.format(Locale.ROOT, "%.2fms", micros / 1_000.0);
+    }
+}
@@ -0,0 +1,233 @@
+package com.zetaplugins.zetacore.util;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A logger wrapper for errors on hot paths (placeholders, commands, listeners).
+ * Errors are deduplicated by a signature made of a caller supplied key, the exception type and the location it was thrown at.
+ * The first occurrence is logged with its full stack trace, repeated occurrences within the same window are only counted
+ * and reported as a single summary line (e.g. "suppressed 4213 times in the last 60s").
+ * <br/>The shared loggers are flushed periodically once {@link #install(JavaPlugin)} was called,
+ * which the AutoCommandRegistrar, the AutoEventRegistrar and the PapiExpansionService do automatically.
+ */
+public final class ThrottledLogger {
+    private static final long DEFAULT_WINDOW_MILLIS = TimeUnit.SECONDS.toMillis(60);
+    private static final int MAX_SIGNATURES = 1024;
+    private static final long FLUSH_INTERVAL_TICKS = 20L * 30;
+    private static final Map<Logger, ThrottledLogger> SHARED = new ConcurrentHashMap<>();
+    private static volatile Flusher flusher;
+
+    private final Logger logger;
+    private final long windowMillis;
+    private final Map<String, Occurrence> occurrences = new ConcurrentHashMap<>();
+
+    /**
+     * @param logger The logger to write to
+     */
+    public ThrottledLogger(Logger logger) {
+        this(logger, DEFAULT_WINDOW_MILLIS);
+    }
+
+    /**
+     * @param logger The logger to write to
+     * @param windowMillis The time in milliseconds during which repeated errors are suppressed
+     */
+    public ThrottledLogger(Logger logger, long windowMillis) {
+        this.logger = logger;
+        this.windowMillis = Math.max(1, windowMillis);
+    }
+
+    /**
+     * Gets the shared throttled logger for the given logger, so all components of a plugin share the same deduplication state.
+     * @param logger The logger to write to
+     * @return The shared throttled logger
+     */
+    public static ThrottledLogger of(Logger logger) {
+        return SHARED.computeIfAbsent(logger, ThrottledLogger::new);
+    }
+
+    /**
+     * Starts the repeating task flushing the shared loggers, if it is not started yet.
+     * The task is cancelled and the shared loggers are flushed and dropped when the plugin is disabled.
+     * @param plugin The plugin to schedule the task for
+     */
+    public static void install(JavaPlugin plugin) {
+        if (flusher != null) return;
+
+        synchronized (ThrottledLogger.class) {
+            if (flusher != null) return;
+            Flusher listener = new Flusher(plugin);
+            plugin.getServer().getPluginManager().registerEvents(listener, plugin);
+            listener.task = plugin.getServer().getScheduler().runTaskTimerAsynchronously(
+                    plugin, ThrottledLogger::flushShared, FLUSH_INTERVAL_TICKS, FLUSH_INTERVAL_TICKS
+            );
+            flusher = listener;
+        }
+    }
+
+    /**
+     * Emits the summaries of all shared loggers whose window has ended.
+     */
+    public static void flushShared() {
+        for (ThrottledLogger throttled : SHARED.values()) throttled.flush();
+    }
+
+    /**
+     * Logs an error unless the same error was already logged within the current window.
+     * @param level The level to log at
+     * @param key A key identifying the source of the error (e.g. the placeholder or command name)
+     * @param message The message to log
+     * @param error The error that occurred, or null
+     */
+    public void log(Level level, String key, String message, Throwable error) {
+        if (!logger.isLoggable(level)) return;
+
+        String signature = signature(key, error);
+        long now = System.currentTimeMillis();
+
+        Occurrence occurrence = occurrences.get(signature);
+        if (occurrence == null) {
+            if (occurrences.size() >= MAX_SIGNATURES) evictExpired(now);
+            Occurrence created = new Occurrence(now, level, message);
+            occurrence = occurrences.putIfAbsent(signature, created);
+            if (occurrence == null) {
+                logFull(level, message, error);
+                return;
+            }
+        }
+
+        // Fast path without locking, a race at the window boundary only moves a count to the next summary
+        if (now - occurrence.windowStart < windowMillis) {
+            occurrence.suppressed.incrementAndGet();
+            return;
+        }
+
+        int suppressed;
+        synchronized (occurrence) {
+            if (now - occurrence.windowStart < windowMillis) {
+                occurrence.suppressed.incrementAndGet();
+                return;
+            }
+            suppressed = occurrence.suppressed.getAndSet(0);
+            occurrence.windowStart = now;
+            occurrence.level = level;
+            occurrence.message = message;
+        }
+
+        if (suppressed > 0) logSummary(level, message, error, suppressed);
+        else logFull(level, message, error);
+    }
+
+    /**
+     * Logs an error unless the same error was already logged within the current window.
+     * @param level The level to log at
+     * @param message The message to log, also used as the key of the error
+     * @param error The error that occurred, or null
+     */
+    public void log(Level level, String message, Throwable error) {
+        log(level, message, message, error);
+    }
+
+    /**
+     * Emits the summaries of all errors whose window has ended.
+     * Summaries are otherwise only written when the same error occurs again, so this can be called periodically
+     * (e.g. from a repeating task) to also report errors that stopped occurring.
+     */
+    public void flush() {
+        long now = System.currentTimeMillis();
+        for (Occurrence occurrence : occurrences.values()) {
+            int suppressed;
+            Level level;
+            String message;
+            synchronized (occurrence) {
+                if (now - occurrence.windowStart < windowMillis) continue;
+                suppressed = occurrence.suppressed.getAndSet(0);
+                level = occurrence.level;
+                message = occurrence.message;
+            }
+            if (suppressed > 0) logSummary(level, message, null, suppressed);
+        }
+        evictExpired(now);
+    }
+
+    private void logFull(Level level, String message, Throwable error) {
+        if (error == null) logger.log(level, message);
+        else logger.log(level, message + ": " + error.getMessage(), error);
+    }
+
+    private void logSummary(Level level, String message, Throwable error, int suppressed) {
+        String summary = message + (error != null ? ": " + error.getMessage() : "")
+                + " (suppressed " + suppressed + " times in the last " + formatWindow() + ")";
+        logger.log(level, summary);
+    }
+
+    private String formatWindow() {
+        return windowMillis % 1000 == 0 ? (windowMillis / 1000) + "s" : windowMillis + "ms";
+    }
+
+    private void evictExpired(long now) {
+        occurrences.values().removeIf(occurrence -> {
+            synchronized (occurrence) {
+                return now - occurrence.windowStart >= windowMillis && occurrence.suppressed.get() == 0;
+            }
+        });
+    }
+
+    private static String signature(String key, Throwable error) {
+        if (error == null) return key;
+
+        Throwable root = error;
+        while (root.getCause() != null && root.getCause() != root) root = root.getCause();
+
+        StackTraceElement[] trace = root.getStackTrace();
+        String location = trace.length > 0 ? trace[0].toString() : "";
+        return key + '|' + root.getClass().getName() + '@' + location;
+    }
+
+    private static final class Occurrence {
+        private final AtomicInteger suppressed = new AtomicInteger();
+        private volatile long windowStart;
+        private Level level;
+        private String message;
+
+        private Occurrence(long windowStart, Level level, String message) {
+            this.windowStart = windowStart;
+            this.level = level;
+            this.message = message;
+        }
+    }
+
+    static final class Flusher implements Listener {
+        private final JavaPlugin plugin;
+        private BukkitTask task;
+
+        private Flusher(JavaPlugin plugin) {
+            this.plugin = plugin;
+        }
+
+        @EventHandler
+        public void onPluginDisable(PluginDisableEvent event) {
+            if (event.getPlugin() != plugin) return;
+
+            synchronized (ThrottledLogger.class) {
+                HandlerList.unregisterAll(this);
+                if (task != null) task.cancel();
+                if (flusher == this) flusher = null;
+                flushShared();
+                SHARED.clear();
+            }
+        }
+    }
+}
@@ -85,6 +85,30 @@ class ArgumentListTest {
         assertEquals(12345678901L, al.getLong(2, 5L));
     }
 
+    @Test
+    void parseNumbers_distinguishesMissingInvalidAndValid() {
+        ArgumentList al = new ArgumentList(new String[]{"42", "abc", "9999999999", "1e3"});
+        assertEquals(ArgumentParseResult.VALID, al.parseInt(0));
+        assertEquals(ArgumentParseResult.INVALID, al.parseInt(1));
+        assertEquals(ArgumentParseResult.INVALID, al.parseInt(2));
+        assertEquals(ArgumentParseResult.VALID, al.parseLong(2));
+        assertEquals(ArgumentParseResult.MISSING, al.parseInt(4));
+        assertEquals(ArgumentParseResult.VALID, al.parseDouble(3));
+        assertEquals(ArgumentParseResult.INVALID, al.parseDouble(1));
+
+        assertEquals(42, al.getInt(0));
+        assertEquals(7, al.getInt(2, 7));
+        assertEquals(1000.0, al.getDouble(3, 0.0), 1e-9);
+    }
+
+    @Test
+    void getInt_invalidArgument_throwsLikeIntegerParseInt() {
+        ArgumentList al = new ArgumentList(new String[]{"abc"});
+        NumberFormatException e = assertThrows(NumberFormatException.class, () -> al.getInt(0));
+        assertTrue(e.getMessage().contains("abc"));
+        assertEquals(5, al.getInt(0, 5));
+    }
+
     @Test
     void getIntWithBounds() {
         ArgumentList al = new ArgumentList(new String[]{"50"});
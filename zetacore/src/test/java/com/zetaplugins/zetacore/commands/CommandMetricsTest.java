@@ -0,0 +1,125 @@
+package com.zetaplugins.zetacore.commands;
+
+import com.zetaplugins.zetacore.commands.exceptions.CommandException;
+import com.zetaplugins.zetacore.commands.exceptions.CommandUsageException;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class CommandMetricsTest {
+
+    @Mock
+    private JavaPlugin plugin;
+
+    @Mock
+    private CommandSender sender;
+
+    @Mock
+    private Command command;
+
+    private final CommandMetrics metrics = CommandMetrics.getInstance();
+
+    @BeforeEach
+    void setup() {
+        metrics.reset();
+        lenient().when(command.getName()).thenReturn("test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        metrics.reset();
+        metrics.setSlowCommandThreshold(50);
+    }
+
+    static class FailingCommand extends PluginCommand<JavaPlugin> {
+        FailingCommand(JavaPlugin plugin) {
+            super(plugin);
+        }
+
+        @Override
+        public boolean execute(CommandSender sender, Command command, String label, ArgumentList args) throws CommandException {
+            if (args.hasArg(0)) throw new CommandUsageException("/test");
+            return true;
+        }
+
+        @Override
+        public List<String> tabComplete(CommandSender sender, Command command, ArgumentList args) {
+            return List.of();
+        }
+    }
+
+    @Test
+    void onCommand_recordsExecutionsAndFailuresByType() {
+        var cmd = new FailingCommand(plugin);
+        cmd.onCommand(sender, command, "test", new String[]{});
+        cmd.onCommand(sender, command, "test", new String[]{"fail"});
+        cmd.onTabComplete(sender, command, "test", new String[]{""});
+
+        CommandMetrics.Snapshot snapshot = metrics.getSnapshot("test");
+        assertNotNull(snapshot);
+        assertEquals(2, snapshot.executions());
+        assertEquals(Map.of("CommandUsageException", 1L), snapshot.failures());
+        assertEquals(1, snapshot.tabCompletions());
+    }
+
+    @Test
+    void recordExecution_logsExecutionsAboveThreshold() {
+        List<LogRecord> records = new ArrayList<>();
+        Logger logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {}
+
+            @Override
+            public void close() {}
+        });
+
+        metrics.setSlowCommandThreshold(10);
+        metrics.recordExecution("test", 5_000_000L, logger);
+        assertTrue(records.isEmpty());
+
+        metrics.recordExecution("test", 20_000_000L, logger);
+        assertEquals(1, records.size());
+        assertTrue(records.get(0).getMessage().contains("/test"));
+
+        // Repeated slow executions of the same command are throttled, other commands are logged separately
+        for (int i = 0; i < 10; i++) metrics.recordExecution("test", 20_000_000L, logger);
+        assertEquals(1, records.size());
+        metrics.recordExecution("other", 20_000_000L, logger);
+        assertEquals(2, records.size());
+    }
+
+    @Test
+    void setEnabled_false_skipsRecording() {
+        metrics.setEnabled(false);
+        try {
+            metrics.recordExecution("test", 1_000L, null);
+            assertNull(metrics.getSnapshot("test"));
+        } finally {
+            metrics.setEnabled(true);
+        }
+    }
+}
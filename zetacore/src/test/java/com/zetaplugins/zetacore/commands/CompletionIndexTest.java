@@ -0,0 +1,45 @@
+package com.zetaplugins.zetacore.commands;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompletionIndexTest {
+
+    private final CompletionIndex index = CompletionIndex.of(List.of("stone", "Sand", "sandstone", "dirt", "STONE_BRICKS"));
+
+    @Test
+    void complete_returnsSortedMatchesIgnoringCase() {
+        assertEquals(List.of("Sand", "sandstone", "stone", "STONE_BRICKS"), index.complete("s"));
+        assertEquals(List.of("stone", "STONE_BRICKS"), index.complete("ST"));
+        assertEquals(List.of("dirt"), index.complete("dirt"));
+        assertEquals(List.of(), index.complete("x"));
+        assertEquals(List.of(), index.complete("zzz"));
+    }
+
+    @Test
+    void complete_emptyInput_returnsAllOptions() {
+        assertEquals(List.of("dirt", "Sand", "sandstone", "stone", "STONE_BRICKS"), index.complete(""));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void complete_respectsLimit() {
+        assertEquals(List.of("Sand", "sandstone"), index.complete("s", 2));
+        assertEquals(List.of(), index.complete("s", 0));
+    }
+
+    @Test
+    void complete_returnsMutableCopy() {
+        List<String> result = index.complete("s");
+        result.clear();
+        assertEquals(4, index.complete("s").size());
+    }
+
+    @Test
+    void getDisplayOptions_respectsLimit() {
+        assertEquals(List.of("stone"), CommandUtils.getDisplayOptions(List.of("stone", "sand", "dirt"), "s", 1));
+    }
+}
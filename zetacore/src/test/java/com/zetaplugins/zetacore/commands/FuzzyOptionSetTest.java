@@ -0,0 +1,51 @@
+package com.zetaplugins.zetacore.commands;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FuzzyOptionSetTest {
+
+    private final FuzzyOptionSet options = new FuzzyOptionSet(List.of(
+            "diamond_sword", "diamond_pickaxe", "iron_sword", "golden_apple", "Spawn", "spawner"
+    ));
+
+    @Test
+    void complete_returnsPrefixMatchesFirst_caseInsensitive() {
+        assertEquals(List.of("diamond_pickaxe", "diamond_sword"), options.complete("DIA"));
+        assertEquals(List.of("Spawn", "spawner"), options.complete("spa", 2));
+        assertEquals(6, options.complete("").size());
+    }
+
+    @Test
+    void complete_findsMisspelledOptions_rankedBySimilarity() {
+        List<String> completions = options.complete("sword");
+        assertEquals(List.of("iron_sword", "diamond_sword"), completions);
+
+        assertEquals("golden_apple", options.complete("goldn_aple").get(0));
+        assertTrue(options.complete("xyzxyz").isEmpty());
+    }
+
+    @Test
+    void complete_respectsLimit() {
+        options.setMaxResults(1);
+        assertEquals(1, options.complete("sword").size());
+    }
+
+    @Test
+    void addRemoveAndSetOptions_updateTheIndex() {
+        options.add("netherite_sword");
+        assertTrue(options.complete("sword").contains("netherite_sword"));
+
+        assertTrue(options.remove("IRON_SWORD"));
+        assertFalse(options.complete("sword").contains("iron_sword"));
+        assertFalse(options.remove("iron_sword"));
+
+        options.setOptions(List.of("warp_a", "warp_b"));
+        assertEquals(2, options.size());
+        assertEquals(List.of("warp_a", "warp_b"), options.complete("warp"));
+        assertTrue(options.complete("sword").isEmpty());
+    }
+}
@@ -0,0 +1,47 @@
+package com.zetaplugins.zetacore.commands;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NumberFormatsTest {
+
+    private static final String[] INPUTS = {
+            "", "0", "-0", "+1", "-", "+", "42", "-42", "007", "1_000", "12a", " 1",
+            "9223372036854775807", "9223372036854775808", "-9223372036854775808", "-9223372036854775809",
+            "99999999999999999999", "\u0661\u0662", "1.5", ".5", "5.", ".", "-.5e3", "1e", "1e+", "1E-7",
+            "2f", "2.0D", "2x", "NaN", "-Infinity", "Infinity1", "0x1p3", "0x", " 3.5 ", "1.2.3", "e5"
+    };
+
+    private static boolean jdkIsLong(String input) {
+        try {
+            Long.parseLong(input);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean jdkIsDouble(String input) {
+        try {
+            Double.parseDouble(input);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    @Test
+    void isLong_matchesLongParseLong() {
+        for (String input : INPUTS) {
+            assertEquals(jdkIsLong(input), NumberFormats.isLong(input), "Input: '" + input + "'");
+        }
+    }
+
+    @Test
+    void isDouble_matchesDoubleParseDouble() {
+        for (String input : INPUTS) {
+            assertEquals(jdkIsDouble(input), NumberFormats.isDouble(input), "Input: '" + input + "'");
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.zetaplugins.zetacore.commands;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PermissionCacheTest {
+
+    @Mock
+    private Player player;
+
+    @Mock
+    private CommandSender console;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final UUID uuid = UUID.randomUUID();
+    private PermissionCache cache;
+
+    @BeforeEach
+    void setup() {
+        cache = new PermissionCache(clock::get);
+        lenient().when(player.getUniqueId()).thenReturn(uuid);
+        lenient().when(player.isOnline()).thenReturn(true);
+    }
+
+    @Test
+    void hasPermission_cachesPlayerChecksUntilTtlExpires() {
+        when(player.hasPermission("test.use")).thenReturn(true, false);
+
+        assertTrue(cache.hasPermission(player, "test.use"));
+        assertTrue(cache.hasPermission(player, "test.use"));
+        verify(player, times(1)).hasPermission("test.use");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        assertFalse(cache.hasPermission(player, "test.use"));
+        verify(player, times(2)).hasPermission("test.use");
+    }
+
+    @Test
+    void invalidate_dropsCachedChecks() {
+        when(player.hasPermission("test.use")).thenReturn(false, true);
+
+        assertFalse(cache.hasPermission(player, "test.use"));
+        cache.invalidate(uuid);
+        assertTrue(cache.hasPermission(player, "test.use"));
+    }
+
+    @Test
+    void hasPermission_doesNotCacheOtherSenders() {
+        when(console.hasPermission("test.use")).thenReturn(true);
+
+        cache.hasPermission(console, "test.use");
+        cache.hasPermission(console, "test.use");
+        verify(console, times(2)).hasPermission("test.use");
+    }
+
+    @Test
+    void hasAnyPermission_checksSemicolonSeparatedPermissions() {
+        when(player.hasPermission("test.a")).thenReturn(false);
+        when(player.hasPermission("test.b")).thenReturn(true);
+
+        assertTrue(cache.hasAnyPermission(player, null));
+        assertTrue(cache.hasAnyPermission(player, "test.a;test.b"));
+        assertFalse(cache.hasAnyPermission(player, "test.a"));
+    }
+
+    @Test
+    void hasPermission_doesNotCachePlayersThatQuit() {
+        when(player.isOnline()).thenReturn(false);
+        when(player.hasPermission("test.use")).thenReturn(true);
+
+        assertTrue(cache.hasPermission(player, "test.use"));
+        assertTrue(cache.hasPermission(player, "test.use"));
+        verify(player, times(2)).hasPermission("test.use");
+    }
+
+    @Test
+    void hasPermission_sweepsExpiredEntries() {
+        Player other = mock(Player.class);
+        when(other.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(other.isOnline()).thenReturn(true);
+        cache.hasPermission(other, "test.use");
+
+        assertEquals(1, cache.size());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        cache.hasPermission(player, "test.use");
+        assertEquals(1, cache.size());
+    }
+}
@@ -2,10 +2,13 @@ package com.zetaplugins.zetacore.commands;
 
 import com.zetaplugins.zetacore.commands.exceptions.CommandException;
 import com.zetaplugins.zetacore.commands.exceptions.CommandUsageException;
+import org.bukkit.Location;
 import org.bukkit.Server;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitScheduler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,9 +16,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.lenient;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class PluginCommandTest {
@@ -122,4 +130,86 @@ class PluginCommandTest {
         boolean result = cmd.onCommand(sender, command, "lbl", new String[]{});
         assertFalse(result);
     }
+
+    private void runSyncTasksImmediately() {
+        BukkitScheduler scheduler = mock(BukkitScheduler.class);
+        when(server.getScheduler()).thenReturn(scheduler);
+        when(scheduler.runTask(eq(plugin), any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, Runnable.class).run();
+            return null;
+        });
+    }
+
+    @Test
+    void asyncExecution_executesOffTheCallingThread_withSnapshotOfSender() throws Exception {
+        Player player = mock(Player.class);
+        UUID uuid = UUID.randomUUID();
+        Location location = new Location(null, 1, 2, 3);
+        when(player.getName()).thenReturn("Steve");
+        when(player.getUniqueId()).thenReturn(uuid);
+        when(player.getLocation()).thenReturn(location);
+
+        CompletableFuture<SenderSnapshot> executed = new CompletableFuture<>();
+        CompletableFuture<Thread> thread = new CompletableFuture<>();
+        var cmd = new SimpleCommand(plugin, true) {
+            @Override
+            public boolean executeAsync(SenderSnapshot sender, Command command, String label, ArgumentList args) {
+                thread.complete(Thread.currentThread());
+                executed.complete(sender);
+                return true;
+            }
+        };
+        cmd.setAsyncExecution(true);
+
+        assertTrue(cmd.onCommand(player, command, "lbl", new String[]{"a"}));
+
+        SenderSnapshot snapshot = executed.get(5, TimeUnit.SECONDS);
+        assertNotSame(Thread.currentThread(), thread.get());
+        assertEquals("Steve", snapshot.getName());
+        assertEquals(uuid, snapshot.getUniqueId());
+        assertSame(location, snapshot.getLocation());
+        assertTrue(snapshot.isPlayer());
+        assertFalse(snapshot.isConsole());
+        // The sender context was read once on the calling thread
+        verify(player, times(1)).getLocation();
+    }
+
+    @Test
+    void asyncExecution_routesCommandExceptionsToHandlersOnMainThread() throws Exception {
+        runSyncTasksImmediately();
+        CompletableFuture<CommandContext> handled = new CompletableFuture<>();
+        var cmd = new SimpleCommand(plugin, true) {
+            @Override
+            public boolean executeAsync(SenderSnapshot sender, Command command, String label, ArgumentList args) throws CommandException {
+                throw new CommandUsageException("Usage error");
+            }
+        };
+        cmd.setAsyncExecution(true);
+        cmd.registerExceptionHandler(CommandUsageException.class, (ctx, e) -> {
+            handled.complete(ctx);
+            return true;
+        });
+
+        assertTrue(cmd.onCommand(sender, command, "lbl", new String[]{"a"}));
+
+        CommandContext context = handled.get(5, TimeUnit.SECONDS);
+        assertSame(sender, context.getSender());
+        assertEquals("a", context.getArgs().getArg(0));
+    }
+
+    @Test
+    void rateLimited_sendsConfiguredMessageOnlyIfSet() {
+        Player player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        var cmd = new SimpleCommand(plugin, true);
+        cmd.setRateLimiter(new RateLimiter(1, TimeUnit.SECONDS.toNanos(5), () -> 0L));
+
+        assertTrue(cmd.onCommand(player, command, "lbl", new String[]{}));
+        assertTrue(cmd.onCommand(player, command, "lbl", new String[]{}));
+        verify(player, never()).sendMessage(anyString());
+
+        cmd.setRateLimitMessage("Wait %seconds%s");
+        assertTrue(cmd.onCommand(player, command, "lbl", new String[]{}));
+        verify(player).sendMessage("Wait 5s");
+    }
 }
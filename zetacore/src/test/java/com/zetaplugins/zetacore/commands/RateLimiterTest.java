@@ -0,0 +1,83 @@
+package com.zetaplugins.zetacore.commands;
+
+import com.zetaplugins.zetacore.commands.exceptions.CommandRateLimitException;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final UUID player = UUID.randomUUID();
+
+    private void advanceMillis(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    void cooldown_allowsOneUsePerPeriod() {
+        RateLimiter limiter = new RateLimiter(1, TimeUnit.SECONDS.toNanos(10), clock::get);
+
+        assertTrue(limiter.tryAcquire(player));
+        assertFalse(limiter.tryAcquire(player));
+        assertEquals(10_000, limiter.getRemainingMillis(player));
+
+        advanceMillis(9_999);
+        assertFalse(limiter.tryAcquire(player));
+        advanceMillis(1);
+        assertTrue(limiter.tryAcquire(player));
+    }
+
+    @Test
+    void rateLimit_allowsBurstAndRefillsContinuously() {
+        RateLimiter limiter = new RateLimiter(3, TimeUnit.SECONDS.toNanos(3), clock::get);
+
+        assertTrue(limiter.tryAcquire(player));
+        assertTrue(limiter.tryAcquire(player));
+        assertTrue(limiter.tryAcquire(player));
+        assertFalse(limiter.tryAcquire(player));
+
+        advanceMillis(1_000);
+        assertTrue(limiter.tryAcquire(player));
+        assertFalse(limiter.tryAcquire(player));
+    }
+
+    @Test
+    void acquire_throwsWithRemainingTime() throws CommandRateLimitException {
+        RateLimiter limiter = new RateLimiter(1, TimeUnit.SECONDS.toNanos(5), clock::get);
+        limiter.acquire(player);
+        advanceMillis(1_500);
+
+        CommandRateLimitException e = assertThrows(CommandRateLimitException.class, () -> limiter.acquire(player));
+        assertEquals(3_500, e.getRemainingMillis());
+        assertEquals(4, e.getRemainingSeconds());
+    }
+
+    @Test
+    void limitsArePerPlayer_andCanBeReset() {
+        RateLimiter limiter = new RateLimiter(1, TimeUnit.SECONDS.toNanos(5), clock::get);
+        UUID other = UUID.randomUUID();
+
+        assertTrue(limiter.tryAcquire(player));
+        assertTrue(limiter.tryAcquire(other));
+        assertFalse(limiter.tryAcquire(player));
+
+        limiter.reset(player);
+        assertTrue(limiter.tryAcquire(player));
+    }
+
+    @Test
+    void expiredEntries_areSweptLazily() {
+        RateLimiter limiter = new RateLimiter(1, TimeUnit.SECONDS.toNanos(1), clock::get);
+        for (int i = 0; i < 10; i++) limiter.tryAcquire(UUID.randomUUID());
+        assertEquals(10, limiter.size());
+
+        advanceMillis(60_000);
+        limiter.tryAcquire(player);
+        assertEquals(1, limiter.size());
+    }
+}
@@ -0,0 +1,35 @@
+package com.zetaplugins.zetacore.commands.tree;
+
+import com.zetaplugins.zetacore.commands.exceptions.CommandException;
+import com.zetaplugins.zetacore.commands.exceptions.CommandUsageException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArgumentTypesTest {
+
+    @Test
+    void integer_parsesValuesWithinBounds() throws CommandException {
+        assertEquals(42, ArgumentTypes.integer().parse(null, "42"));
+        assertEquals(Integer.MIN_VALUE, ArgumentTypes.integer().parse(null, String.valueOf(Integer.MIN_VALUE)));
+        assertThrows(CommandUsageException.class, () -> ArgumentTypes.integer().parse(null, "2147483648"));
+        assertThrows(CommandUsageException.class, () -> ArgumentTypes.integer(1, 10).parse(null, "11"));
+        assertThrows(CommandUsageException.class, () -> ArgumentTypes.integer().parse(null, "abc"));
+        assertThrows(CommandUsageException.class, () -> ArgumentTypes.integer().parse(null, ""));
+    }
+
+    @Test
+    void longInteger_rejectsInvalidInput() throws CommandException {
+        assertEquals(Long.MAX_VALUE, ArgumentTypes.longInteger().parse(null, String.valueOf(Long.MAX_VALUE)));
+        assertThrows(CommandUsageException.class, () -> ArgumentTypes.longInteger().parse(null, "9223372036854775808"));
+        assertThrows(CommandUsageException.class, () -> ArgumentTypes.longInteger().parse(null, "1.5"));
+    }
+
+    @Test
+    void decimal_rejectsInvalidInput() throws CommandException {
+        assertEquals(1.5, ArgumentTypes.decimal().parse(null, "1.5"));
+        assertEquals(-2e3, ArgumentTypes.decimal().parse(null, "-2e3"));
+        assertThrows(CommandUsageException.class, () -> ArgumentTypes.decimal().parse(null, "1.5.5"));
+        assertThrows(CommandUsageException.class, () -> ArgumentTypes.decimal().parse(null, "-"));
+    }
+}
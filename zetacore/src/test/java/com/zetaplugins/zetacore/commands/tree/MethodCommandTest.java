@@ -0,0 +1,147 @@
+package com.zetaplugins.zetacore.commands.tree;
+
+import com.zetaplugins.zetacore.annotations.Arg;
+import com.zetaplugins.zetacore.annotations.Subcommand;
+import com.zetaplugins.zetacore.commands.ArgumentList;
+import com.zetaplugins.zetacore.commands.exceptions.CommandException;
+import com.zetaplugins.zetacore.commands.exceptions.CommandPermissionException;
+import com.zetaplugins.zetacore.commands.exceptions.CommandSenderMustBePlayerException;
+import com.zetaplugins.zetacore.commands.exceptions.CommandUsageException;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MethodCommandTest {
+
+    @Mock
+    private JavaPlugin plugin;
+
+    @Mock
+    private CommandSender sender;
+
+    @Mock
+    private Command command;
+
+    public enum Mode { ADD, REMOVE }
+
+    public static class Handler {
+        final List<String> calls = new ArrayList<>();
+
+        @Subcommand
+        public void root(CommandSender sender) {
+            calls.add("root");
+        }
+
+        @Subcommand(value = "points", aliases = "p")
+        public void points(CommandSender sender, @Arg("mode") Mode mode, @Arg("amount") int amount) {
+            calls.add("points " + mode + " " + amount);
+        }
+
+        @Subcommand("points reset")
+        public boolean reset() {
+            calls.add("reset");
+            return false;
+        }
+
+        @Subcommand("say")
+        public void say(@Arg(value = "message", greedy = true) String message) {
+            calls.add("say " + message);
+        }
+
+        @Subcommand("home")
+        public void home(Player player) {
+            calls.add("home");
+        }
+
+        @Subcommand("secret")
+        void secret(CommandSender sender, @Arg("a") long a, @Arg("b") double b, @Arg("c") boolean c, @Arg("d") String d, @Arg("e") int e, @Arg("f") int f) {
+            calls.add("secret " + a + " " + b + " " + c + " " + d + " " + e + " " + f);
+        }
+    }
+
+    private Handler handler;
+    private MethodCommand<JavaPlugin> cmd;
+
+    @BeforeEach
+    void setup() {
+        handler = new Handler();
+        cmd = new MethodCommand<>(plugin, handler);
+    }
+
+    private boolean run(String... args) throws CommandException {
+        return cmd.execute(sender, command, "test", new ArgumentList(args));
+    }
+
+    @Test
+    void execute_bindsParametersAndInvokesMethods() throws CommandException {
+        assertTrue(run());
+        assertTrue(run("P", "add", "5"));
+        assertFalse(run("points", "reset"));
+        assertTrue(run("say", "hello", "world"));
+        assertTrue(run("secret", "7", "1.5", "yes", "x", "1", "2"));
+
+        assertEquals(List.of("root", "points ADD 5", "reset", "say hello world", "secret 7 1.5 true x 1 2"), handler.calls);
+    }
+
+    @Test
+    void execute_invalidArgumentsAndSenders_throw() {
+        assertThrows(CommandUsageException.class, () -> run("points", "add", "many"));
+        assertThrows(CommandSenderMustBePlayerException.class, () -> run("home"));
+        assertTrue(handler.calls.isEmpty());
+    }
+
+    @Test
+    void tabComplete_isDerivedFromParameterTypes() {
+        assertEquals(List.of("home", "points", "say", "secret"), cmd.tabComplete(sender, command, new ArgumentList(new String[]{""})));
+        assertEquals(List.of("reset", "add", "remove"), cmd.tabComplete(sender, command, new ArgumentList(new String[]{"points", ""})));
+    }
+
+    @Test
+    void duplicateSubcommands_failOnCompile() {
+        class Duplicate {
+            @Subcommand("a") public void first() {}
+            @Subcommand("a") public void second() {}
+        }
+        MethodCommand<JavaPlugin> duplicate = new MethodCommand<>(plugin, new Duplicate());
+        assertThrows(IllegalStateException.class, duplicate::compileTree);
+    }
+
+    @Test
+    void rootPermission_onlyAppliesToRootHandler() throws CommandException {
+        class Restricted {
+            final List<String> calls = new ArrayList<>();
+            @Subcommand(value = "", permission = "test.root") public void root() { calls.add("root"); }
+            @Subcommand("open") public void open() { calls.add("open"); }
+        }
+        Restricted restricted = new Restricted();
+        MethodCommand<JavaPlugin> restrictedCmd = new MethodCommand<>(plugin, restricted);
+        when(sender.hasPermission("test.root")).thenReturn(false);
+
+        assertThrows(CommandPermissionException.class, () -> restrictedCmd.execute(sender, command, "test", new ArgumentList(new String[0])));
+        assertTrue(restrictedCmd.execute(sender, command, "test", new ArgumentList(new String[]{"open"})));
+        assertEquals(List.of("open"), restricted.calls);
+    }
+
+    @Test
+    void overloadsWithDifferentPermissions_failOnCompile() {
+        class Overloads {
+            @Subcommand(value = "home", permission = "test.home") public void home() {}
+            @Subcommand(value = "home", permission = "test.home.others") public void home(@Arg("target") String target) {}
+        }
+        MethodCommand<JavaPlugin> overloads = new MethodCommand<>(plugin, new Overloads());
+        assertThrows(IllegalStateException.class, overloads::compileTree);
+    }
+}
@@ -0,0 +1,129 @@
+package com.zetaplugins.zetacore.commands.tree;
+
+import com.zetaplugins.zetacore.commands.ArgumentList;
+import com.zetaplugins.zetacore.commands.exceptions.CommandException;
+import com.zetaplugins.zetacore.commands.exceptions.CommandPermissionException;
+import com.zetaplugins.zetacore.commands.exceptions.CommandUsageException;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class TreeCommandTest {
+
+    @Mock
+    private JavaPlugin plugin;
+
+    @Mock
+    private CommandSender sender;
+
+    @Mock
+    private Command command;
+
+    private final List<String> calls = new ArrayList<>();
+    private SampleCommand cmd;
+
+    private enum Mode { ADD, REMOVE }
+
+    class SampleCommand extends TreeCommand<JavaPlugin> {
+        SampleCommand(JavaPlugin plugin) { super(plugin); }
+
+        @Override
+        protected void buildTree(CommandNode root) {
+            root.setExecutor(ctx -> calls.add("root"));
+            root.addChild(CommandNode.literal("reload", "rl")
+                    .setPermission("test.reload")
+                    .setExecutor(ctx -> calls.add("reload")));
+            root.addChild(CommandNode.literal("points")
+                    .addChild(CommandNode.argument("mode", ArgumentTypes.enumType(Mode.class))
+                            .addChild(CommandNode.argument("amount", ArgumentTypes.integer(1, 100))
+                                    .setExecutor(ctx -> calls.add("points " + ctx.get("mode") + " " + ctx.get("amount"))))));
+            root.addChild(CommandNode.literal("say")
+                    .addChild(CommandNode.argument("message", ArgumentTypes.greedyString())
+                            .setExecutor(ctx -> calls.add("say " + ctx.get("message")))));
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        cmd = new SampleCommand(plugin);
+        lenient().when(sender.hasPermission("test.reload")).thenReturn(true);
+    }
+
+    private boolean run(String... args) throws CommandException {
+        return cmd.execute(sender, command, "test", new ArgumentList(args));
+    }
+
+    @Test
+    void execute_dispatchesToLiteralsAndAliases_caseInsensitive() throws CommandException {
+        assertTrue(run());
+        assertTrue(run("reload"));
+        assertTrue(run("RL"));
+
+        assertEquals(List.of("root", "reload", "reload"), calls);
+    }
+
+    @Test
+    void execute_bindsTypedArguments() throws CommandException {
+        run("points", "add", "5");
+        run("say", "hello", "world");
+
+        assertEquals(List.of("points ADD 5", "say hello world"), calls);
+    }
+
+    @Test
+    void execute_invalidOrMissingArgument_throwsUsageException() {
+        assertThrows(CommandUsageException.class, () -> run("points", "add", "500"));
+        CommandUsageException e = assertThrows(CommandUsageException.class, () -> run("points", "add"));
+        assertEquals("/test points <mode> <amount>", e.getUsage());
+        assertThrows(CommandUsageException.class, () -> run("unknown"));
+        assertTrue(calls.isEmpty());
+    }
+
+    @Test
+    void execute_withoutPermission_throwsPermissionException() {
+        lenient().when(sender.hasPermission("test.reload")).thenReturn(false);
+
+        CommandPermissionException e = assertThrows(CommandPermissionException.class, () -> run("reload"));
+        assertEquals("test.reload", e.getPermission());
+    }
+
+    @Test
+    void tabComplete_walksSameTree() {
+        assertEquals(List.of("points", "reload", "say"), cmd.tabComplete(sender, command, new ArgumentList(new String[]{""})));
+        assertEquals(List.of("reload"), cmd.tabComplete(sender, command, new ArgumentList(new String[]{"r"})));
+        assertEquals(List.of("add"), cmd.tabComplete(sender, command, new ArgumentList(new String[]{"points", "a"})));
+        assertEquals(List.of(), cmd.tabComplete(sender, command, new ArgumentList(new String[]{"points", "add", "1"})));
+    }
+
+    @Test
+    void tabComplete_hidesNodesWithoutPermission() {
+        lenient().when(sender.hasPermission("test.reload")).thenReturn(false);
+
+        assertEquals(List.of("points", "say"), cmd.tabComplete(sender, command, new ArgumentList(new String[]{""})));
+    }
+
+    @Test
+    void compileTree_withDuplicateNames_throws() {
+        TreeCommand<JavaPlugin> duplicate = new TreeCommand<>(plugin) {
+            @Override
+            protected void buildTree(CommandNode root) {
+                root.addChild(CommandNode.literal("reload"));
+                root.addChild(CommandNode.literal("other", "RELOAD"));
+            }
+        };
+
+        assertThrows(IllegalStateException.class, duplicate::compileTree);
+    }
+}
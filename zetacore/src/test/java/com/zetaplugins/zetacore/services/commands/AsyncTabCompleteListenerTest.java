@@ -0,0 +1,149 @@
+package com.zetaplugins.zetacore.services.commands;
+
+import com.destroystokyo.paper.event.server.AsyncTabCompleteEvent;
+import com.zetaplugins.zetacore.commands.AsyncTabCompleter;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandMap;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncTabCompleteListenerTest {
+
+    @Mock
+    private JavaPlugin plugin;
+
+    @Mock
+    private Command command;
+
+    @Mock
+    private CommandSender sender;
+
+    @Mock
+    private AsyncTabCompleteEvent event;
+
+    private AsyncTabCompleteListener listener;
+
+    @BeforeEach
+    void setup() {
+        when(command.getName()).thenReturn("pay");
+        when(command.getAliases()).thenReturn(List.of("give"));
+        lenient().when(command.testPermissionSilent(sender)).thenReturn(true);
+        lenient().when(event.isCommand()).thenReturn(true);
+        lenient().when(event.getSender()).thenReturn(sender);
+        listener = new AsyncTabCompleteListener(plugin);
+    }
+
+    @Test
+    void onAsyncTabComplete_usesAsyncCompleterForAliasesAndNamespacedLabels() {
+        AsyncTabCompleter completer = mock(AsyncTabCompleter.class, withSettings().extraInterfaces(TabCompleter.class));
+        when(completer.onTabCompleteAsync(eq(sender), eq(command), eq("zeta:give"), any())).thenReturn(List.of("Steve"));
+        listener.register(command, "zeta", null, (TabCompleter) completer);
+        when(event.getBuffer()).thenReturn("/zeta:give St");
+
+        listener.onAsyncTabComplete(event);
+
+        verify(completer).onTabCompleteAsync(sender, command, "zeta:give", new String[]{"St"});
+        verify(event).setCompletions(List.of("Steve"));
+        verify(event).setHandled(true);
+    }
+
+    @Test
+    void onAsyncTabComplete_callsRegularTabCompleterOffMainThread() {
+        TabCompleter completer = mock(TabCompleter.class);
+        when(completer.onTabComplete(sender, command, "pay", new String[]{"Steve", ""})).thenReturn(List.of("10", "100"));
+        listener.register(command, "zeta", null, completer);
+        when(event.getBuffer()).thenReturn("pay Steve ");
+
+        listener.onAsyncTabComplete(event);
+
+        verify(event).setCompletions(List.of("10", "100"));
+        verify(event).setHandled(true);
+    }
+
+    @Test
+    void onAsyncTabComplete_fallsBackIfCompleterReturnsNull() {
+        TabCompleter completer = mock(TabCompleter.class);
+        when(completer.onTabComplete(sender, command, "pay", new String[]{""})).thenReturn(null);
+        listener.register(command, "zeta", null, completer);
+        when(event.getBuffer()).thenReturn("/pay ");
+
+        listener.onAsyncTabComplete(event);
+
+        verify(event, never()).setHandled(anyBoolean());
+        verify(event, never()).setCompletions(any());
+    }
+
+    @Test
+    void onAsyncTabComplete_fallsBackIfCompleterThrows() {
+        TabCompleter completer = mock(TabCompleter.class);
+        when(completer.onTabComplete(any(), any(), any(), any())).thenThrow(new IllegalStateException("Not thread-safe"));
+        when(plugin.getLogger()).thenReturn(Logger.getAnonymousLogger());
+        listener.register(command, "zeta", null, completer);
+        when(event.getBuffer()).thenReturn("/pay ");
+
+        listener.onAsyncTabComplete(event);
+
+        verify(event, never()).setHandled(anyBoolean());
+    }
+
+    @Test
+    void onAsyncTabComplete_ignoresUnknownCommandsMissingPermissionsAndCommandNames() {
+        TabCompleter completer = mock(TabCompleter.class);
+        listener.register(command, "zeta", null, completer);
+
+        when(event.getBuffer()).thenReturn("/other ");
+        listener.onAsyncTabComplete(event);
+
+        when(event.getBuffer()).thenReturn("/pa");
+        listener.onAsyncTabComplete(event);
+
+        when(command.testPermissionSilent(sender)).thenReturn(false);
+        when(event.getBuffer()).thenReturn("/pay ");
+        listener.onAsyncTabComplete(event);
+
+        verifyNoInteractions(completer);
+        verify(event, never()).setHandled(anyBoolean());
+    }
+
+    @Test
+    void onAsyncTabComplete_ignoresHandledEvents() {
+        TabCompleter completer = mock(TabCompleter.class);
+        listener.register(command, "zeta", null, completer);
+        when(event.isHandled()).thenReturn(true);
+
+        listener.onAsyncTabComplete(event);
+
+        verifyNoInteractions(completer);
+    }
+
+    @Test
+    void register_skipsLabelsBoundToOtherCommands() {
+        TabCompleter completer = mock(TabCompleter.class);
+        CommandMap commandMap = mock(CommandMap.class);
+        when(commandMap.getCommand(anyString())).thenReturn(command);
+        when(commandMap.getCommand("give")).thenReturn(mock(Command.class));
+        listener.register(command, "zeta", commandMap, completer);
+
+        when(event.getBuffer()).thenReturn("/give ");
+        listener.onAsyncTabComplete(event);
+        verifyNoInteractions(completer);
+
+        when(event.getBuffer()).thenReturn("/zeta:give ");
+        listener.onAsyncTabComplete(event);
+        verify(completer).onTabComplete(sender, command, "zeta:give", new String[]{""});
+    }
+}
@@ -0,0 +1,145 @@
+package com.zetaplugins.zetacore.services.localization;
+
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BukkitLocalizationServiceTest {
+
+    @Mock
+    private JavaPlugin plugin;
+
+    @Mock
+    private FileConfiguration config;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        when(plugin.getDataFolder()).thenReturn(tempDir.toFile());
+        when(plugin.getLogger()).thenReturn(Logger.getLogger("BukkitLocalizationServiceTest"));
+        when(plugin.getConfig()).thenReturn(config);
+        when(config.getString("lang", "en-US")).thenReturn("en-US");
+
+        writeLang("en-US", "greeting: \"Hello\"\nfarewell: \"Bye\"\nlines:\n  - \"One\"\n");
+        writeLang("de-DE", "greeting: \"Hallo\"\nfarewell: \"Tschüss\"\n");
+        writeLang("de-AT", "greeting: \"Servus\"\n");
+    }
+
+    private void writeLang(String name, String content) throws IOException {
+        Path file = tempDir.resolve("lang").resolve(name + ".yml");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private BukkitLocalizationService create(boolean perPlayerLocale) {
+        return new BukkitLocalizationService.Builder()
+                .setPlugin(plugin)
+                .setPossibleLangs(List.of("en-US"))
+                .setPerPlayerLocale(perPlayerLocale)
+                .build();
+    }
+
+    @Test
+    void getLocaleKey_returnsNullIfPerPlayerLocaleIsDisabled() {
+        BukkitLocalizationService service = create(false);
+
+        assertNull(service.getLocaleKey(Locale.GERMANY));
+        assertEquals("Hello", service.getString(service.getLocaleKey(Locale.GERMANY), "greeting", "fallback"));
+    }
+
+    @Test
+    void getLocaleKey_prefersExactRegionThenMainRegionOfLanguage() {
+        BukkitLocalizationService service = create(true);
+
+        assertEquals("de-AT", service.getLocaleKey(Locale.forLanguageTag("de-AT")));
+        assertEquals("de-DE", service.getLocaleKey(Locale.forLanguageTag("de-CH")));
+        assertNull(service.getLocaleKey(Locale.US));
+        assertNull(service.getLocaleKey(Locale.JAPAN));
+    }
+
+    @Test
+    void getLocaleKey_onlyCachesLocalesWithLanguageFile() {
+        BukkitLocalizationService service = create(true);
+
+        for (int i = 0; i < 1000; i++) assertNull(service.getLocaleKey(Locale.forLanguageTag("x" + i)));
+        assertEquals(0, service.getCachedLocaleKeyCount());
+
+        for (int i = 0; i < 1000; i++) assertEquals("de-DE", service.getLocaleKey(new Locale("de", "Q" + i)));
+        assertTrue(service.getCachedLocaleKeyCount() <= 256);
+        assertEquals("de-AT", service.getLocaleKey(Locale.forLanguageTag("de-AT")));
+    }
+
+    @Test
+    void getString_fallsBackThroughRegionToDefaultLanguage() {
+        BukkitLocalizationService service = create(true);
+        String austria = service.getLocaleKey(Locale.forLanguageTag("de-AT"));
+
+        assertEquals("Servus", service.getString(austria, "greeting", "fallback"));
+        assertEquals("Tschüss", service.getString(austria, "farewell", "fallback"));
+        assertEquals(List.of("One"), service.getStringList(austria, "lines"));
+        assertEquals("fallback", service.getString(austria, "missing", "fallback"));
+    }
+
+    @Test
+    void getString_keepsWorkingWhenLanguagesAreUnloaded() {
+        BukkitLocalizationService service = new BukkitLocalizationService.Builder()
+                .setPlugin(plugin)
+                .setPossibleLangs(List.of("en-US"))
+                .setPerPlayerLocale(true)
+                .setMaxLoadedLocales(1)
+                .build();
+
+        assertEquals("Servus", service.getString("de-AT", "greeting", "fallback"));
+        assertEquals("Hallo", service.getString("de-DE", "greeting", "fallback"));
+        assertEquals("Servus", service.getString("de-AT", "greeting", "fallback"));
+    }
+
+    @Test
+    void reload_increasesRevision() {
+        BukkitLocalizationService service = create(true);
+        long revision = service.getRevision();
+
+        service.reload();
+
+        assertNotEquals(revision, service.getRevision());
+    }
+
+    @Test
+    void reload_replacesAllLanguagesAtOnce() throws IOException {
+        BukkitLocalizationService service = create(true);
+        assertEquals("de-AT", service.getLocaleKey(Locale.forLanguageTag("de-AT")));
+        assertEquals("Servus", service.getString("de-AT", "greeting", "fallback"));
+
+        writeLang("de-DE", "greeting: \"Guten Tag\"\n");
+        Files.delete(tempDir.resolve("lang").resolve("de-AT.yml"));
+        service.reload();
+
+        assertEquals("de-DE", service.getLocaleKey(Locale.forLanguageTag("de-AT")));
+        assertEquals("Guten Tag", service.getString("de-DE", "greeting", "fallback"));
+    }
+
+    @Test
+    void getStringList_returnsImmutableList() {
+        BukkitLocalizationService service = create(false);
+
+        assertThrows(UnsupportedOperationException.class, () -> service.getStringList("lines").add("Two"));
+    }
+}
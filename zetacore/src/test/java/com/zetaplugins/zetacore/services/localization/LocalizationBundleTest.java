@@ -0,0 +1,45 @@
+package com.zetaplugins.zetacore.services.localization;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalizationBundleTest {
+
+    private static LocalizationBundle load(String yaml) throws InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.loadFromString(yaml);
+        return LocalizationBundle.flatten(config);
+    }
+
+    @Test
+    void flatten_keysStringsByFullPath() throws InvalidConfigurationException {
+        LocalizationBundle bundle = load("prefix: \"[Test]\"\nmessages:\n  noPermission: \"&cNo permission\"\n  amount: 5\n");
+
+        assertEquals("[Test]", bundle.getString("prefix"));
+        assertEquals("&cNo permission", bundle.getString("messages.noPermission"));
+        assertEquals("5", bundle.getString("messages.amount"));
+        assertNull(bundle.getString("messages"));
+        assertNull(bundle.getString("missing"));
+    }
+
+    @Test
+    void flatten_convertsListsOnce() throws InvalidConfigurationException {
+        LocalizationBundle bundle = load("help:\n  - \"&7First\"\n  - 2\n  - true\n");
+
+        List<String> help = bundle.getStringList("help");
+        assertEquals(List.of("&7First", "2", "true"), help);
+        assertSame(help, bundle.getStringList("help"));
+        assertThrows(UnsupportedOperationException.class, () -> help.add("Other"));
+        assertNull(bundle.getStringList("missing"));
+    }
+
+    @Test
+    void flatten_returnsEmptyBundleForMissingConfig() {
+        assertSame(LocalizationBundle.EMPTY, LocalizationBundle.flatten(null));
+    }
+}
@@ -0,0 +1,236 @@
+package com.zetaplugins.zetacore.services.messages;
+
+import com.zetaplugins.zetacore.services.localization.LocalizationService;
+import com.zetaplugins.zetacore.services.papi.PapiExpansionService;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdventureMessengerTest {
+    private static final String MESSAGE = "&7Hello %player%, you have %ac%%amount% &7coins <click:run_command:'/pay %player%'>[pay]</click>";
+
+    @Mock
+    private LocalizationService localizationService;
+
+    @Mock
+    private CommandSender sender;
+
+    @Mock
+    private Player player;
+
+    private AdventureMessenger messenger;
+
+    @BeforeEach
+    void setup() {
+        lenient().when(localizationService.getString(eq("accentColor"), anyString())).thenReturn("<gold>");
+        lenient().when(localizationService.getString(eq("prefix"), anyString())).thenReturn("&8[Test&8]");
+        lenient().when(localizationService.getString("greeting", null)).thenReturn(MESSAGE);
+        messenger = new AdventureMessenger(localizationService);
+    }
+
+    private String sentMessage(int times) {
+        ArgumentCaptor<Component> captor = ArgumentCaptor.forClass(Component.class);
+        verify(sender, times(times)).sendMessage(captor.capture());
+        return LegacyComponentSerializer.legacySection().serialize(captor.getValue());
+    }
+
+    @Test
+    void send_matchesProcessingTheRawMessage() {
+        Replaceable<?>[] replaceables = {new Replaceable<>("%player%", "Steve"), new Replaceable<>("%amount%", "&c5")};
+
+        messenger.sendRaw(sender, MESSAGE, replaceables);
+        String expected = sentMessage(1);
+
+        messenger.send(sender, false, "greeting", null, replaceables);
+        assertEquals(expected, sentMessage(2));
+    }
+
+    @Test
+    void send_compilesTemplateOnce() {
+        messenger.send(sender, true, "greeting", null, new Replaceable<>("%player%", "Steve"));
+        messenger.send(sender, true, "greeting", null, new Replaceable<>("%player%", "Alex"));
+
+        verify(localizationService, times(1)).getString("greeting", null);
+        verify(sender, times(2)).sendMessage(any(Component.class));
+    }
+
+    @Test
+    void send_recompilesTemplateAfterReload() {
+        messenger.send(sender, false, "greeting", null);
+        when(localizationService.getRevision()).thenReturn(1L);
+        messenger.send(sender, false, "greeting", null);
+
+        verify(localizationService, times(2)).getString("greeting", null);
+    }
+
+    @Test
+    void sendList_sendsEveryLine() {
+        when(localizationService.getStringList("help")).thenReturn(List.of("&7Line %n%", "&7Other"));
+
+        messenger.sendList(sender, "help", new Replaceable<>("%n%", 1));
+        verify(sender, times(2)).sendMessage(any(Component.class));
+    }
+
+    @Test
+    void send_usesLanguageOfPlayerClient() {
+        when(player.locale()).thenReturn(Locale.GERMANY);
+        when(localizationService.getLocaleKey(Locale.GERMANY)).thenReturn("de-DE");
+        when(localizationService.getString("de-DE", "accentColor", "<#00D26A>")).thenReturn("<gold>");
+        when(localizationService.getString(eq("de-DE"), eq("prefix"), anyString())).thenReturn("");
+        when(localizationService.getString("de-DE", "greeting", null)).thenReturn("&7Hallo %player%");
+
+        messenger.send(player, false, "greeting", null, new Replaceable<>("%player%", "Steve"));
+        messenger.send(sender, false, "greeting", null, new Replaceable<>("%player%", "Steve"));
+
+        ArgumentCaptor<Component> captor = ArgumentCaptor.forClass(Component.class);
+        verify(player).sendMessage(captor.capture());
+        assertTrue(LegacyComponentSerializer.legacySection().serialize(captor.getValue()).endsWith("Hallo Steve"));
+        verify(localizationService, times(1)).getString("greeting", null);
+    }
+
+    private PapiExpansionService placeholderService(String name) {
+        PapiExpansionService service = new PapiExpansionService()
+                .setIdentifier("zeta")
+                .addPlaceholder("kills", (p, id) -> "5")
+                .addPlaceholder("name", (p, id) -> name);
+        messenger.setPlaceholderService(service);
+        return service;
+    }
+
+    private Component sentToPlayer() {
+        ArgumentCaptor<Component> captor = ArgumentCaptor.forClass(Component.class);
+        verify(player).sendMessage(captor.capture());
+        return captor.getValue();
+    }
+
+    private static ClickEvent findClickEvent(Component component) {
+        if (component.clickEvent() != null) return component.clickEvent();
+        for (Component child : component.children()) {
+            ClickEvent event = findClickEvent(child);
+            if (event != null) return event;
+        }
+        return null;
+    }
+
+    @Test
+    void sendRaw_resolvesNativePlaceholdersInText() {
+        placeholderService("<red>Steve");
+
+        messenger.sendRaw(player, "&7Kills: %zeta_kills% 1 < 2 %zeta_name% %other_kills%");
+
+        String sent = LegacyComponentSerializer.legacySection().serialize(sentToPlayer());
+        assertTrue(sent.endsWith("Kills: 5 1 < 2 <red>Steve %other_kills%"), sent);
+    }
+
+    @Test
+    void sendRaw_escapesNativePlaceholdersInTags() {
+        placeholderService("Steve' <red>");
+
+        messenger.sendRaw(player, "<click:run_command:'/msg %zeta_name% hi'>[msg]</click>");
+
+        ClickEvent event = findClickEvent(sentToPlayer());
+        assertNotNull(event);
+        assertEquals("/msg Steve' <red> hi", event.value());
+    }
+
+    @Test
+    void sendRaw_keepsUnsafeNativePlaceholdersInUnquotedArguments() {
+        placeholderService("Steve>");
+
+        messenger.sendRaw(player, "<click:run_command:/msg_%zeta_name%>[msg]</click>");
+
+        ClickEvent event = findClickEvent(sentToPlayer());
+        assertNotNull(event);
+        assertEquals("/msg_%zeta_name%", event.value());
+    }
+
+    @Test
+    void sendRaw_keepsNativePlaceholdersForConsole() {
+        AtomicInteger calls = new AtomicInteger();
+        placeholderService("Steve").addPlaceholder("kills", (p, id) -> String.valueOf(calls.incrementAndGet()));
+
+        messenger.sendRaw(sender, "Kills: %zeta_kills% <click:run_command:'/kills %zeta_kills%'>[kills]</click>");
+
+        String sent = sentMessage(1);
+        assertTrue(sent.contains("Kills: %zeta_kills%"), sent);
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void send_prebuiltTemplateMatchesProcessingTheRawMessage() {
+        when(localizationService.getString("plain", null)).thenReturn("&7Hello &l%player%&7, you have %ac%%amount% &7coins");
+        Replaceable<?>[] replaceables = {new Replaceable<>("%player%", "Steve"), new Replaceable<>("%amount%", 5)};
+
+        messenger.sendRaw(sender, "&7Hello &l%player%&7, you have %ac%%amount% &7coins", replaceables);
+        String expected = sentMessage(1);
+
+        messenger.send(sender, false, "plain", null, replaceables);
+        assertEquals(expected, sentMessage(2));
+        messenger.send(sender, false, "plain", null, new Replaceable<>("%player%", "Alex"), new Replaceable<>("%amount%", 7));
+        assertTrue(sentMessage(3).contains("Alex"));
+    }
+
+    @Test
+    void send_escapesSlotValuesInsideOfTags() {
+        messenger.send(sender, false, "greeting", null, new Replaceable<>("%player%", "Steve' <red>"), new Replaceable<>("%amount%", 5));
+
+        ArgumentCaptor<Component> captor = ArgumentCaptor.forClass(Component.class);
+        verify(sender).sendMessage(captor.capture());
+        ClickEvent event = findClickEvent(captor.getValue());
+        assertNotNull(event);
+        assertEquals("/pay Steve' <red>", event.value());
+    }
+
+    @Test
+    void send_looksUpAccentColorOncePerLanguage() {
+        when(player.locale()).thenReturn(Locale.GERMANY);
+        when(localizationService.getLocaleKey(Locale.GERMANY)).thenReturn("de-DE");
+        when(localizationService.getString("de-DE", "accentColor", "<#00D26A>")).thenReturn("<gold>");
+        when(localizationService.getString(eq("de-DE"), eq("prefix"), anyString())).thenReturn("");
+        when(localizationService.getString("de-DE", "greeting", null)).thenReturn("&7Hallo %ac%%player%");
+        when(localizationService.getString("de-DE", "farewell", null)).thenReturn("&7Tschüss %ac%%player%");
+
+        for (int i = 0; i < 3; i++) {
+            messenger.send(player, false, "greeting", null, new Replaceable<>("%player%", "Steve"));
+            messenger.send(player, false, "farewell", null, new Replaceable<>("%player%", "Steve"));
+        }
+
+        verify(player, times(6)).sendMessage(any(Component.class));
+        verify(localizationService, times(1)).getString("de-DE", "accentColor", "<#00D26A>");
+    }
+
+    @Test
+    void send_replacesPlaceholdersThatAreNotSlots() {
+        when(localizationService.getString("braces", null)).thenReturn("&7Hello {player}");
+
+        messenger.send(sender, false, "braces", null, new Replaceable<>("{player}", "Steve"));
+        assertTrue(sentMessage(1).endsWith("Hello Steve"), sentMessage(1));
+
+        messenger.send(sender, false, "braces", null, new Replaceable<>("{player}", "Alex"));
+        assertTrue(sentMessage(2).endsWith("Hello Alex"), sentMessage(2));
+    }
+
+    @Test
+    void send_replacesPlaceholdersWithWhitespace() {
+        when(localizationService.getString("top", null)).thenReturn("&7Top: %top player% with %amount%");
+
+        messenger.send(sender, false, "top", null, new Replaceable<>("%top player%", "Steve"), new Replaceable<>("%amount%", 5));
+        assertTrue(sentMessage(1).endsWith("Top: Steve with 5"), sentMessage(1));
+    }
+}
@@ -0,0 +1,97 @@
+package com.zetaplugins.zetacore.services.messages;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageTemplateTest {
+
+    @Test
+    void compile_turnsPlaceholdersIntoSlots() {
+        MessageTemplate template = MessageTemplate.compile("source", "<gray>Hello %player%, you have %amount% coins");
+
+        assertEquals(2, template.getSlotCount());
+        assertEquals("%player%", template.getSlot(0));
+        assertEquals("%amount%", template.getSlot(1));
+        assertEquals("<gray>Hello <zc_slot:0>, you have <zc_slot:1> coins", template.getFormat(index -> null));
+    }
+
+    @Test
+    void compile_fillsSlotsInsideTagsAsText() {
+        MessageTemplate template = MessageTemplate.compile("source", "<click:run_command:'/tp %player%'>%player%</click>");
+
+        assertTrue(template.isSlotInTag(0));
+        assertFalse(template.isSlotInTag(1));
+        assertEquals("<click:run_command:'/tp Steve'><zc_slot:1></click>", template.getFormat(index -> "Steve"));
+        assertEquals("<click:run_command:'/tp %player%'><zc_slot:1></click>", template.getFormat(index -> null));
+    }
+
+    @Test
+    void compile_keepsPercentSignsThatAreNotPlaceholders() {
+        MessageTemplate template = MessageTemplate.compile("source", "100% of 50% %% <red>%</red>");
+
+        assertEquals(0, template.getSlotCount());
+        assertEquals("100% of 50% %% <red>%</red>", template.getFormat(index -> null));
+    }
+
+    @Test
+    void compile_escapesSlotsInsideOfQuotedArguments() {
+        MessageTemplate template = MessageTemplate.compile("source", "<click:run_command:'/msg %player%'>[msg]</click>");
+
+        assertEquals("<click:run_command:'/msg Steve\\' <red>'>[msg]</click>", template.getFormat(index -> "Steve' <red>"));
+    }
+
+    @Test
+    void compile_keepsUnsafeSlotsInsideOfUnquotedArguments() {
+        MessageTemplate template = MessageTemplate.compile("source", "<click:run_command:/msg_%player%>[msg]</click>");
+
+        assertEquals("<click:run_command:/msg_Steve>[msg]</click>", template.getFormat(index -> "Steve"));
+        assertEquals("<click:run_command:/msg_%player%>[msg]</click>", template.getFormat(index -> "Steve><red"));
+    }
+
+    @Test
+    void compile_doesNotTreatLiteralAngleBracketsAsTags() {
+        MessageTemplate template = MessageTemplate.compile("source", "1 < 2 %player% \\<red> %amount%");
+
+        assertFalse(template.isSlotInTag(0));
+        assertFalse(template.isSlotInTag(1));
+        assertTrue(template.isPrebuildable());
+    }
+
+    @Test
+    void isPrebuildable_falseForSlotsInTagsAndGradients() {
+        assertFalse(MessageTemplate.compile("source", "<click:run_command:'/tp %player%'>tp</click>").isPrebuildable());
+        assertFalse(MessageTemplate.compile("source", "<gradient:red:blue>%player%</gradient>").isPrebuildable());
+        assertTrue(MessageTemplate.compile("source", "<gray>Hello %player%").isPrebuildable());
+    }
+
+    @Test
+    void render_matchesDeserializingTheFilledFormat() {
+        MiniMessage miniMessage = MiniMessage.miniMessage();
+        String format = "<!i><gray>Hello <bold>%player%</bold>, you have <gold>%amount%</gold> coins <hover:show_text:'hi'>%player%</hover>";
+        MessageTemplate template = MessageTemplate.compile("source", format);
+        String[] values = {"Steve", "5", "Steve"};
+
+        Component rendered = template.render(miniMessage, index -> Component.text(values[index]));
+        Component expected = miniMessage.deserialize(format.replace("%player%", "Steve").replace("%amount%", "5"));
+
+        LegacyComponentSerializer serializer = LegacyComponentSerializer.legacySection();
+        assertEquals(serializer.serialize(expected), serializer.serialize(rendered));
+        assertEquals(expected.hoverEvent(), rendered.hoverEvent());
+        // The template is parsed once, later renders only fill in the values
+        Component again = template.render(miniMessage, index -> Component.text("Alex"));
+        assertTrue(serializer.serialize(again).contains("Hello §lAlex"), serializer.serialize(again));
+    }
+
+    @Test
+    void isSlotPlaceholder_agreesWithCompile() {
+        assertTrue(MessageTemplate.isSlotPlaceholder("%player%"));
+        assertFalse(MessageTemplate.isSlotPlaceholder("%top player%"));
+        assertFalse(MessageTemplate.isSlotPlaceholder("{player}"));
+        assertFalse(MessageTemplate.isSlotPlaceholder("%%"));
+        assertEquals(0, MessageTemplate.compile("source", "Top: %top player%").getSlotCount());
+    }
+}
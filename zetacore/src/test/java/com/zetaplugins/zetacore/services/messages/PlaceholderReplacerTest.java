@@ -0,0 +1,57 @@
+package com.zetaplugins.zetacore.services.messages;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaceholderReplacerTest {
+
+    private final PlaceholderReplacer replacer = new PlaceholderReplacer(Map.of(
+            "&c", "<red>",
+            "&7", "<gray>",
+            "%ac%", "<gold>"
+    ));
+
+    @Test
+    void replace_replacesAllPatternsInOnePass() {
+        assertEquals("<gray>Hello <red>world<gold>!", replacer.replace("&7Hello &cworld%ac%!"));
+        assertEquals("&x <red><red>", replacer.replace("&x &c&c"));
+    }
+
+    @Test
+    void replace_withoutMatches_returnsSameInstance() {
+        String text = "Nothing & nothing % here";
+        assertSame(text, replacer.replace(text));
+    }
+
+    @Test
+    void replace_appliesPatternsToPlaceholderValues() {
+        String result = replacer.replace("&7%player% has %amount%",
+                new Replaceable<>("%player%", "&cSteve"),
+                new Replaceable<>("%amount%", 5));
+        assertEquals("<gray><red>Steve has 5", result);
+    }
+
+    @Test
+    void replace_doesNotRescanReplacedValues() {
+        String result = replacer.replace("%a% %b%",
+                new Replaceable<>("%a%", "%b%"),
+                new Replaceable<>("%b%", "x"));
+        assertEquals("%b% x", result);
+    }
+
+    @Test
+    void replace_prefersLongestPattern() {
+        PlaceholderReplacer overlapping = new PlaceholderReplacer(Map.of("&", "and", "&&", "double"));
+        assertEquals("double and", overlapping.replace("&& &"));
+    }
+
+    @Test
+    void with_addsPattern() {
+        PlaceholderReplacer extended = replacer.with("%p%", "P");
+        assertEquals("P<red>", extended.replace("%p%&c"));
+        assertEquals("%p%", replacer.replace("%p%"));
+    }
+}
@@ -0,0 +1,127 @@
+package com.zetaplugins.zetacore.services.papi;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncPlaceholderCacheTest {
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private final AsyncPlaceholderCache cache = new AsyncPlaceholderCache(clock::get);
+    private final List<Throwable> errors = new ArrayList<>();
+
+    private String get(String key, CompletableFuture<?> future) {
+        return cache.get(key, () -> future, "Loading", 0, (k, error) -> errors.add(error));
+    }
+
+    @Test
+    void get_returnsStaleValueWhileRefreshRuns() {
+        assertEquals("1", get("a", CompletableFuture.completedFuture(1)));
+
+        CompletableFuture<Integer> refresh = new CompletableFuture<>();
+        assertEquals("1", get("a", refresh));
+
+        refresh.complete(2);
+        assertEquals("2", get("a", new CompletableFuture<>()));
+    }
+
+    @Test
+    void get_returnsLoadingValueUntilFirstValue() {
+        CompletableFuture<Integer> refresh = new CompletableFuture<>();
+        assertEquals("Loading", get("a", refresh));
+
+        refresh.complete(5);
+        assertEquals("5", get("a", new CompletableFuture<>()));
+    }
+
+    @Test
+    void get_deduplicatesConcurrentRefreshes() {
+        AtomicInteger started = new AtomicInteger();
+        CompletableFuture<Integer> refresh = new CompletableFuture<>();
+        AsyncPlaceholderCache.Refresher refresher = () -> {
+            started.incrementAndGet();
+            return refresh;
+        };
+
+        cache.get("a", refresher, "Loading", 0, (k, e) -> {});
+        cache.get("a", refresher, "Loading", 0, (k, e) -> {});
+        assertEquals(1, started.get());
+
+        refresh.complete(1);
+        cache.get("a", refresher, "Loading", 0, (k, e) -> {});
+        assertEquals(2, started.get());
+    }
+
+    @Test
+    void get_respectsRefreshInterval() {
+        AtomicInteger started = new AtomicInteger();
+        AsyncPlaceholderCache.Refresher refresher = () -> CompletableFuture.completedFuture(started.incrementAndGet());
+
+        assertEquals("1", cache.get("a", refresher, "Loading", 1000, (k, e) -> {}));
+        assertEquals("1", cache.get("a", refresher, "Loading", 1000, (k, e) -> {}));
+
+        clock.addAndGet(1000);
+        assertEquals("2", cache.get("a", refresher, "Loading", 1000, (k, e) -> {}));
+    }
+
+    @Test
+    void get_reportsErrorsAndKeepsLastValue() {
+        get("a", CompletableFuture.completedFuture(1));
+
+        assertEquals("1", get("a", CompletableFuture.failedFuture(new IllegalStateException("failed"))));
+        assertEquals("1", cache.get("a", () -> {
+            throw new IllegalArgumentException("thrown");
+        }, "Loading", 0, (k, error) -> errors.add(error)));
+
+        assertEquals(2, errors.size());
+        assertInstanceOf(IllegalStateException.class, errors.get(0));
+        assertInstanceOf(IllegalArgumentException.class, errors.get(1));
+        assertEquals("3", get("a", CompletableFuture.completedFuture(3)));
+    }
+
+    @Test
+    void get_dropsLeastRecentlyRequestedEntriesWhenFull() {
+        cache.setMaxEntries(4);
+        for (int i = 0; i < 4; i++) {
+            get("key" + i, CompletableFuture.completedFuture(i));
+            clock.incrementAndGet();
+        }
+        get("key0", new CompletableFuture<>());
+        clock.incrementAndGet();
+
+        get("key4", CompletableFuture.completedFuture(4));
+
+        assertEquals(3, cache.size());
+        assertEquals("0", get("key0", new CompletableFuture<>()));
+        assertEquals("Loading", get("key1", new CompletableFuture<>()));
+    }
+
+    @Test
+    void get_dropsIdleEntries() {
+        cache.setIdleExpiryMillis(1000);
+        get("a", CompletableFuture.completedFuture(1));
+        get("b", CompletableFuture.completedFuture(2));
+
+        clock.addAndGet(1000);
+        get("b", new CompletableFuture<>());
+
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void invalidatePrefix_removesEntriesOfPlayer() {
+        get("uuid1:kills", CompletableFuture.completedFuture(1));
+        get("uuid1:deaths", CompletableFuture.completedFuture(2));
+        get("uuid2:kills", CompletableFuture.completedFuture(3));
+
+        cache.invalidatePrefix("uuid1:");
+
+        assertEquals(1, cache.size());
+        assertEquals("3", get("uuid2:kills", new CompletableFuture<>()));
+    }
+}
@@ -0,0 +1,62 @@
+package com.zetaplugins.zetacore.services.papi;
+
+import org.bukkit.OfflinePlayer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class CompiledPlaceholderTemplateTest {
+
+    @Mock
+    private OfflinePlayer player;
+
+    private PapiExpansionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PapiExpansionService()
+                .setIdentifier("zeta")
+                .addPlaceholder("kills", (p, id) -> "12")
+                .addPlaceholder("deaths", (p, id) -> "3")
+                .addPlaceholder("missing", (p, id) -> null);
+    }
+
+    @Test
+    void apply_replacesAllOwnPlaceholders() {
+        CompiledPlaceholderTemplate template = service.compile("K: %zeta_kills%, D: %zeta_deaths%!");
+
+        assertEquals(2, template.getPlaceholderCount());
+        assertEquals("K: 12, D: 3!", template.apply(player));
+    }
+
+    @Test
+    void apply_keepsForeignPlaceholdersAndPercentSigns() {
+        CompiledPlaceholderTemplate template = service.compile("100% %player_name% has %zeta_kills% kills");
+
+        assertEquals(1, template.getPlaceholderCount());
+        assertEquals("100% %player_name% has 12 kills", template.apply(player));
+    }
+
+    @Test
+    void apply_keepsUnresolvedPlaceholders() {
+        assertEquals("%zeta_missing% %zeta_unknown%", service.resolveAll(player, "%zeta_missing% %zeta_unknown%"));
+    }
+
+    @Test
+    void apply_withoutPlaceholders_returnsTemplate() {
+        CompiledPlaceholderTemplate template = service.compile("no placeholders % here");
+
+        assertEquals(0, template.getPlaceholderCount());
+        assertEquals("no placeholders % here", template.apply(player));
+    }
+
+    @Test
+    void compile_withoutIdentifier_throws() {
+        assertThrows(IllegalStateException.class, () -> new PapiExpansionService().compile("%zeta_kills%"));
+    }
+}
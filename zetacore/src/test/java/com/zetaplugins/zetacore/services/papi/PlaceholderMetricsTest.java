@@ -0,0 +1,116 @@
+package com.zetaplugins.zetacore.services.papi;
+
+import org.bukkit.OfflinePlayer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlaceholderMetricsTest {
+
+    @Mock
+    private OfflinePlayer player;
+
+    private final List<LogRecord> records = new ArrayList<>();
+    private PapiExpansionService service;
+
+    @BeforeEach
+    void setUp() {
+        Logger logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {}
+
+            @Override
+            public void close() {}
+        });
+
+        service = new PapiExpansionService("zeta", "author", "1.0", logger)
+                .addPlaceholder("kills", (p, id) -> "12")
+                .addPlaceholder("broken", (p, id) -> {
+                    throw new IllegalStateException("broken");
+                });
+    }
+
+    @Test
+    void resolve_recordsInvocationsAndErrors() {
+        service.resolve(player, "kills");
+        service.resolve(player, "kills");
+        service.resolve(player, "broken");
+
+        PlaceholderMetrics.Snapshot kills = service.getMetrics().getSnapshot("kills");
+        assertEquals(2, kills.invocations());
+        assertEquals(0, kills.errors());
+        assertEquals(2, sum(kills.bucketCounts()));
+
+        PlaceholderMetrics.Snapshot broken = service.getMetrics().getSnapshot("broken");
+        assertEquals(1, broken.invocations());
+        assertEquals(1, broken.errors());
+        assertNull(service.getMetrics().getSnapshot("unknown"));
+    }
+
+    @Test
+    void resolve_recordsNothingIfMetricsAreDisabled() {
+        service.setMetricsEnabled(false);
+        service.resolve(player, "kills");
+
+        assertTrue(service.getMetrics().getSnapshot().isEmpty());
+    }
+
+    @Test
+    void reset_clearsMetrics() {
+        service.resolve(player, "kills");
+        service.getMetrics().reset();
+
+        assertTrue(service.getMetrics().getSnapshot().isEmpty());
+        assertEquals("No placeholders requested yet.", service.getMetrics().toReadableText());
+    }
+
+    @Test
+    void toReadableText_listsPlaceholders() {
+        service.getMetrics().recordInvocation("kills", 1_000_000);
+
+        assertTrue(service.getMetrics().toReadableText().startsWith("kills: calls=1, errors=0"));
+        assertEquals("Placeholders (zeta)", service.getMetrics().getMetricsName());
+    }
+
+    @Test
+    void resolve_throttlesSlowPlaceholderWarnings() {
+        service.setSlowPlaceholderThreshold(1).addPlaceholder("slow", (p, id) -> {
+            try {
+                Thread.sleep(3);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "slow";
+        });
+
+        for (int i = 0; i < 5; i++) service.resolve(player, "slow");
+
+        assertEquals(5, service.getMetrics().getSnapshot("slow").invocations());
+        assertEquals(1, records.stream().filter(r -> r.getLevel() == Level.WARNING).count());
+    }
+
+    private static long sum(long[] values) {
+        long sum = 0;
+        for (long value : values) sum += value;
+        return sum;
+    }
+}
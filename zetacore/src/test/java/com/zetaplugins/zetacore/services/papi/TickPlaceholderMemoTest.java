@@ -0,0 +1,53 @@
+package com.zetaplugins.zetacore.services.papi;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickPlaceholderMemoTest {
+    private final AtomicInteger tick = new AtomicInteger(100);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final TickPlaceholderMemo memo = new TickPlaceholderMemo(tick::get);
+
+    private String load() {
+        return "value" + loads.incrementAndGet();
+    }
+
+    @Test
+    void get_memoizesWithinTick() {
+        assertEquals("value1", memo.get("uuid:kills", this::load));
+        assertEquals("value1", memo.get("uuid:kills", this::load));
+        assertEquals("value2", memo.get("uuid:deaths", this::load));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_dropsMemoWhenTickAdvances() {
+        assertEquals("value1", memo.get("uuid:kills", this::load));
+
+        tick.incrementAndGet();
+        assertEquals("value2", memo.get("uuid:kills", this::load));
+        assertEquals("value2", memo.get("uuid:kills", this::load));
+    }
+
+    @Test
+    void get_memoizesNullResults() {
+        assertNull(memo.get("uuid:missing", () -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+        assertNull(memo.get("uuid:missing", this::load));
+        assertEquals(1, loads.get());
+        assertEquals("null", memo.get("uuid:literal", () -> "null"));
+    }
+
+    @Test
+    void clear_dropsMemoOfCurrentTick() {
+        memo.get("uuid:kills", this::load);
+        memo.clear();
+
+        assertEquals("value2", memo.get("uuid:kills", this::load));
+    }
+}
@@ -0,0 +1,64 @@
+package com.zetaplugins.zetacore.services.players;
+
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlayerNameIndexTest {
+
+    @Mock
+    private JavaPlugin plugin;
+
+    private PlayerNameIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new PlayerNameIndex(plugin);
+        for (String name : List.of("Steve", "stella", "Alex", "Stan", "Bob")) index.add(player(name, UUID.randomUUID()));
+    }
+
+    private static Player player(String name, UUID uuid) {
+        Player player = mock(Player.class);
+        when(player.getName()).thenReturn(name);
+        lenient().when(player.getUniqueId()).thenReturn(uuid);
+        return player;
+    }
+
+    @Test
+    void getNamesStartingWith_returnsOnlyMatchingRangeSorted() {
+        assertEquals(List.of("Stan", "stella", "Steve"), index.getNamesStartingWith("st", 10));
+        assertEquals(List.of("stella", "Steve"), index.getNamesStartingWith("STE", 10));
+        assertEquals(List.of(), index.getNamesStartingWith("x", 10));
+    }
+
+    @Test
+    void getNamesStartingWith_appliesLimit() {
+        assertEquals(List.of("Stan", "stella"), index.getNamesStartingWith("st", 2));
+        assertEquals(List.of("Alex", "Bob", "Stan"), index.getNamesStartingWith("", 3));
+    }
+
+    @Test
+    void remove_dropsPlayerFromIndex() {
+        UUID uuid = UUID.randomUUID();
+        Player steve = player("Steven", uuid);
+        index.add(steve);
+        assertEquals(uuid, index.getUniqueId("steven"));
+        assertEquals("Steven", index.getExactName("STEVEN"));
+
+        index.remove(steve);
+
+        assertNull(index.getUniqueId("steven"));
+        assertEquals(List.of("Steve"), index.getNamesStartingWith("stev", 10));
+    }
+}
@@ -0,0 +1,165 @@
+package com.zetaplugins.zetacore.services.players;
+
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlayerResolverTest {
+
+    @Mock
+    private JavaPlugin plugin;
+
+    @Mock
+    private Server server;
+
+    @TempDir
+    Path dataFolder;
+
+    private final UUID bob = UUID.randomUUID();
+    private final UUID alice = UUID.randomUUID();
+    private File cacheFile;
+    private PlayerResolver resolver;
+
+    @BeforeEach
+    void setup() {
+        lenient().when(plugin.getServer()).thenReturn(server);
+        cacheFile = dataFolder.resolve(PlayerResolver.CACHE_FILE_NAME).toFile();
+        resolver = new PlayerResolver(plugin, cacheFile);
+    }
+
+    @Test
+    void getCachedUniqueId_isCaseInsensitive() {
+        resolver.remember(bob, "Bob");
+
+        assertEquals(bob, resolver.getCachedUniqueId("bob"));
+        assertEquals(bob, resolver.getCachedUniqueId("BOB"));
+        assertEquals("Bob", resolver.getCachedName(bob));
+        assertNull(resolver.getCachedUniqueId("alice"));
+    }
+
+    @Test
+    void remember_handlesNameChanges() {
+        resolver.remember(bob, "Bob");
+        resolver.remember(bob, "Robert");
+        assertNull(resolver.getCachedUniqueId("Bob"));
+        assertEquals(bob, resolver.getCachedUniqueId("Robert"));
+
+        // Another player took the old name
+        resolver.remember(alice, "robert");
+        assertEquals(alice, resolver.getCachedUniqueId("Robert"));
+        assertNull(resolver.getCachedName(bob));
+        assertEquals(1, resolver.size());
+    }
+
+    @Test
+    void saveAndLoad_restoresCache() {
+        resolver.setPersistent(true);
+        resolver.remember(bob, "Bob");
+        resolver.remember(alice, "Alice");
+        resolver.save();
+
+        PlayerResolver loaded = new PlayerResolver(plugin, cacheFile).setPersistent(true);
+        assertEquals(bob, loaded.getCachedUniqueId("bob"));
+        assertEquals(alice, loaded.getCachedUniqueId("alice"));
+    }
+
+    @Test
+    void load_keepsPlayersRememberedBeforeLoading() {
+        UUID carol = UUID.randomUUID();
+        UUID dave = UUID.randomUUID();
+        resolver.setPersistent(true);
+        resolver.remember(bob, "OldBob");
+        resolver.remember(dave, "Dave");
+        resolver.remember(carol, "Carol");
+        resolver.remember(alice, "Alice");
+        resolver.save();
+
+        // Bob is online with his new name, Carol took Alice's old name
+        PlayerResolver loaded = new PlayerResolver(plugin, cacheFile);
+        loaded.remember(bob, "Bob");
+        loaded.remember(carol, "Alice");
+        loaded.setPersistent(true);
+
+        assertEquals("Bob", loaded.getCachedName(bob));
+        assertNull(loaded.getCachedUniqueId("OldBob"));
+        assertEquals(carol, loaded.getCachedUniqueId("Alice"));
+        assertNull(loaded.getCachedName(alice));
+        assertEquals(3, loaded.size());
+
+        // The loaded players are older, so they are dropped first
+        loaded.setMaxEntries(2);
+        assertNull(loaded.getCachedName(dave));
+        assertEquals(bob, loaded.getCachedUniqueId("Bob"));
+        assertEquals(carol, loaded.getCachedUniqueId("Alice"));
+    }
+
+    @Test
+    void save_doesNothingUnlessPersistent() {
+        resolver.remember(bob, "Bob");
+        resolver.save();
+
+        assertFalse(cacheFile.exists());
+    }
+
+    @Test
+    void remember_dropsLeastRecentlySeenPlayers() {
+        UUID carol = UUID.randomUUID();
+        resolver.setMaxEntries(2);
+        resolver.remember(bob, "Bob");
+        resolver.remember(alice, "Alice");
+        resolver.remember(bob, "Bob");
+        resolver.remember(carol, "Carol");
+
+        assertEquals(2, resolver.size());
+        assertNull(resolver.getCachedUniqueId("alice"));
+        assertNull(resolver.getCachedName(alice));
+        assertEquals(bob, resolver.getCachedUniqueId("bob"));
+        assertEquals(carol, resolver.getCachedUniqueId("carol"));
+    }
+
+    @Test
+    void setMaxEntries_appliesToLoadedCache() {
+        resolver.setPersistent(true);
+        resolver.remember(bob, "Bob");
+        resolver.remember(alice, "Alice");
+        resolver.save();
+
+        PlayerResolver loaded = new PlayerResolver(plugin, cacheFile).setMaxEntries(1).setPersistent(true);
+        assertEquals(1, loaded.size());
+        assertEquals(alice, loaded.getCachedUniqueId("alice"));
+    }
+
+    @Test
+    void getOnlinePlayer_usesExactName() {
+        Player player = mock(Player.class);
+        when(server.getPlayerExact("Bob")).thenReturn(player);
+
+        assertSame(player, resolver.getOnlinePlayer("Bob"));
+        verify(server, never()).getPlayer(anyString());
+    }
+
+    @Test
+    void resolveAsync_completesImmediatelyForCachedPlayers() {
+        OfflinePlayer offlinePlayer = mock(OfflinePlayer.class);
+        when(server.getOfflinePlayer(bob)).thenReturn(offlinePlayer);
+        resolver.remember(bob, "Bob");
+
+        assertSame(offlinePlayer, resolver.resolveAsync("bob").getNow(null));
+        verify(server, never()).getOfflinePlayer(anyString());
+    }
+}
@@ -0,0 +1,63 @@
+package com.zetaplugins.zetacore.util;
+
+import org.bukkit.Server;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncExecutorTest {
+
+    @Mock
+    private JavaPlugin plugin;
+
+    @Mock
+    private Server server;
+
+    @Mock
+    private PluginManager pluginManager;
+
+    @BeforeEach
+    void setup() {
+        when(plugin.getServer()).thenReturn(server);
+        when(server.getPluginManager()).thenReturn(pluginManager);
+    }
+
+    private PluginDisableEvent disableEvent(Plugin disabled) {
+        PluginDisableEvent event = mock(PluginDisableEvent.class);
+        when(event.getPlugin()).thenReturn(disabled);
+        return event;
+    }
+
+    @Test
+    void install_shutsExecutorDownWhenPluginIsDisabled() {
+        AsyncExecutor.install(plugin);
+        AsyncExecutor.install(plugin);
+
+        ArgumentCaptor<Listener> listener = ArgumentCaptor.forClass(Listener.class);
+        verify(pluginManager, times(1)).registerEvents(listener.capture(), eq(plugin));
+        AsyncExecutor.ShutdownListener shutdownListener = (AsyncExecutor.ShutdownListener) listener.getValue();
+        ExecutorService executor = AsyncExecutor.get();
+
+        shutdownListener.onPluginDisable(disableEvent(mock(Plugin.class)));
+        assertFalse(executor.isShutdown(), "other plugins being disabled must not shut the executor down");
+
+        shutdownListener.onPluginDisable(disableEvent(plugin));
+        assertTrue(executor.isShutdown());
+        assertNotSame(executor, AsyncExecutor.get());
+    }
+}
@@ -0,0 +1,48 @@
+package com.zetaplugins.zetacore.util;
+
+import com.zetaplugins.zetacore.annotations.EnumAlias;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnumLookupTest {
+
+    enum Mode {
+        @EnumAlias({"s", "survive"}) SURVIVAL,
+        @EnumAlias("spec") SPECTATOR,
+        CREATIVE,
+        // An alias never shadows the name of another constant
+        @EnumAlias("creative") ADVENTURE
+    }
+
+    @Test
+    void get_resolvesNamesAndAliasesIgnoringCase() {
+        EnumLookup<Mode> lookup = EnumLookup.of(Mode.class);
+
+        assertEquals(Mode.SURVIVAL, lookup.get("survival"));
+        assertEquals(Mode.SURVIVAL, lookup.get("S"));
+        assertEquals(Mode.SPECTATOR, lookup.get("Spec"));
+        assertEquals(Mode.CREATIVE, lookup.get("CREATIVE"));
+        assertNull(lookup.get("hardcore"));
+        assertNull(lookup.get(null));
+        assertEquals(Mode.ADVENTURE, lookup.get("hardcore", Mode.ADVENTURE));
+    }
+
+    @Test
+    void of_returnsSharedLookup() {
+        assertSame(EnumLookup.of(Mode.class), EnumLookup.of(Mode.class));
+    }
+
+    @Test
+    void complete_returnsSortedNamesByPrefix() {
+        EnumLookup<Mode> lookup = EnumLookup.of(Mode.class);
+
+        assertEquals(List.of("adventure", "creative", "spectator", "survival"), lookup.getNames());
+        assertEquals(List.of("spectator", "survival"), lookup.complete("S"));
+        assertEquals(List.of("spectator"), lookup.complete("s", 1));
+        assertEquals(List.of("adventure", "creative"), lookup.complete("", 2));
+        assertEquals(List.of(), lookup.complete("x"));
+    }
+}
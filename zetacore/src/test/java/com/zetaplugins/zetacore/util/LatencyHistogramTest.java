@@ -0,0 +1,83 @@
+package com.zetaplugins.zetacore.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    private static long micros(long micros) {
+        return micros * 1_000;
+    }
+
+    @Test
+    void record_putsBoundsIntoTheirOwnBucket() {
+        histogram.record(micros(10));
+        histogram.record(micros(11));
+        histogram.record(micros(1_000_000));
+        histogram.record(micros(1_000_001));
+
+        long[] counts = histogram.getBucketCounts();
+        long[] bounds = LatencyHistogram.getBucketBoundsMicros();
+        assertEquals(bounds.length + 1, counts.length);
+        assertEquals(1, counts[0]);
+        assertEquals(1, counts[1]);
+        assertEquals(1, counts[bounds.length - 1]);
+        assertEquals(1, counts[bounds.length]);
+    }
+
+    @Test
+    void record_treatsNegativeDurationsAsZero() {
+        histogram.record(-5);
+
+        assertEquals(1, histogram.getBucketCounts()[0]);
+        assertEquals(0, histogram.getTotalNanos());
+    }
+
+    @Test
+    void getPercentileMicros_returnsUpperBoundOfBucket() {
+        for (int i = 0; i < 90; i++) histogram.record(micros(5));
+        for (int i = 0; i < 9; i++) histogram.record(micros(400));
+        histogram.record(micros(2_000_000));
+
+        assertEquals(10, histogram.getPercentileMicros(0.50));
+        assertEquals(10, histogram.getPercentileMicros(0.90));
+        assertEquals(500, histogram.getPercentileMicros(0.95));
+        assertEquals(500, histogram.getPercentileMicros(0.99));
+        assertEquals(2_000_000, histogram.getPercentileMicros(1.0));
+    }
+
+    @Test
+    void getPercentileMicros_isZeroWithoutMeasurements() {
+        assertEquals(0, histogram.getPercentileMicros(0.5));
+        assertEquals(0, histogram.getMeanNanos());
+    }
+
+    @Test
+    void aggregates_trackCountTotalMeanAndMax() {
+        histogram.record(micros(100));
+        histogram.record(micros(300));
+
+        assertEquals(2, histogram.getCount());
+        assertEquals(micros(400), histogram.getTotalNanos());
+        assertEquals(micros(200), histogram.getMeanNanos());
+        assertEquals(micros(300), histogram.getMaxNanos());
+    }
+
+    @Test
+    void reset_clearsAllMeasurements() {
+        histogram.record(micros(100));
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getTotalNanos());
+        assertEquals(0, histogram.getMaxNanos());
+        assertArrayEquals(new long[LatencyHistogram.getBucketBoundsMicros().length + 1], histogram.getBucketCounts());
+    }
+
+    @Test
+    void formatMicros_formatsAsMilliseconds() {
+        assertEquals("1.25ms", LatencyHistogram.formatMicros(1_250));
+    }
+}
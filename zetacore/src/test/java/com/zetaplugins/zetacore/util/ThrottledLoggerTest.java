@@ -0,0 +1,130 @@
+package com.zetaplugins.zetacore.util;
+
+import org.bukkit.Server;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ThrottledLoggerTest {
+
+    private final List<LogRecord> records = new ArrayList<>();
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {}
+
+            @Override
+            public void close() {}
+        });
+    }
+
+    @Test
+    void log_logsFirstOccurrenceWithStackTrace_andSuppressesRepeats() {
+        ThrottledLogger throttled = new ThrottledLogger(logger, 60_000);
+        RuntimeException error = new RuntimeException("boom");
+
+        for (int i = 0; i < 100; i++) throttled.log(Level.SEVERE, "papi:kills", "Placeholder failed", error);
+
+        assertEquals(1, records.size());
+        assertSame(error, records.get(0).getThrown());
+    }
+
+    @Test
+    void log_differentKeys_areLoggedSeparately() {
+        ThrottledLogger throttled = new ThrottledLogger(logger, 60_000);
+        RuntimeException error = new RuntimeException("boom");
+
+        throttled.log(Level.SEVERE, "papi:kills", "Placeholder failed", error);
+        throttled.log(Level.SEVERE, "papi:deaths", "Placeholder failed", error);
+
+        assertEquals(2, records.size());
+    }
+
+    @Test
+    void log_afterWindow_emitsSummaryWithSuppressedCount() throws InterruptedException {
+        ThrottledLogger throttled = new ThrottledLogger(logger, 20);
+        RuntimeException error = new RuntimeException("boom");
+
+        for (int i = 0; i < 5; i++) throttled.log(Level.SEVERE, "cmd", "Command failed", error);
+        Thread.sleep(40);
+        throttled.log(Level.SEVERE, "cmd", "Command failed", error);
+
+        assertEquals(2, records.size());
+        assertTrue(records.get(1).getMessage().contains("suppressed 4 times"));
+        assertNull(records.get(1).getThrown());
+    }
+
+    @Test
+    void flush_emitsSummaryForExpiredWindows() throws InterruptedException {
+        ThrottledLogger throttled = new ThrottledLogger(logger, 20);
+
+        throttled.log(Level.WARNING, "listener", "Listener failed", null);
+        throttled.log(Level.WARNING, "listener", "Listener failed", null);
+        Thread.sleep(40);
+        throttled.flush();
+
+        assertEquals(2, records.size());
+        assertTrue(records.get(1).getMessage().contains("suppressed 1 times"));
+    }
+
+    @Test
+    void install_schedulesFlush_andDisableDropsSharedLoggers() {
+        JavaPlugin plugin = mock(JavaPlugin.class);
+        Server server = mock(Server.class);
+        PluginManager pluginManager = mock(PluginManager.class);
+        BukkitScheduler scheduler = mock(BukkitScheduler.class);
+        BukkitTask task = mock(BukkitTask.class);
+        when(plugin.getServer()).thenReturn(server);
+        when(server.getPluginManager()).thenReturn(pluginManager);
+        when(server.getScheduler()).thenReturn(scheduler);
+        when(scheduler.runTaskTimerAsynchronously(eq(plugin), any(Runnable.class), anyLong(), anyLong())).thenReturn(task);
+
+        ThrottledLogger.install(plugin);
+        ThrottledLogger.install(plugin);
+
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(1)).runTaskTimerAsynchronously(eq(plugin), flush.capture(), anyLong(), anyLong());
+        ArgumentCaptor<Listener> listener = ArgumentCaptor.forClass(Listener.class);
+        verify(pluginManager).registerEvents(listener.capture(), eq(plugin));
+
+        ThrottledLogger shared = ThrottledLogger.of(logger);
+        shared.log(Level.WARNING, "listener", "Listener failed", null);
+        shared.log(Level.WARNING, "listener", "Listener failed", null);
+        flush.getValue().run();
+        assertEquals(1, records.size(), "window has not ended yet");
+
+        PluginDisableEvent event = mock(PluginDisableEvent.class);
+        when(event.getPlugin()).thenReturn(plugin);
+        ((ThrottledLogger.Flusher) listener.getValue()).onPluginDisable(event);
+
+        verify(task).cancel();
+        assertNotSame(shared, ThrottledLogger.of(logger));
+    }
+}